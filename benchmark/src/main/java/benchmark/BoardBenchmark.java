@@ -0,0 +1,46 @@
+package benchmark;
+
+import model.Board;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param
+    public BoardStates fixture;
+
+    private Board board;
+
+    @Setup
+    public void setup() {
+        board = fixture.toBoard();
+    }
+
+    @Benchmark
+    public boolean checkWin() {
+        return board.checkWin('O');
+    }
+
+    @Benchmark
+    public boolean isFull() {
+        return board.isFull();
+    }
+
+    @Benchmark
+    public boolean makeAndUndoMove() {
+        int index = Integer.numberOfTrailingZeros(board.getEmptyMask());
+        board.makeMove(index, 'O');
+        boolean won = board.checkWin('O');
+        board.undoMove(index);
+        return won;
+    }
+
+    @Benchmark
+    public String getState() {
+        return board.getState();
+    }
+}
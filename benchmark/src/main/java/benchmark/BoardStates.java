@@ -0,0 +1,41 @@
+package benchmark;
+
+import model.Board;
+
+/**
+ * Realistische Spielfeld-Zustände für die Benchmarks.
+ * In allen Zuständen außer EMPTY ist 'O' (die KI) am Zug.
+ */
+public enum BoardStates {
+
+    EMPTY("         "),
+    MIDGAME("X   O  X "),
+    NEAR_TERMINAL("XOXXOO  X");
+
+    private final String state;
+
+    BoardStates(String state) {
+        this.state = state;
+    }
+
+    public String asString() {
+        return state;
+    }
+
+    public int encoded() {
+        return Board.encode(state);
+    }
+
+    /**
+     * Erzeugt ein Board mit diesem Zustand.
+     */
+    public Board toBoard() {
+        Board board = new Board();
+        for (int i = 0; i < 9; i++) {
+            if (state.charAt(i) != ' ') {
+                board.makeMove(i / 3, i % 3, state.charAt(i));
+            }
+        }
+        return board;
+    }
+}
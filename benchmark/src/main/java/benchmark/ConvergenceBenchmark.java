@@ -0,0 +1,100 @@
+package benchmark;
+
+import ai.*;
+import model.Board;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Misst für jede {@link UpdateRule}, nach wie vielen Trainingsspielen die KI optimal spielt.
+ * Optimal heißt hier: Die gierige Strategie der KI ('O') verliert keine einzige Partie, egal welche Züge
+ * der Gegner ('X') wählt (beim Gegner "oracle" alle optimalen Züge, beim Gegner "random" alle gültigen Züge).
+ * Da Tic Tac Toe bei perfektem Spiel unentschieden endet, ist das genau der Spielwert.
+ * <p>
+ * Kein JMH-Benchmark (das Ergebnis ist eine Anzahl Spiele, keine Zeit), Aufruf:
+ * {@code java -cp benchmark/target/benchmarks.jar benchmark.ConvergenceBenchmark [oracle|random] [maxSpiele] [läufe]}
+ */
+public class ConvergenceBenchmark {
+
+    private static final int CHECK_INTERVAL = 50; // Spiele zwischen zwei Prüfungen
+
+    public static void main(String[] args) {
+        String opponent = args.length > 0 ? args[0] : "oracle";
+        int maxGames = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        boolean optimalOpponent = opponent.equals("oracle");
+        PerfectPlayOracle oracle = PerfectPlayOracle.getDefault();
+
+        Map<String, Supplier<UpdateRule>> rules = new LinkedHashMap<>();
+        rules.put("monte-carlo", MonteCarloRule::new);
+        rules.put("q-learning", QLearningRule::new);
+        rules.put("sarsa", SarsaRule::new);
+        rules.put("q-lambda(0.8)", () -> new QLambdaRule(0.8));
+
+        System.out.printf("Gegner: %s, max. %d Spiele, %d Läufe%n", opponent, maxGames, runs);
+        System.out.printf("%-15s %12s %12s %10s %8s%n", "Regel", "Median", "Mittel", "ms (Ø)", "fertig");
+        for (Map.Entry<String, Supplier<UpdateRule>> rule : rules.entrySet()) {
+            int[] games = new int[runs];
+            long totalNanos = 0;
+            int converged = 0;
+            for (int run = 0; run < runs; run++) {
+                TicTacToeAI ai = new TicTacToeAI(new DenseQTable(), 0.2, 0.9, 0.1, new Random(run));
+                ai.setUpdateRule(rule.getValue().get());
+                TrainingAI trainer = optimalOpponent
+                        ? new OracleTrainingAI('X', oracle, new Random(1000 + run))
+                        : new RandomTrainingAI(new Random(1000 + run));
+                TrainingEngine engine = new TrainingEngine(ai, trainer);
+
+                long start = System.nanoTime();
+                int played = 0;
+                while (played < maxGames && !neverLoses(ai.getQTable(), oracle, optimalOpponent)) {
+                    engine.train(CHECK_INTERVAL);
+                    played += CHECK_INTERVAL;
+                }
+                totalNanos += System.nanoTime() - start;
+                games[run] = played;
+                if (played < maxGames) converged++;
+            }
+            Arrays.sort(games);
+            System.out.printf("%-15s %12d %12.0f %10.1f %5d/%d%n", rule.getKey(), games[runs / 2],
+                    Arrays.stream(games).average().orElse(0), totalNanos / 1e6 / runs, converged, runs);
+        }
+    }
+
+    /**
+     * Prüft, ob die gierige Strategie der KI gegen alle betrachteten Züge des Gegners nie verliert.
+     */
+    static boolean neverLoses(QTable qTable, PerfectPlayOracle oracle, boolean optimalOpponent) {
+        return neverLoses(qTable, oracle, optimalOpponent, 0, new BitSet(Board.NUM_STATES));
+    }
+
+    // state: X ist am Zug; visited merkt sich bereits geprüfte Stellungen
+    private static boolean neverLoses(QTable qTable, PerfectPlayOracle oracle, boolean optimalOpponent,
+                                      int state, BitSet visited) {
+        if (visited.get(state)) return true;
+        visited.set(state);
+
+        int moves = optimalOpponent ? oracle.getOptimalMoves(state, 'X') : Board.emptyMask(state);
+        for (; moves != 0; moves &= moves - 1) {
+            Board board = new Board(Board.withMove(state, Integer.numberOfTrailingZeros(moves), 'X'));
+            if (board.checkWin('X')) return false;
+            if (board.isFull()) continue;
+
+            // gieriger Zug der KI (wie TicTacToeAI ohne Exploration)
+            int afterX = board.getEncodedState();
+            int canonical = Transformations.getCanonicalState(afterX);
+            int move = Transformations.toOriginalMove(afterX,
+                    ExplorationPolicy.greedyMove(qTable, canonical, Board.emptyMask(canonical)));
+            board.makeMove(move, 'O');
+            if (board.isGameOver()) continue;
+
+            if (!neverLoses(qTable, oracle, optimalOpponent, board.getEncodedState(), visited)) return false;
+        }
+        return true;
+    }
+}
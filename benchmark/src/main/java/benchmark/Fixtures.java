@@ -0,0 +1,26 @@
+package benchmark;
+
+import ai.DenseQTable;
+import ai.RandomTrainingAI;
+import ai.TicTacToeAI;
+import ai.TrainingEngine;
+
+import java.util.Random;
+
+/**
+ * Gemeinsame Testdaten für die Benchmarks.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Erzeugt eine KI mit einer trainierten Q-Tabelle (reproduzierbar über einen festen Seed).
+     */
+    static TicTacToeAI trainedAI(int games) {
+        TicTacToeAI ai = new TicTacToeAI(new DenseQTable(), 0.2, 0.9, 0.1, new Random(42));
+        new TrainingEngine(ai, new RandomTrainingAI(new Random(7))).train(games);
+        return ai;
+    }
+}
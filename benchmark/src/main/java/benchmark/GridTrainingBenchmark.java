@@ -0,0 +1,42 @@
+package benchmark;
+
+import ai.GridQLearningAI;
+import ai.GridQTable;
+import ai.GridTrainingEngine;
+import ai.RandomTrainingAI;
+import model.BoardGeometry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trainingsdurchsatz (Spiele pro Sekunde) auf verschieden großen Spielfeldern gegen einen Zufallsgegner.
+ * Der Wert für 3x3 ist mit {@link TrainingThroughputBenchmark} (opponent = random) vergleichbar.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class GridTrainingBenchmark {
+
+    private static final int GAMES = 1000;
+
+    @Param({"3x3/3", "4x4/4", "5x5/4", "7x7/5"})
+    public String geometry;
+
+    private GridTrainingEngine engine;
+
+    @Setup
+    public void setup() {
+        String[] parts = geometry.split("[x/]");
+        BoardGeometry geo = BoardGeometry.of(Integer.parseInt(parts[0]), Integer.parseInt(parts[2]));
+        GridQLearningAI ai = new GridQLearningAI(geo, new GridQTable(geo.getCells()), 0.2, 0.9, 0.1, new Random(42));
+        engine = new GridTrainingEngine(ai, new RandomTrainingAI(new Random(7)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int[] gamesPerSecond() {
+        return engine.train(GAMES);
+    }
+}
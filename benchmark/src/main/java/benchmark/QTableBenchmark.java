@@ -0,0 +1,50 @@
+package benchmark;
+
+import ai.DenseQTable;
+import ai.HashMapQTable;
+import ai.QTable;
+import ai.Transformations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht die Kosten eines Zugriffs auf die Q-Werte eines Zustands (wie in TicTacToeAI.getMove).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class QTableBenchmark {
+
+    @Param({"dense", "hashmap"})
+    public String implementation;
+
+    @Param
+    public BoardStates fixture;
+
+    private QTable table;
+    private int state;
+
+    @Setup
+    public void setup() {
+        table = implementation.equals("dense") ? new DenseQTable() : new HashMapQTable();
+        table.putAll(Fixtures.trainedAI(20_000).getQTable().toMap());
+        state = Transformations.getCanonicalState(fixture.encoded());
+        table.ensure(state);
+    }
+
+    @Benchmark
+    public double lookupAllMoves() {
+        table.ensure(state);
+        double sum = 0.0;
+        for (int move = 0; move < QTable.NUM_MOVES; move++) {
+            sum += table.get(state, move);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void update() {
+        table.update(state, 4, 1.0, 0.1);
+    }
+}
@@ -0,0 +1,61 @@
+package benchmark;
+
+import ai.TicTacToeAI;
+import org.openjdk.jmh.annotations.*;
+import utility.QTableBinaryHandler;
+import utility.QTableHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class QTableHandlerBenchmark {
+
+    private Map<String, double[]> qTable;
+    private Path directory;
+    private String csvFile;
+    private String binaryFile;
+
+    @Setup
+    public void setup() throws IOException {
+        TicTacToeAI ai = Fixtures.trainedAI(50_000);
+        qTable = ai.getQTable().toMap();
+        directory = Files.createTempDirectory("qtable-bench");
+        csvFile = directory.resolve("qtable.csv").toString();
+        binaryFile = directory.resolve("qtable" + QTableBinaryHandler.FILE_EXTENSION).toString();
+        QTableHandler.saveQTable(qTable, csvFile);
+        QTableBinaryHandler.saveQTable(qTable, new double[3], binaryFile, false);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(csvFile));
+        Files.deleteIfExists(Path.of(binaryFile));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Map<String, double[]> loadCsv() {
+        return QTableHandler.loadQTable(csvFile);
+    }
+
+    @Benchmark
+    public Map<String, double[]> loadBinary() {
+        return QTableBinaryHandler.loadQTable(binaryFile);
+    }
+
+    @Benchmark
+    public boolean saveCsv() {
+        return QTableHandler.saveQTable(qTable, csvFile);
+    }
+
+    @Benchmark
+    public boolean saveBinary() {
+        return QTableBinaryHandler.saveQTable(qTable, new double[3], binaryFile, false);
+    }
+}
@@ -0,0 +1,53 @@
+package benchmark;
+
+import ai.TicTacToeAI;
+import ai.Transformations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TicTacToeAIBenchmark {
+
+    @Param
+    public BoardStates fixture;
+
+    private TicTacToeAI ai;
+    private String state;
+    private int encodedState;
+    private final int[] stateHistory = new int[5];
+    private final int[] moveHistory = new int[5];
+
+    @Setup
+    public void setup() {
+        ai = Fixtures.trainedAI(20_000);
+        ai.setExplorationRate(0.0); // nur die Auswahl des besten Zugs messen
+        state = fixture.asString();
+        encodedState = fixture.encoded();
+
+        // Historie einer typischen Partie mit drei Zügen der KI
+        int[] states = {BoardStates.EMPTY.encoded(), BoardStates.MIDGAME.encoded(), BoardStates.NEAR_TERMINAL.encoded()};
+        int[] moves = {4, 2, 7};
+        for (int i = 0; i < states.length; i++) {
+            stateHistory[i] = Transformations.getCanonicalState(states[i]);
+            moveHistory[i] = Transformations.toCanonicalMove(states[i], moves[i]);
+        }
+    }
+
+    @Benchmark
+    public int getMoveString() {
+        return ai.getMove(state);
+    }
+
+    @Benchmark
+    public int getMoveEncoded() {
+        return ai.getMove(encodedState);
+    }
+
+    @Benchmark
+    public void propagateRewards() {
+        ai.propagateRewards(0.5, stateHistory, moveHistory, 3);
+    }
+}
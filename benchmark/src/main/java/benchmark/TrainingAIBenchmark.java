@@ -0,0 +1,47 @@
+package benchmark;
+
+import ai.MinimaxSolver;
+import ai.OracleTrainingAI;
+import ai.PerfectTrainingAI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zugberechnung der perfekten Trainings-KIs. "cold" misst die Suche mit leerer Transpositionstabelle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TrainingAIBenchmark {
+
+    @Param
+    public BoardStates fixture;
+
+    private int state;
+    private PerfectTrainingAI perfect;
+    private OracleTrainingAI oracle;
+
+    @Setup
+    public void setup() {
+        state = fixture.encoded();
+        perfect = new PerfectTrainingAI('O');
+        oracle = new OracleTrainingAI('O');
+        perfect.getMove(state); // Transpositionstabelle füllen
+    }
+
+    @Benchmark
+    public int perfectGetMoveWarm() {
+        return perfect.getMove(state);
+    }
+
+    @Benchmark
+    public int perfectGetMoveCold() {
+        return new PerfectTrainingAI('O', new MinimaxSolver()).getMove(state);
+    }
+
+    @Benchmark
+    public int oracleGetMove() {
+        return oracle.getMove(state);
+    }
+}
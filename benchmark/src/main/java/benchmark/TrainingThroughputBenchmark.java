@@ -0,0 +1,42 @@
+package benchmark;
+
+import ai.*;
+import model.BoardGeometry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ende-zu-Ende-Durchsatz des Trainings in Spielen pro Sekunde.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class TrainingThroughputBenchmark {
+
+    private static final int GAMES = 1000;
+
+    @Param({"random", "perfect", "oracle", "mcts"})
+    public String opponent;
+
+    private TrainingEngine engine;
+
+    @Setup
+    public void setup() {
+        TicTacToeAI ai = new TicTacToeAI(new DenseQTable(), 0.2, 0.9, 0.1, new Random(42));
+        TrainingAI trainer = switch (opponent) {
+            case "random" -> new RandomTrainingAI(new Random(7));
+            case "perfect" -> new PerfectTrainingAI('X');
+            case "mcts" -> new MctsTrainingAI(BoardGeometry.of(3, 3), 200, 0, 1, new Random(7));
+            default -> new OracleTrainingAI('X');
+        };
+        engine = new TrainingEngine(ai, trainer);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int[] gamesPerSecond() {
+        return engine.train(GAMES);
+    }
+}
@@ -0,0 +1,39 @@
+package benchmark;
+
+import ai.Transformations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TransformationsBenchmark {
+
+    @Param
+    public BoardStates fixture;
+
+    private String state;
+    private int encodedState;
+
+    @Setup
+    public void setup() {
+        state = fixture.asString();
+        encodedState = fixture.encoded();
+    }
+
+    @Benchmark
+    public String canonicalStateString() {
+        return Transformations.getCanonicalState(state);
+    }
+
+    @Benchmark
+    public int canonicalStateEncoded() {
+        return Transformations.getCanonicalState(encodedState);
+    }
+
+    @Benchmark
+    public int toCanonicalMove() {
+        return Transformations.toCanonicalMove(encodedState, 8);
+    }
+}
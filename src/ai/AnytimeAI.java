@@ -0,0 +1,18 @@
+package ai;
+
+/**
+ * KI, deren Zugberechnung durch ein Zeitbudget begrenzt werden kann.
+ * Läuft das Budget ab (oder wird der rechnende Thread unterbrochen), wird der bis dahin beste Zug geliefert.
+ * Wird vom {@link controller.GameController} genutzt, um Züge im Hintergrund zu berechnen.
+ */
+public interface AnytimeAI {
+
+    /**
+     * Berechnet einen Zug innerhalb des Zeitbudgets.
+     *
+     * @param state        Der aktuelle Zustand des Spielfelds als Basis-3-Zahl.
+     * @param budgetMillis Maximale Rechenzeit in Millisekunden (0 = Voreinstellung der KI).
+     * @return Die Position (0-8) für den nächsten Zug.
+     */
+    int getMove(int state, long budgetMillis);
+}
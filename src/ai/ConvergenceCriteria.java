@@ -0,0 +1,107 @@
+package ai;
+
+/**
+ * Abbruchkriterien für ein Training bis zur Konvergenz (siehe {@link TrainingEngine#train(int, ConvergenceCriteria)}).
+ * Das Training endet, sobald eines der aktivierten Kriterien erfüllt ist; ein Wert von 0 deaktiviert das Kriterium.
+ * <ul>
+ *     <li>Q-Änderung: in {@code qDeltaWindow} aufeinanderfolgenden Spielen hat sich kein Q-Wert um
+ *     mehr als {@code qDeltaThreshold} verändert.</li>
+ *     <li>Keine Niederlage: die KI hat {@code lossFreeGames} Spiele in Folge nicht verloren
+ *     (sinnvoll gegen den perfekten Gegner, gegen den nur Unentschieden möglich sind).</li>
+ *     <li>Stabile Strategie: die gierige Strategie (bester Zug je Zustand) hat sich über
+ *     {@code stablePolicyEvaluations} Prüfungen im Abstand von {@code policyCheckInterval} Spielen nicht geändert.</li>
+ *     <li>Unschlagbar: die gierige Strategie verliert als Nachziehende gegen keine Zugfolge des Gegners
+ *     (vollständige Prüfung mit dem {@link PolicyEvaluator} alle {@code unbeatableCheckInterval} Spiele).</li>
+ * </ul>
+ */
+public class ConvergenceCriteria {
+
+    private double qDeltaThreshold;
+    private int qDeltaWindow;
+    private int lossFreeGames;
+    private int policyCheckInterval;
+    private int stablePolicyEvaluations;
+    private int unbeatableCheckInterval;
+
+    /**
+     * Erzeugt Kriterien, bei denen alle Prüfungen deaktiviert sind.
+     */
+    public ConvergenceCriteria() {
+    }
+
+    /**
+     * Standardkriterien für die GUI: maximale Q-Änderung unter 0.0001 über 2000 Spiele,
+     * 5000 Spiele ohne Niederlage, eine über 5 Prüfungen (alle 1000 Spiele) unveränderte Strategie
+     * oder eine unschlagbare Strategie (Prüfung alle 1000 Spiele).
+     *
+     * @return Die Kriterien.
+     */
+    public static ConvergenceCriteria defaults() {
+        ConvergenceCriteria criteria = new ConvergenceCriteria();
+        criteria.setQDelta(1e-4, 2000);
+        criteria.setLossFreeGames(5000);
+        criteria.setPolicyStability(1000, 5);
+        criteria.setUnbeatableCheck(1000);
+        return criteria;
+    }
+
+    /**
+     * @param threshold Größte erlaubte Änderung eines Q-Werts pro Spiel.
+     * @param window    Anzahl der Spiele in Folge, in denen die Schwelle eingehalten werden muss (0 = aus).
+     */
+    public void setQDelta(double threshold, int window) {
+        this.qDeltaThreshold = threshold;
+        this.qDeltaWindow = Math.max(0, window);
+    }
+
+    // Anzahl der Spiele in Folge ohne Niederlage der KI (0 = aus)
+    public void setLossFreeGames(int lossFreeGames) {
+        this.lossFreeGames = Math.max(0, lossFreeGames);
+    }
+
+    /**
+     * @param checkInterval Abstand der Prüfungen der gierigen Strategie in Spielen.
+     * @param evaluations   Anzahl der Prüfungen in Folge ohne Änderung (0 = aus).
+     */
+    public void setPolicyStability(int checkInterval, int evaluations) {
+        this.policyCheckInterval = Math.max(1, checkInterval);
+        this.stablePolicyEvaluations = Math.max(0, evaluations);
+    }
+
+    // Abstand der vollständigen Prüfung der gierigen Strategie in Spielen (0 = aus)
+    public void setUnbeatableCheck(int checkInterval) {
+        this.unbeatableCheckInterval = Math.max(0, checkInterval);
+    }
+
+    public double getQDeltaThreshold() {
+        return qDeltaThreshold;
+    }
+
+    public int getQDeltaWindow() {
+        return qDeltaWindow;
+    }
+
+    public int getLossFreeGames() {
+        return lossFreeGames;
+    }
+
+    public int getPolicyCheckInterval() {
+        return policyCheckInterval;
+    }
+
+    public int getStablePolicyEvaluations() {
+        return stablePolicyEvaluations;
+    }
+
+    public int getUnbeatableCheckInterval() {
+        return unbeatableCheckInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "ConvergenceCriteria[qDelta<" + qDeltaThreshold + " über " + qDeltaWindow + " Spiele, "
+                + lossFreeGames + " Spiele ohne Niederlage, Strategie stabil über " + stablePolicyEvaluations
+                + " Prüfungen alle " + policyCheckInterval + " Spiele, unschlagbar (Prüfung alle "
+                + unbeatableCheckInterval + " Spiele)]";
+    }
+}
@@ -0,0 +1,57 @@
+package ai;
+
+import model.Board;
+
+import java.util.Random;
+
+/**
+ * Epsilon-Greedy mit abnehmender Explorationsrate: nach jedem Spiel wird epsilon mit dem
+ * Zerfallsfaktor multipliziert, bis das Minimum erreicht ist.
+ */
+public class DecayingEpsilonPolicy implements ExplorationPolicy {
+
+    private double epsilon;
+    private final double minEpsilon;
+    private final double decay;
+
+    /**
+     * @param startEpsilon Explorationsrate zu Beginn.
+     * @param minEpsilon   Untergrenze der Explorationsrate.
+     * @param decay        Faktor pro Spiel (z. B. 0.9995).
+     */
+    public DecayingEpsilonPolicy(double startEpsilon, double minEpsilon, double decay) {
+        this.epsilon = startEpsilon;
+        this.minEpsilon = minEpsilon;
+        this.decay = decay;
+    }
+
+    @Override
+    public int selectMove(QTable qTable, int canonicalState, int legalMoves, Random random) {
+        if (random.nextDouble() < epsilon) {
+            return Board.randomMove(legalMoves, random);
+        }
+        return ExplorationPolicy.greedyMove(qTable, canonicalState, legalMoves);
+    }
+
+    @Override
+    public void onGameFinished() {
+        epsilon = Math.max(minEpsilon, epsilon * decay);
+    }
+
+    // setzt die Explorationsrate neu, der Zerfall beginnt von vorn
+    @Override
+    public void setExplorationRate(double explorationRate) {
+        this.epsilon = explorationRate;
+    }
+
+    @Override
+    public double getExplorationRate() {
+        return epsilon;
+    }
+
+    // die Kopie setzt den Zerfall beim aktuellen epsilon fort
+    @Override
+    public DecayingEpsilonPolicy copy() {
+        return new DecayingEpsilonPolicy(epsilon, minEpsilon, decay);
+    }
+}
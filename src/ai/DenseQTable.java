@@ -0,0 +1,140 @@
+package ai;
+
+import model.Board;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Q-Tabelle auf Basis eines flachen double-Arrays.
+ * Der Index eines Q-Werts ist {@code zustand * 9 + zug}, belegte Zustände werden in einer Bitmap markiert.
+ * Da es nur 3^9 Zustände gibt, passt die gesamte Tabelle in ca. 1,4 MB und jeder Zugriff ist ein Array-Zugriff.
+ */
+public class DenseQTable implements QTable {
+
+    private final double[] values = new double[Board.NUM_STATES * NUM_MOVES];
+    private final long[] present = new long[(Board.NUM_STATES + 63) / 64]; // Bitmap der belegten Zustände
+    private boolean dirty;
+
+    @Override
+    public boolean contains(int state) {
+        return (present[state >>> 6] & (1L << state)) != 0;
+    }
+
+    @Override
+    public boolean ensure(int state) {
+        if (contains(state)) {
+            return false;
+        }
+        present[state >>> 6] |= 1L << state;
+        dirty = true;
+        return true;
+    }
+
+    @Override
+    public double get(int state, int move) {
+        return values[state * NUM_MOVES + move];
+    }
+
+    @Override
+    public void set(int state, int move, double value) {
+        ensure(state);
+        values[state * NUM_MOVES + move] = value;
+        dirty = true;
+    }
+
+    @Override
+    public void add(int state, int move, double delta) {
+        ensure(state);
+        values[state * NUM_MOVES + move] += delta;
+        dirty = true;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (long word : present) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0.0);
+        Arrays.fill(present, 0L);
+        dirty = true;
+    }
+
+    /**
+     * Übernimmt alle Werte und belegten Zustände einer anderen Tabelle.
+     */
+    public void copyFrom(DenseQTable other) {
+        System.arraycopy(other.values, 0, values, 0, values.length);
+        System.arraycopy(other.present, 0, present, 0, present.length);
+        dirty = true;
+    }
+
+    /**
+     * Übernimmt die Änderungen mehrerer lokaler Kopien dieser Tabelle.
+     * Alle Kopien müssen vom aktuellen Stand dieser Tabelle ausgegangen sein. Für jeden Q-Wert wird
+     * der Mittelwert der Änderungen aller Kopien addiert, die diesen Wert verändert haben
+     * (eine Summe würde bei mehreren Kopien über das Ziel hinausschießen).
+     * Wird beim parallelen Training verwendet, um die Q-Deltas der Worker zusammenzuführen.
+     *
+     * @param locals Die veränderten Kopien (die Reihenfolge bestimmt die Rechenreihenfolge).
+     */
+    public void mergeDeltas(List<DenseQTable> locals) {
+        for (int word = 0; word < present.length; word++) {
+            long bits = 0;
+            for (DenseQTable local : locals) {
+                bits |= local.present[word];
+            }
+            present[word] |= bits;
+
+            while (bits != 0) {
+                int state = (word << 6) + Long.numberOfTrailingZeros(bits);
+                for (int index = state * NUM_MOVES; index < (state + 1) * NUM_MOVES; index++) {
+                    double sum = 0.0;
+                    int count = 0;
+                    for (DenseQTable local : locals) {
+                        double delta = local.values[index] - values[index];
+                        if (delta != 0.0) {
+                            sum += delta;
+                            count++;
+                        }
+                    }
+                    if (count > 0) {
+                        values[index] += sum / count;
+                    }
+                }
+                bits &= bits - 1;
+            }
+        }
+        dirty = true;
+    }
+
+    @Override
+    public void forEach(EntryVisitor visitor) {
+        double[] buffer = new double[NUM_MOVES];
+        for (int word = 0; word < present.length; word++) {
+            long bits = present[word];
+            while (bits != 0) {
+                int state = (word << 6) + Long.numberOfTrailingZeros(bits);
+                System.arraycopy(values, state * NUM_MOVES, buffer, 0, NUM_MOVES);
+                visitor.visit(state, buffer);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    @Override
+    public void markClean() {
+        dirty = false;
+    }
+}
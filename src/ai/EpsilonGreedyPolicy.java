@@ -0,0 +1,40 @@
+package ai;
+
+import model.Board;
+
+import java.util.Random;
+
+/**
+ * Epsilon-Greedy: mit Wahrscheinlichkeit epsilon ein zufälliger gültiger Zug, sonst der beste Zug.
+ */
+public class EpsilonGreedyPolicy implements ExplorationPolicy {
+
+    private double epsilon;
+
+    public EpsilonGreedyPolicy(double epsilon) {
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public int selectMove(QTable qTable, int canonicalState, int legalMoves, Random random) {
+        if (random.nextDouble() < epsilon) {    // random.nextDouble() -> Zufallswert zwischen 0 und 1
+            return Board.randomMove(legalMoves, random); // Zufälliger gültiger Zug
+        }
+        return ExplorationPolicy.greedyMove(qTable, canonicalState, legalMoves);
+    }
+
+    @Override
+    public void setExplorationRate(double explorationRate) {
+        this.epsilon = explorationRate;
+    }
+
+    @Override
+    public double getExplorationRate() {
+        return epsilon;
+    }
+
+    @Override
+    public EpsilonGreedyPolicy copy() {
+        return new EpsilonGreedyPolicy(epsilon);
+    }
+}
@@ -0,0 +1,65 @@
+package ai;
+
+import java.util.Random;
+
+/**
+ * Strategie, mit der die {@link TicTacToeAI} zwischen Ausnutzen (bester Q-Wert) und Erkunden wählt.
+ * Es werden nur gültige Züge aus der Bitmaske der freien Felder ausgewählt.
+ */
+public interface ExplorationPolicy {
+
+    /**
+     * Wählt einen Zug im kanonischen Zustand.
+     *
+     * @param qTable         Die Q-Tabelle.
+     * @param canonicalState Der kanonische, kodierte Zustand.
+     * @param legalMoves     Bitmaske der freien Felder des kanonischen Zustands (nicht 0).
+     * @param random         Der Zufallsgenerator der KI.
+     * @return Der gewählte Zug (0-8) im kanonischen Zustand.
+     */
+    int selectMove(QTable qTable, int canonicalState, int legalMoves, Random random);
+
+    /**
+     * Wird nach jedem Spiel aufgerufen (z. B. um die Explorationsrate zu verringern).
+     */
+    default void onGameFinished() {
+    }
+
+    /**
+     * Setzt die Explorationsrate (z. B. aus der GUI). Strategien ohne Explorationsrate bilden den Wert
+     * auf ihren eigenen Parameter ab (z. B. die Temperatur bei {@link SoftmaxPolicy}) oder ignorieren ihn.
+     */
+    default void setExplorationRate(double explorationRate) {
+    }
+
+    /**
+     * Gibt die aktuelle Explorationsrate zurück: die Wahrscheinlichkeit für einen zufälligen Zug bzw. bei
+     * Strategien ohne feste Rate den gemessenen Anteil der Züge, die nicht der beste Zug waren.
+     * Dieser Wert erscheint in den {@link TrainingMetrics}.
+     */
+    double getExplorationRate();
+
+    /**
+     * Erzeugt eine unabhängige Kopie mit den aktuellen Parametern (z. B. für jeden Worker des
+     * {@link ParallelTrainingEngine}), da eine Strategie Zustand hat und nicht von mehreren Threads
+     * geteilt werden darf.
+     */
+    ExplorationPolicy copy();
+
+    /**
+     * Gibt den gültigen Zug mit dem höchsten Q-Wert zurück (bei Gleichstand das Feld mit dem kleinsten Index).
+     */
+    static int greedyMove(QTable qTable, int canonicalState, int legalMoves) {
+        int bestMove = -1;
+        double bestValue = 0.0;
+        for (int moves = legalMoves; moves != 0; moves &= moves - 1) {
+            int move = Integer.numberOfTrailingZeros(moves);
+            double value = qTable.get(canonicalState, move);
+            if (bestMove < 0 || value > bestValue) {
+                bestMove = move;
+                bestValue = value;
+            }
+        }
+        return bestMove;
+    }
+}
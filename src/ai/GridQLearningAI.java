@@ -0,0 +1,136 @@
+package ai;
+
+import model.BoardGeometry;
+import model.GridBoard;
+
+import java.util.Random;
+
+/**
+ * Q-Learning-KI für Spielfelder beliebiger Größe (siehe {@link GridBoard}), analog zur {@link TicTacToeAI}:
+ * Epsilon-Greedy-Auswahl auf der kanonischen Stellung und Monte-Carlo-Update mit diskontierter Endbelohnung.
+ * Die Züge eines Spiels werden intern mitgeschrieben und mit {@link #propagateRewards(double)} ausgewertet.
+ */
+public class GridQLearningAI {
+
+    private final BoardGeometry geometry;
+    private final GridQTable qTable;
+    private final Random random;
+    private double learningRate;
+    private double discountFactor;
+    private double explorationRate;
+
+    // kanonische Stellungen und Züge des laufenden Spiels (höchstens die Hälfte der Felder + 1)
+    private final long[] xHistory;
+    private final long[] oHistory;
+    private final int[] moveHistory;
+    private int historyLength;
+
+    public GridQLearningAI(BoardGeometry geometry, double learningRate, double discountFactor,
+                           double explorationRate) {
+        this(geometry, new GridQTable(geometry.getCells()), learningRate, discountFactor, explorationRate,
+                new Random());
+    }
+
+    public GridQLearningAI(BoardGeometry geometry, GridQTable qTable, double learningRate, double discountFactor,
+                           double explorationRate, Random random) {
+        if (qTable.getMoves() != geometry.getCells()) {
+            throw new IllegalArgumentException("Q-Tabelle passt nicht zum Spielfeld " + geometry);
+        }
+        this.geometry = geometry;
+        this.qTable = qTable;
+        this.random = random;
+        this.learningRate = learningRate;
+        this.discountFactor = discountFactor;
+        this.explorationRate = explorationRate;
+        int maxMoves = geometry.getCells() / 2 + 1;
+        this.xHistory = new long[maxMoves];
+        this.oHistory = new long[maxMoves];
+        this.moveHistory = new int[maxMoves];
+    }
+
+    /**
+     * Berechnet den nächsten Zug und merkt sich die kanonische Stellung für das spätere Update.
+     *
+     * @param board Das aktuelle Spielfeld (nicht beendet).
+     * @return Das Feld (Zeile * N + Spalte) für den nächsten Zug.
+     */
+    public int getMove(GridBoard board) {
+        // Kanonische Stellung berechnen
+        int symmetry = geometry.canonicalSymmetry(board.getXBits(), board.getOBits());
+        long x = geometry.transform(board.getXBits(), symmetry);
+        long o = geometry.transform(board.getOBits(), symmetry);
+        long legalMoves = ~(x | o) & geometry.getAllCells();
+
+        int canonicalMove;
+        if (random.nextDouble() < explorationRate) {
+            canonicalMove = GridBoard.randomMove(legalMoves, random); // Zufälliger gültiger Zug
+        } else {
+            int slot = qTable.find(x, o);
+            // unbekannte Stellung: alle Q-Werte 0, also erstes freies Feld (wie bei der TicTacToeAI)
+            canonicalMove = slot < 0 ? Long.numberOfTrailingZeros(legalMoves) : qTable.bestMove(slot, legalMoves);
+        }
+
+        if (historyLength < moveHistory.length) {
+            xHistory[historyLength] = x;
+            oHistory[historyLength] = o;
+            moveHistory[historyLength] = canonicalMove;
+            historyLength++;
+        }
+
+        // Zug von der kanonischen Stellung zurück auf die ursprüngliche übertragen
+        return geometry.inverseTransformMove(symmetry, canonicalMove);
+    }
+
+    /**
+     * Aktualisiert die Q-Werte aller Züge des abgelaufenen Spiels (rückwärts, diskontiert)
+     * und leert anschließend die Spielhistorie.
+     *
+     * @param finalReward Die finale Belohnung.
+     */
+    public void propagateRewards(double finalReward) {
+        double reward = finalReward;
+        for (int i = historyLength - 1; i >= 0; i--) {
+            int slot = qTable.ensure(xHistory[i], oHistory[i]);
+            qTable.update(slot, moveHistory[i], reward, learningRate);
+            reward *= discountFactor;
+        }
+        historyLength = 0;
+    }
+
+    // Verwirft die Spielhistorie ohne Update (z. B. bei abgebrochenen Spielen)
+    public void resetHistory() {
+        historyLength = 0;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public GridQTable getQTable() {
+        return qTable;
+    }
+
+    public double getLearningRate() {
+        return learningRate;
+    }
+
+    public void setLearningRate(double learningRate) {
+        this.learningRate = learningRate;
+    }
+
+    public double getDiscountFactor() {
+        return discountFactor;
+    }
+
+    public void setDiscountFactor(double discountFactor) {
+        this.discountFactor = discountFactor;
+    }
+
+    public double getExplorationRate() {
+        return explorationRate;
+    }
+
+    public void setExplorationRate(double explorationRate) {
+        this.explorationRate = explorationRate;
+    }
+}
@@ -0,0 +1,179 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * Q-Tabelle für größere Spielfelder (siehe {@link model.GridBoard}), ausgelegt auf Millionen von Zuständen.
+ * Schlüssel sind die beiden Bitboards (xBits, oBits) der kanonischen Stellung, gespeichert mit offener Adressierung
+ * (lineares Sondieren) in parallelen long-Arrays. Die Q-Werte liegen als float in einem flachen Array
+ * ({@code slot * zellen + zug}), dadurch gibt es pro Zustand keine eigenen Objekte.
+ * Die Tabelle ist nicht threadsicher.
+ */
+public class GridQTable {
+
+    // markiert einen belegten Slot im X-Schlüssel (Bitboards nutzen höchstens 49 Bits, siehe BoardGeometry.MAX_SIZE)
+    private static final long OCCUPIED = 1L << 63;
+    private static final float MAX_LOAD = 0.6f;
+
+    private final int moves; // Anzahl der Felder = Q-Werte pro Zustand
+    private long[] xKeys;
+    private long[] oKeys;
+    private float[] values;
+    private int mask; // Kapazität - 1 (Kapazität ist eine Zweierpotenz)
+    private int size;
+    private int threshold;
+
+    public GridQTable(int moves) {
+        this(moves, 1 << 12);
+    }
+
+    /**
+     * @param moves           Anzahl der Felder des Spielfelds (Q-Werte pro Zustand).
+     * @param initialCapacity Erwartete Anzahl an Zuständen (wird bei Bedarf vergrößert).
+     */
+    public GridQTable(int moves, int initialCapacity) {
+        this.moves = moves;
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (initialCapacity / MAX_LOAD)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        if ((long) capacity * moves > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Q-Tabelle zu groß: " + capacity + " Slots à " + moves + " Werte");
+        }
+        xKeys = new long[capacity];
+        oKeys = new long[capacity];
+        values = new float[capacity * moves];
+        mask = capacity - 1;
+        threshold = (int) (capacity * MAX_LOAD);
+    }
+
+    // Mischt beide Bitboards zu einem gut verteilten Hashwert
+    private static int hash(long xBits, long oBits) {
+        long h = xBits * 0x9E3779B97F4A7C15L ^ oBits * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Sucht den Slot eines Zustands.
+     *
+     * @param xBits Bitboard der X-Steine (kanonische Stellung).
+     * @param oBits Bitboard der O-Steine (kanonische Stellung).
+     * @return Der Slot oder -1, wenn der Zustand nicht enthalten ist.
+     */
+    public int find(long xBits, long oBits) {
+        long key = xBits | OCCUPIED;
+        for (int slot = hash(xBits, oBits) & mask; ; slot = (slot + 1) & mask) {
+            long stored = xKeys[slot];
+            if (stored == 0) return -1;
+            if (stored == key && oKeys[slot] == oBits) return slot;
+        }
+    }
+
+    /**
+     * Gibt den Slot eines Zustands zurück und legt ihn bei Bedarf an (alle Q-Werte 0).
+     * Achtung: Beim Anlegen kann die Tabelle wachsen, zuvor ermittelte Slots werden dann ungültig.
+     *
+     * @param xBits Bitboard der X-Steine (kanonische Stellung).
+     * @param oBits Bitboard der O-Steine (kanonische Stellung).
+     * @return Der Slot des Zustands.
+     */
+    public int ensure(long xBits, long oBits) {
+        long key = xBits | OCCUPIED;
+        int slot = hash(xBits, oBits) & mask;
+        while (true) {
+            long stored = xKeys[slot];
+            if (stored == 0) break;
+            if (stored == key && oKeys[slot] == oBits) return slot;
+            slot = (slot + 1) & mask;
+        }
+
+        if (size >= threshold) {
+            grow();
+            return ensure(xBits, oBits);
+        }
+        xKeys[slot] = key;
+        oKeys[slot] = oBits;
+        size++;
+        return slot;
+    }
+
+    // Verdoppelt die Kapazität und fügt alle Einträge neu ein
+    private void grow() {
+        long[] oldX = xKeys;
+        long[] oldO = oKeys;
+        float[] oldValues = values;
+        allocate(oldX.length * 2);
+
+        for (int old = 0; old < oldX.length; old++) {
+            if (oldX[old] == 0) continue;
+            int slot = hash(oldX[old] & ~OCCUPIED, oldO[old]) & mask;
+            while (xKeys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            xKeys[slot] = oldX[old];
+            oKeys[slot] = oldO[old];
+            System.arraycopy(oldValues, old * moves, values, slot * moves, moves);
+        }
+    }
+
+    public double get(int slot, int move) {
+        return values[slot * moves + move];
+    }
+
+    public void set(int slot, int move, double value) {
+        values[slot * moves + move] = (float) value;
+    }
+
+    /**
+     * Bewegt einen Q-Wert in Richtung des Zielwerts: Q += Lernrate * (Ziel - Q).
+     */
+    public void update(int slot, int move, double target, double learningRate) {
+        int index = slot * moves + move;
+        values[index] += (float) (learningRate * (target - values[index]));
+    }
+
+    /**
+     * Gibt den gültigen Zug mit dem höchsten Q-Wert zurück (bei Gleichstand das Feld mit dem kleinsten Index).
+     *
+     * @param slot       Der Slot des Zustands.
+     * @param legalMoves Bitmaske der freien Felder (nicht 0).
+     * @return Der beste Zug.
+     */
+    public int bestMove(int slot, long legalMoves) {
+        int base = slot * moves;
+        int bestMove = -1;
+        float bestValue = 0f;
+        for (long rest = legalMoves; rest != 0; rest &= rest - 1) {
+            int move = Long.numberOfTrailingZeros(rest);
+            float value = values[base + move];
+            if (bestMove < 0 || value > bestValue) {
+                bestMove = move;
+                bestValue = value;
+            }
+        }
+        return bestMove;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getMoves() {
+        return moves;
+    }
+
+    // Speicherbedarf der Arrays in Bytes (Schlüssel und Werte)
+    public long memoryBytes() {
+        return (long) xKeys.length * 16 + (long) values.length * 4;
+    }
+
+    public void clear() {
+        Arrays.fill(xKeys, 0L);
+        Arrays.fill(oKeys, 0L);
+        Arrays.fill(values, 0f);
+        size = 0;
+    }
+}
@@ -0,0 +1,18 @@
+package ai;
+
+import model.GridBoard;
+
+/**
+ * Trainings-KI für Spielfelder beliebiger Größe (siehe {@link GridBoard}), z. B. für die {@link GridTrainingEngine}.
+ * Getrennt von {@link TrainingAI}, da die meisten Trainings-KIs nur das klassische 3x3-Spiel kennen.
+ */
+public interface GridTrainingAI {
+
+    /**
+     * Wählt einen Zug für den Spieler am Zug.
+     *
+     * @param board Das aktuelle Spielfeld (nicht beendet, wird nicht verändert).
+     * @return Das Feld (Zeile * N + Spalte) für den nächsten Zug.
+     */
+    int getMove(GridBoard board);
+}
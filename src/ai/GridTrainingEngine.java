@@ -0,0 +1,101 @@
+package ai;
+
+import model.BoardGeometry;
+import model.GridBoard;
+
+/**
+ * Trainiert die {@link GridQLearningAI} ohne GUI gegen eine {@link GridTrainingAI} auf einem N x N Spielfeld.
+ * Wie in der {@link TrainingEngine} spielt die Trainings-KI 'X' und beginnt, die KI spielt 'O'.
+ */
+public class GridTrainingEngine {
+
+    private static final char TRAINER_SYMBOL = 'X';
+    private static final char AI_SYMBOL = 'O';
+
+    private final GridQLearningAI ai; // zu trainierende KI
+    private final GridTrainingAI trainer; // Trainings-KI für Spielfelder beliebiger Größe
+    private final GridBoard board; // eigenes Spielfeld
+    private final int[] results = new int[3]; // [Siege Trainer, Siege KI, Unentschieden]
+    private TrainingListener listener;
+    private int progressInterval = 1000; // alle N Spiele wird der Listener benachrichtigt
+
+    public GridTrainingEngine(GridQLearningAI ai, GridTrainingAI trainer) {
+        this.ai = ai;
+        this.trainer = trainer;
+        this.board = new GridBoard(ai.getGeometry());
+    }
+
+    public void setListener(TrainingListener listener) {
+        this.listener = listener;
+    }
+
+    public void setProgressInterval(int progressInterval) {
+        this.progressInterval = Math.max(1, progressInterval);
+    }
+
+    public BoardGeometry getGeometry() {
+        return board.getGeometry();
+    }
+
+    /**
+     * Spielt die angegebene Anzahl an Trainingsspielen.
+     *
+     * @param numGames Anzahl der Spiele.
+     * @return Ergebnisse: [Siege Trainer, Siege KI, Unentschieden].
+     */
+    public int[] train(int numGames) {
+        results[0] = 0;
+        results[1] = 0;
+        results[2] = 0;
+
+        for (int i = 1; i <= numGames; i++) {
+            playGame();
+
+            if (listener != null && i % progressInterval == 0 && i < numGames) {
+                listener.onProgress(i, numGames, results.clone());
+            }
+        }
+
+        if (listener != null) {
+            listener.onFinished(results.clone());
+        }
+        return results.clone();
+    }
+
+    // Spielt ein einzelnes Spiel und aktualisiert anschließend die Q-Werte der KI
+    private void playGame() {
+        board.resetBoard();
+        ai.resetHistory();
+
+        while (true) {
+            // Zug der Trainings-KI
+            int move = trainer.getMove(board);
+            if (!board.makeMove(move, TRAINER_SYMBOL)) {
+                throw new IllegalStateException("Ungültiger Zug der Trainings-KI: " + move);
+            }
+            if (finished()) return;
+
+            // Zug der KI (liefert immer einen gültigen Zug)
+            board.makeMove(ai.getMove(board), AI_SYMBOL);
+            if (finished()) return;
+        }
+    }
+
+    // Prüft auf Spielende und verteilt die Belohnung
+    private boolean finished() {
+        char winner = board.getWinner();
+        if (winner == TRAINER_SYMBOL) {
+            results[0]++;
+            ai.propagateRewards(-1.0);
+        } else if (winner == AI_SYMBOL) {
+            results[1]++;
+            ai.propagateRewards(1.0);
+        } else if (board.isFull()) {
+            results[2]++;
+            ai.propagateRewards(0.5);
+        } else {
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package ai;
+
+import model.Board;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Q-Tabelle auf Basis einer {@code HashMap<String, double[]>} (bisherige Implementierung).
+ * Speichert nur besuchte Zustände, benötigt aber pro Eintrag einen String-Schlüssel und ein eigenes Array.
+ */
+public class HashMapQTable implements QTable {
+
+    private final HashMap<String, double[]> qTable = new HashMap<>();
+    private boolean dirty;
+
+    @Override
+    public boolean contains(int state) {
+        return qTable.containsKey(Board.decode(state));
+    }
+
+    @Override
+    public boolean ensure(int state) {
+        String key = Board.decode(state);
+        if (qTable.containsKey(key)) {
+            return false;
+        }
+        qTable.put(key, new double[NUM_MOVES]);
+        dirty = true;
+        return true;
+    }
+
+    @Override
+    public double get(int state, int move) {
+        double[] qValues = qTable.get(Board.decode(state));
+        return qValues == null ? 0.0 : qValues[move];
+    }
+
+    @Override
+    public void set(int state, int move, double value) {
+        double[] qValues = qTable.computeIfAbsent(Board.decode(state), key -> new double[NUM_MOVES]);
+        qValues[move] = value;
+        dirty = true;
+    }
+
+    @Override
+    public void add(int state, int move, double delta) {
+        double[] qValues = qTable.computeIfAbsent(Board.decode(state), key -> new double[NUM_MOVES]);
+        qValues[move] += delta;
+        dirty = true;
+    }
+
+    @Override
+    public int size() {
+        return qTable.size();
+    }
+
+    @Override
+    public void clear() {
+        qTable.clear();
+        dirty = true;
+    }
+
+    @Override
+    public void forEach(EntryVisitor visitor) {
+        for (Map.Entry<String, double[]> entry : qTable.entrySet()) {
+            visitor.visit(Board.encode(entry.getKey()), entry.getValue());
+        }
+    }
+
+    @Override
+    public Map<String, double[]> toMap() {
+        Map<String, double[]> map = new HashMap<>();
+        for (Map.Entry<String, double[]> entry : qTable.entrySet()) {
+            map.put(entry.getKey(), entry.getValue().clone());
+        }
+        return map;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    @Override
+    public void markClean() {
+        dirty = false;
+    }
+}
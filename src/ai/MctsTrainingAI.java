@@ -0,0 +1,411 @@
+package ai;
+
+import model.Board;
+import model.BoardGeometry;
+import model.GridBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Trainings-KI mit Monte Carlo Tree Search (UCT) für Spielfelder beliebiger Größe (siehe {@link GridBoard}).
+ * Im Gegensatz zur {@link PerfectTrainingAI} ist keine vollständige Suche nötig, die Spielstärke wird über
+ * das Budget pro Zug eingestellt (Anzahl Playouts und/oder Zeit).
+ * <ul>
+ *     <li>Der Suchbaum wird zwischen zwei eigenen Zügen wiederverwendet: Der Knoten der neuen Stellung
+ *     (eigener Zug + Antwort des Gegners) wird zur neuen Wurzel.</li>
+ *     <li>Die zufälligen Playouts laufen auf einem wiederverwendeten Spielfeld und erzeugen keine Objekte.</li>
+ *     <li>Optional sucht jeder Thread in einem eigenen Baum (Root-Parallelisierung), die Besuche der
+ *     Wurzelzüge werden am Ende addiert.</li>
+ * </ul>
+ * Der Spieler am Zug ergibt sich aus der Anzahl der Steine ('X' beginnt).
+ * Mit mehreren Threads gehört der KI ein eigener Thread-Pool, der mit {@link #close()} beendet wird.
+ */
+public class MctsTrainingAI implements TrainingAI, GridTrainingAI, AnytimeAI, AutoCloseable {
+
+    // Obergrenze für die Knoten eines Baums, danach wird nicht mehr expandiert (nur noch Playouts)
+    private static final int DEFAULT_MAX_NODES = 2_000_000;
+
+    private final BoardGeometry geometry;
+    private final Searcher[] searchers; // ein Suchbaum je Thread
+    private int playoutsPerMove; // Budget: Playouts pro Zug (über alle Threads), 0 = unbegrenzt
+    private long timeBudgetMillis; // Budget: Zeit pro Zug, 0 = unbegrenzt
+    private double exploration = Math.sqrt(2); // UCT-Konstante c
+    private int maxNodes = DEFAULT_MAX_NODES;
+    private ForkJoinPool pool; // wird nur bei mehreren Threads erzeugt
+    private volatile boolean stopRequested; // beendet die Suche aller Threads (nach Unterbrechung des Aufrufers)
+
+    /**
+     * @param geometry        Die Geometrie des Spielfelds.
+     * @param playoutsPerMove Anzahl der Playouts pro Zug.
+     */
+    public MctsTrainingAI(BoardGeometry geometry, int playoutsPerMove) {
+        this(geometry, playoutsPerMove, 0, 1, new Random());
+    }
+
+    /**
+     * @param geometry         Die Geometrie des Spielfelds.
+     * @param playoutsPerMove  Anzahl der Playouts pro Zug (0 = nur Zeitbudget).
+     * @param timeBudgetMillis Zeit pro Zug in Millisekunden (0 = nur Playout-Budget).
+     * @param threads          Anzahl der Threads (Root-Parallelisierung, 1 = sequentiell).
+     * @param random           Zufallsgenerator, aus dem die Generatoren der Suchbäume abgeleitet werden.
+     */
+    public MctsTrainingAI(BoardGeometry geometry, int playoutsPerMove, long timeBudgetMillis, int threads,
+                          Random random) {
+        if (playoutsPerMove <= 0 && timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Es muss ein Playout- oder Zeitbudget angegeben werden");
+        }
+        this.geometry = geometry;
+        this.playoutsPerMove = Math.max(0, playoutsPerMove);
+        this.timeBudgetMillis = Math.max(0, timeBudgetMillis);
+        SplittableRandom seeds = new SplittableRandom(random.nextLong());
+        this.searchers = new Searcher[Math.max(1, threads)];
+        for (int i = 0; i < searchers.length; i++) {
+            searchers[i] = new Searcher(new Random(seeds.nextLong()));
+        }
+    }
+
+    @Override
+    public int getMove(String state) {
+        return getMove(Board.encode(state));
+    }
+
+    // 3x3-Stellungen werden in ein GridBoard übertragen (nur bei Geometrie 3x3/3)
+    @Override
+    public int getMove(int state) {
+        return getMove(state, 0);
+    }
+
+    /**
+     * Sucht höchstens budgetMillis lang (zusätzlich zum Playout-Budget); bei Unterbrechung des Threads
+     * wird der bis dahin beste Zug geliefert.
+     */
+    @Override
+    public int getMove(int state, long budgetMillis) {
+        if (geometry.getSize() != 3 || geometry.getWinLength() != 3) {
+            throw new UnsupportedOperationException("Kodierte Zustände gibt es nur für 3x3-Tic-Tac-Toe");
+        }
+        GridBoard board = new GridBoard(geometry);
+        for (int i = 0; i < 9; i++) {
+            char symbol = Board.symbolAt(state, i);
+            if (symbol != ' ') board.makeMove(i, symbol);
+        }
+        return getMove(board, budgetMillis);
+    }
+
+    /**
+     * Sucht den besten Zug für den Spieler am Zug innerhalb des eingestellten Budgets.
+     *
+     * @param board Das aktuelle Spielfeld (nicht beendet, wird nicht verändert).
+     * @return Das Feld (Zeile * N + Spalte) für den nächsten Zug.
+     */
+    @Override
+    public int getMove(GridBoard board) {
+        return getMove(board, 0);
+    }
+
+    /**
+     * Wie {@link #getMove(GridBoard)}, aber mit eigenem Zeitbudget für diesen Zug.
+     *
+     * @param board        Das aktuelle Spielfeld (nicht beendet, wird nicht verändert).
+     * @param budgetMillis Zeit in Millisekunden (0 = eingestelltes Zeitbudget).
+     * @return Das Feld (Zeile * N + Spalte) für den nächsten Zug.
+     */
+    public int getMove(GridBoard board, long budgetMillis) {
+        if (board.getGeometry() != geometry) {
+            throw new IllegalArgumentException("Spielfeld " + board.getGeometry() + " passt nicht zu " + geometry);
+        }
+        long millis = budgetMillis > 0 ? budgetMillis : timeBudgetMillis;
+        long deadline = millis > 0 ? System.nanoTime() + millis * 1_000_000 : Long.MAX_VALUE;
+        if (playoutsPerMove == 0 && deadline == Long.MAX_VALUE) {
+            throw new IllegalStateException("Es ist weder ein Playout- noch ein Zeitbudget eingestellt");
+        }
+        long xBits = board.getXBits();
+        long oBits = board.getOBits();
+
+        if (searchers.length == 1) {
+            Searcher searcher = searchers[0];
+            searcher.search(xBits, oBits, playoutsPerMove, deadline);
+            return searcher.commit(searcher.bestMove());
+        }
+
+        // Root-Parallelisierung: jeder Thread sucht im eigenen Baum mit seinem Anteil der Playouts
+        stopRequested = false;
+        ForkJoinPool searchPool = getPool();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < searchers.length; i++) {
+            Searcher searcher = searchers[i];
+            int quota = playoutsPerMove / searchers.length + (i < playoutsPerMove % searchers.length ? 1 : 0);
+            futures.add(searchPool.submit(
+                    () -> searcher.search(xBits, oBits, playoutsPerMove > 0 ? Math.max(1, quota) : 0, deadline)));
+        }
+        // wird der Aufrufer unterbrochen, beenden alle Threads ihre Suche und der bis dahin beste Zug zählt
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    stopRequested = true;
+                } catch (ExecutionException e) {
+                    stopRequested = true;
+                    throw new IllegalStateException("Fehler in einem Such-Thread", e.getCause());
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Besuche der Wurzelzüge aller Bäume addieren
+        long[] visits = new long[geometry.getCells()];
+        for (Searcher searcher : searchers) {
+            for (Node child = searcher.root.firstChild; child != null; child = child.sibling) {
+                visits[child.move] += child.visits;
+            }
+        }
+        int best = -1;
+        for (int move = 0; move < visits.length; move++) {
+            if (visits[move] > 0 && (best < 0 || visits[move] > visits[best])) best = move;
+        }
+        if (best < 0) best = Long.numberOfTrailingZeros(board.getEmptyMask());
+        for (Searcher searcher : searchers) {
+            searcher.commit(best);
+        }
+        return best;
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(searchers.length);
+        }
+        return pool;
+    }
+
+    /**
+     * Beendet den Thread-Pool der Root-Parallelisierung (falls vorhanden). Ein späterer Zug erzeugt ihn neu.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+    // Verwirft alle Suchbäume (z. B. vor einem neuen Spiel, um Speicher freizugeben)
+    public void clearTrees() {
+        for (Searcher searcher : searchers) {
+            searcher.root = null;
+        }
+    }
+
+    public void setPlayoutsPerMove(int playoutsPerMove) {
+        this.playoutsPerMove = Math.max(0, playoutsPerMove);
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = Math.max(0, timeBudgetMillis);
+    }
+
+    public void setExploration(double exploration) {
+        this.exploration = exploration;
+    }
+
+    public void setMaxNodes(int maxNodes) {
+        this.maxNodes = Math.max(1, maxNodes);
+    }
+
+    // Anzahl der Playouts der letzten Suche (über alle Threads)
+    public long getLastPlayouts() {
+        long sum = 0;
+        for (Searcher searcher : searchers) {
+            sum += searcher.lastPlayouts;
+        }
+        return sum;
+    }
+
+    // Anzahl der Playouts, die durch Wiederverwendung des Baums schon vor der letzten Suche vorhanden waren
+    public long getLastReusedVisits() {
+        long sum = 0;
+        for (Searcher searcher : searchers) {
+            sum += searcher.lastReusedVisits;
+        }
+        return sum;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    // Knoten des Suchbaums; Kinder als verkettete Liste (firstChild -> sibling)
+    private static final class Node {
+        final int move; // Zug, der zu diesem Knoten geführt hat (-1 bei der Wurzel)
+        final char player; // Spieler, der diesen Zug gemacht hat
+        Node firstChild;
+        Node sibling;
+        long untried; // noch nicht expandierte Züge (Bitmaske)
+        int visits;
+        double wins; // aus Sicht von player: Sieg 1, Unentschieden 0,5
+
+        Node(int move, char player, long untried) {
+            this.move = move;
+            this.player = player;
+            this.untried = untried;
+        }
+    }
+
+    // Suchbaum mit eigenem Spielfeld und Zufallsgenerator (ein Searcher wird nur von einem Thread benutzt)
+    private final class Searcher {
+        final Random random;
+        final GridBoard board = new GridBoard(geometry); // Arbeitsfeld für Selektion und Playouts
+        final Node[] path = new Node[geometry.getCells() + 1];
+        Node root;
+        long rootX; // Stellung der Wurzel
+        long rootO;
+        int nodeCount;
+        long lastPlayouts;
+        long lastReusedVisits;
+
+        Searcher(Random random) {
+            this.random = random;
+        }
+
+        void search(long xBits, long oBits, int playouts, long deadline) {
+            reuseOrCreateRoot(xBits, oBits);
+            lastReusedVisits = root.visits;
+            lastPlayouts = 0;
+            while (playouts == 0 || lastPlayouts < playouts) {
+                // Zeit und Unterbrechung nur alle 16 Playouts prüfen; der erste Playout läuft immer
+                if ((lastPlayouts & 15) == 15 && (System.nanoTime() >= deadline
+                        || stopRequested || Thread.currentThread().isInterrupted())) {
+                    break;
+                }
+                iterate();
+                lastPlayouts++;
+            }
+        }
+
+        // Sucht die neue Stellung unter den Enkeln der alten Wurzel (eigener Zug + Antwort des Gegners)
+        private void reuseOrCreateRoot(long xBits, long oBits) {
+            if (root != null && (rootX & ~xBits) == 0 && (rootO & ~oBits) == 0
+                    && Long.bitCount(xBits | oBits) == Long.bitCount(rootX | rootO) + 1) {
+                // nach commit() steht die Wurzel schon nach dem eigenen Zug: nur die Antwort des Gegners suchen
+                long added = (xBits | oBits) & ~(rootX | rootO);
+                int move = Long.numberOfTrailingZeros(added);
+                for (Node child = root.firstChild; child != null; child = child.sibling) {
+                    if (child.move == move) {
+                        root = child;
+                        rootX = xBits;
+                        rootO = oBits;
+                        return;
+                    }
+                }
+            } else if (root != null && rootX == xBits && rootO == oBits) {
+                return;
+            }
+
+            board.setPosition(xBits, oBits);
+            char toMove = board.getCurrentSymbol();
+            root = new Node(-1, toMove == 'X' ? 'O' : 'X', board.getEmptyMask());
+            rootX = xBits;
+            rootO = oBits;
+            nodeCount = 1;
+        }
+
+        // Ein Durchlauf: Selektion (UCT), Expansion, Playout, Rückpropagierung
+        private void iterate() {
+            board.setPosition(rootX, rootO);
+            Node node = root;
+            int depth = 0;
+            path[depth++] = node;
+
+            // Selektion
+            while (node.untried == 0 && node.firstChild != null) {
+                node = selectChild(node);
+                board.makeMove(node.move, node.player);
+                path[depth++] = node;
+            }
+
+            // Expansion
+            if (!board.isGameOver() && node.untried != 0 && nodeCount < maxNodes) {
+                int move = GridBoard.randomMove(node.untried, random);
+                node.untried &= ~(1L << move);
+                char player = node.player == 'X' ? 'O' : 'X';
+                board.makeMove(move, player);
+                Node child = new Node(move, player, board.isGameOver() ? 0 : board.getEmptyMask());
+                child.sibling = node.firstChild;
+                node.firstChild = child;
+                nodeCount++;
+                node = child;
+                path[depth++] = node;
+            }
+
+            // Playout mit zufälligen Zügen
+            char toMove = board.getCurrentSymbol();
+            while (!board.isGameOver()) {
+                board.makeMove(GridBoard.randomMove(board.getEmptyMask(), random), toMove);
+                toMove = toMove == 'X' ? 'O' : 'X';
+            }
+            char winner = board.getWinner();
+
+            // Rückpropagierung
+            for (int i = 0; i < depth; i++) {
+                Node n = path[i];
+                n.visits++;
+                if (winner == n.player) {
+                    n.wins += 1.0;
+                } else if (winner == ' ') {
+                    n.wins += 0.5;
+                }
+            }
+        }
+
+        private Node selectChild(Node node) {
+            double logVisits = Math.log(node.visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child = node.firstChild; child != null; child = child.sibling) {
+                double value = child.wins / child.visits + exploration * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        // Am häufigsten besuchter Wurzelzug
+        int bestMove() {
+            Node best = null;
+            for (Node child = root.firstChild; child != null; child = child.sibling) {
+                if (best == null || child.visits > best.visits) best = child;
+            }
+            return best != null ? best.move : Long.numberOfTrailingZeros(root.untried);
+        }
+
+        // Führt den gewählten Zug im Baum aus, damit der Teilbaum beim nächsten Zug wiederverwendet werden kann
+        int commit(int move) {
+            Node next = null;
+            for (Node child = root.firstChild; child != null; child = child.sibling) {
+                if (child.move == move) next = child;
+            }
+            long bit = 1L << move;
+            if (next == null) {
+                root = null;
+            } else {
+                if (next.player == 'X') rootX |= bit;
+                else rootO |= bit;
+                root = next;
+            }
+            return move;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package ai;
+
+import model.Board;
+
+import java.util.Arrays;
+
+/**
+ * Löst Tic Tac Toe Stellungen mit Negamax und Alpha-Beta-Pruning.
+ * Bereits berechnete Stellungen werden in einer Transpositionstabelle gespeichert, die über den
+ * kanonischen Zustand (siehe {@link Transformations}) indiziert wird. Symmetrische Stellungen
+ * teilen sich also einen Eintrag. Die Tabelle bleibt zwischen den Aufrufen erhalten und kann
+ * über {@link #getShared()} von mehreren KIs gemeinsam genutzt werden.
+ * <p>
+ * Bewertungen sind relativ zum Spieler am Zug: Sieg = 10 - Anzahl Halbzüge bis zum Sieg,
+ * Niederlage entsprechend negativ, Unentschieden = 0.
+ */
+public class MinimaxSolver {
+
+    public static final int WIN_SCORE = 10;
+
+    private static final int INFINITY = 100;
+    private static final int OFFSET = 32; // verschiebt die Bewertung in den positiven Bereich
+    private static final int EXACT = 1;
+    private static final int LOWER_BOUND = 2;
+    private static final int UPPER_BOUND = 3;
+
+    private static final MinimaxSolver SHARED = new MinimaxSolver();
+
+    // Eintrag je (kanonischer Zustand, Spieler am Zug): (Bewertung + OFFSET) << 2 | Art des Eintrags, 0 = leer
+    private final short[] table = new short[Board.NUM_STATES * 2];
+    private long nodeCount; // Anzahl besuchter Knoten
+    private long tableHits; // Anzahl der Treffer in der Transpositionstabelle
+
+    /**
+     * Gibt einen gemeinsam genutzten Solver zurück.
+     * Die Statistik ist bei gleichzeitiger Nutzung aus mehreren Threads nur ein Näherungswert.
+     */
+    public static MinimaxSolver getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Bewertet eine Stellung aus Sicht des Spielers am Zug.
+     *
+     * @param state  Der kodierte Zustand.
+     * @param player Das Symbol des Spielers am Zug ('X' oder 'O').
+     * @return Die Bewertung (positiv = Sieg, 0 = Unentschieden, negativ = Niederlage).
+     */
+    public int evaluate(int state, char player) {
+        return negamax(new Board(state), player, -INFINITY, INFINITY);
+    }
+
+    /**
+     * Ermittelt den besten Zug. Bei gleich guten Zügen wird der Zug mit dem kleinsten Index gewählt.
+     *
+     * @param state  Der kodierte Zustand.
+     * @param player Das Symbol des Spielers am Zug ('X' oder 'O').
+     * @return Der beste Zug (0-8) oder -1, wenn kein Zug möglich ist.
+     */
+    public int findBestMove(int state, char player) {
+        // Züge werden auf einem eigenen Board gesetzt und wieder zurückgenommen
+        Board board = new Board(state);
+        char opponent = opponentOf(player);
+        int bestMove = -1;
+        int bestValue = -INFINITY;
+
+        for (int moves = board.getEmptyMask(); moves != 0; moves &= moves - 1) {
+            int move = Integer.numberOfTrailingZeros(moves);
+            board.makeMove(move, player);
+            // nur Züge, die besser als der bisher beste sind, müssen exakt bewertet werden
+            int value = shrink(-negamax(board, opponent, -unshrink(INFINITY), -unshrink(bestValue)));
+            board.undoMove(move);
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = move;
+            }
+        }
+        return bestMove;
+    }
+
+    // Negamax mit Alpha-Beta-Pruning; player ist das Symbol des Spielers am Zug
+    private int negamax(Board board, char player, int alpha, int beta) {
+        nodeCount++;
+        char opponent = opponentOf(player);
+
+        // Hat der letzte Zug (des Gegners) gewonnen oder ist das Spielfeld voll? (O(1) dank Linienzählern)
+        if (board.checkWin(opponent)) return -WIN_SCORE;
+        if (board.isFull()) return 0;
+
+        int index = Transformations.getCanonicalState(board.getEncodedState()) * 2 + (Board.encodeSymbol(player) - 1);
+        int entry = table[index];
+        if (entry != 0) {
+            tableHits++;
+            int value = (entry >> 2) - OFFSET;
+            int type = entry & 3;
+            if (type == EXACT
+                    || (type == LOWER_BOUND && value >= beta)
+                    || (type == UPPER_BOUND && value <= alpha)) {
+                return value;
+            }
+        }
+
+        int best = -INFINITY;
+        int a = alpha;
+        for (int moves = board.getEmptyMask(); moves != 0; moves &= moves - 1) {
+            int move = Integer.numberOfTrailingZeros(moves);
+            board.makeMove(move, player);
+            int value = shrink(-negamax(board, opponent, -unshrink(beta), -unshrink(a)));
+            board.undoMove(move);
+            if (value > best) {
+                best = value;
+                if (best > a) a = best;
+                if (a >= beta) break; // Beta-Schnitt
+            }
+        }
+
+        int type = best <= alpha ? UPPER_BOUND : best >= beta ? LOWER_BOUND : EXACT;
+        table[index] = (short) (((best + OFFSET) << 2) | type);
+        return best;
+    }
+
+    private static char opponentOf(char player) {
+        return player == 'X' ? 'O' : 'X';
+    }
+
+    // Bewertung des Kindknotens eine Ebene höher: Siege und Niederlagen verlieren einen Punkt pro Halbzug
+    private static int shrink(int value) {
+        return value > 0 ? value - 1 : value < 0 ? value + 1 : 0;
+    }
+
+    // Umkehrung von shrink() für die Suchfenster-Grenzen
+    private static int unshrink(int value) {
+        return value > 0 ? value + 1 : value < 0 ? value - 1 : 0;
+    }
+
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    public void resetStatistics() {
+        nodeCount = 0;
+        tableHits = 0;
+    }
+
+    // Leert die Transpositionstabelle
+    public void clear() {
+        Arrays.fill(table, (short) 0);
+    }
+}
@@ -0,0 +1,22 @@
+package ai;
+
+/**
+ * Bisheriges Verfahren: Jeder Zug wird in Richtung der diskontierten finalen Belohnung verschoben
+ * (Monte Carlo, ohne Bootstrapping): Q += Lernrate * (Belohnung * Diskont^Abstand - Q).
+ */
+public class MonteCarloRule implements UpdateRule {
+
+    @Override
+    public void update(QTable qTable, int[] stateHistory, int[] moveHistory, int length, double finalReward,
+                       double learningRate, double discountFactor) {
+        double reward = finalReward;
+
+        // History rückwärts durchgehen
+        for (int i = length - 1; i >= 0; i--) {
+            qTable.update(stateHistory[i], moveHistory[i], reward, learningRate);
+
+            // Diskontiere die Belohnung
+            reward *= discountFactor;
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package ai;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lernt aus Spielen, die gleichzeitig in vielen Threads gespielt werden (z. B. im {@link server.GameServer}
+ * oder in der GUI). Beendete Spiele werden als {@link Trajectory} in eine begrenzte Warteschlange gestellt;
+ * ein einzelner Lern-Thread übernimmt sie gebündelt in die Q-Tabelle. Die Spiele selbst lesen die veröffentlichte
+ * {@link PolicySnapshot} (siehe {@link #getPolicy()}) oder warten mit {@link #awaitIdle()}, bis alle eingestellten
+ * Spiele gelernt sind, und nutzen danach die KI selbst (wie die GUI). Im zweiten Fall muss die Veröffentlichung
+ * abgeschaltet sein ({@link #setPublishing(boolean)}), da eine zeitgesteuerte Momentaufnahme die Q-Tabelle
+ * sonst auch nach {@link #awaitIdle()} noch liest.
+ * <p>
+ * Ist die Warteschlange voll, entscheidet die {@link OverflowPolicy}. Warteschlangenlänge, verworfene und
+ * zusammengefasste Spiele sowie die Dauer der Batches sind über die Getter und JMX
+ * ({@code tictactoe:type=OnlineLearner}) sichtbar.
+ */
+public class OnlineLearner implements OnlineLearnerMXBean, AutoCloseable {
+
+    public enum OverflowPolicy {
+        BLOCK, // der einstellende Thread wartet, bis Platz frei ist (Gegendruck)
+        DROP_NEWEST, // das neue Spiel wird verworfen
+        DROP_OLDEST, // das älteste wartende Spiel wird verworfen
+        COALESCE // gleiche Spiele werden gezählt statt einzeln eingestellt (bis zu "Kapazität" verschiedene)
+    }
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private final TicTacToeAI ai; // nach start() nur vom Lern-Thread oder nach awaitIdle() genutzt
+    private final PolicyHolder policy;
+    private final BlockingQueue<Trajectory> queue;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Map<Trajectory, Integer> coalesced = new HashMap<>(); // nur bei COALESCE, Zugriff über synchronized
+    private final Object idleLock = new Object();
+    private final Thread thread;
+    private QTablePersistence persistence; // optional, wird vom Lern-Thread bedient
+    private int maxBatchSize = 256;
+    private int publishIntervalGames = 100; // neue Momentaufnahme nach N gelernten Spielen ...
+    private long publishIntervalMillis = 1000; // ... oder spätestens nach dieser Zeit (falls es Neues gibt)
+    private boolean publishing = true; // false: keine Momentaufnahmen, die Q-Tabelle wird nur beim Lernen gelesen
+    private int sincePublish; // seit der letzten Momentaufnahme gelernte Spiele (nur Lern-Thread)
+    private long lastPublish; // Zeitpunkt der letzten Momentaufnahme (nur Lern-Thread)
+    private volatile boolean closed;
+    private ObjectName registeredName;
+
+    // Kennzahlen (geschrieben vom Lern-Thread bzw. über Atomics von den einstellenden Threads)
+    private final AtomicLong gamesSubmitted = new AtomicLong();
+    private final AtomicLong gamesDropped = new AtomicLong();
+    private final AtomicLong gamesCoalesced = new AtomicLong();
+    private volatile long gamesLearned;
+    private volatile int maxQueueSize;
+    private volatile long batchCount;
+    private volatile int lastBatchSize;
+    private volatile long lastBatchNanos;
+    private volatile long maxBatchNanos;
+    private volatile long totalBatchNanos;
+
+    // Warteschlange mit DEFAULT_CAPACITY Plätzen, bei voller Warteschlange wartet der einstellende Thread
+    public OnlineLearner(TicTacToeAI ai) {
+        this(ai, DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param ai             Die KI, deren Q-Tabelle gelernt wird.
+     * @param capacity       Maximale Anzahl wartender Spiele.
+     * @param overflowPolicy Verhalten bei voller Warteschlange.
+     */
+    public OnlineLearner(TicTacToeAI ai, int capacity, OverflowPolicy overflowPolicy) {
+        this.ai = ai;
+        this.capacity = Math.max(1, capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(this.capacity);
+        this.policy = new PolicyHolder(PolicySnapshot.of(ai.getQTable(), 1));
+        this.thread = new Thread(this::run, "online-learner");
+        this.thread.setDaemon(true);
+    }
+
+    // Speichert die Q-Tabelle gebündelt; wird beim Schließen des Learners ebenfalls geschlossen
+    public void setPersistence(QTablePersistence persistence) {
+        this.persistence = persistence;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * @param games  Neue Momentaufnahme nach so vielen gelernten Spielen.
+     * @param millis Spätestens nach dieser Zeit, falls seit der letzten Veröffentlichung gelernt wurde.
+     */
+    public void setPublishInterval(int games, long millis) {
+        this.publishIntervalGames = Math.max(1, games);
+        this.publishIntervalMillis = Math.max(1, millis);
+    }
+
+    /**
+     * Schaltet die Momentaufnahmen ab, wenn niemand {@link #getPolicy()} liest und andere Threads die KI nach
+     * {@link #awaitIdle()} selbst nutzen (z. B. zum Ziehen oder Trainieren). Vor {@link #start()} aufrufen.
+     *
+     * @param publishing false = {@link #getPolicy()} behält die Momentaufnahme vom Start.
+     */
+    public void setPublishing(boolean publishing) {
+        this.publishing = publishing;
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stellt ein beendetes Spiel zum Lernen ein (aus beliebigen Threads). Bei voller Warteschlange
+     * gilt die {@link OverflowPolicy}.
+     *
+     * @param trajectory Der Verlauf des Spiels.
+     * @return false, wenn das Spiel verworfen wurde (volle Warteschlange oder Learner bereits geschlossen).
+     */
+    public boolean submit(Trajectory trajectory) {
+        if (closed) {
+            return false;
+        }
+        gamesSubmitted.incrementAndGet();
+        if (queue.offer(trajectory)) {
+            return true;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    while (!closed) {
+                        if (queue.offer(trajectory, 100, TimeUnit.MILLISECONDS)) {
+                            return true;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(trajectory)) {
+                    if (queue.poll() != null) {
+                        gamesDropped.incrementAndGet();
+                    }
+                }
+                return true;
+            }
+            case COALESCE -> {
+                synchronized (coalesced) {
+                    Integer count = coalesced.get(trajectory);
+                    if (count != null || coalesced.size() < capacity) {
+                        coalesced.put(trajectory, count == null ? 1 : count + 1);
+                        if (count != null) {
+                            gamesCoalesced.incrementAndGet();
+                        }
+                        return true;
+                    }
+                }
+            }
+            case DROP_NEWEST -> {
+            }
+        }
+        gamesDropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Wartet, bis alle bisher eingestellten Spiele gelernt (oder verworfen) sind. Danach kann der aufrufende
+     * Thread die Q-Tabelle lesen, bis er selbst wieder Spiele einstellt.
+     *
+     * @throws InterruptedException Wenn der wartende Thread unterbrochen wird.
+     */
+    public void awaitIdle() throws InterruptedException {
+        synchronized (idleLock) {
+            while (getPendingGames() > 0 && thread.isAlive()) {
+                idleLock.wait(100);
+            }
+        }
+    }
+
+    /**
+     * Gibt die jeweils aktuelle Strategie zurück (ohne Sperren, von beliebig vielen Threads nutzbar).
+     */
+    public PolicyHolder getPolicy() {
+        return policy;
+    }
+
+    // Anzahl der eingestellten, aber noch nicht gelernten Spiele
+    public long getPendingGames() {
+        return gamesSubmitted.get() - gamesDropped.get() - gamesLearned;
+    }
+
+    private void run() {
+        List<Trajectory> batch = new ArrayList<>(maxBatchSize);
+        Map<Trajectory, Integer> merged = new HashMap<>();
+        lastPublish = System.nanoTime();
+
+        while (!closed || !queue.isEmpty() || hasCoalesced()) {
+            try {
+                Trajectory first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    maxQueueSize = Math.max(maxQueueSize, Math.min(capacity, queue.size() + 1));
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+            } catch (InterruptedException e) {
+                break; // nur durch close() nach Ablauf der Wartezeit
+            }
+            if (overflowPolicy == OverflowPolicy.COALESCE) {
+                synchronized (coalesced) {
+                    merged.putAll(coalesced);
+                    coalesced.clear();
+                }
+            }
+            if (!batch.isEmpty() || !merged.isEmpty()) {
+                learnBatch(batch, merged);
+            } else if (sincePublish > 0 && System.nanoTime() - lastPublish >= publishIntervalMillis * 1_000_000) {
+                publish(); // ohne neue Spiele: verspätete Momentaufnahme, nur wenn veröffentlicht wird
+            }
+        }
+
+        if (publishing) {
+            publish();
+        }
+        if (persistence != null) {
+            persistence.close();
+        }
+        synchronized (idleLock) {
+            idleLock.notifyAll();
+        }
+    }
+
+    // Lernt einen Batch, veröffentlicht ggf. eine Momentaufnahme und meldet erst danach die gelernten Spiele,
+    // damit awaitIdle() auch die Momentaufnahme abdeckt
+    private void learnBatch(List<Trajectory> batch, Map<Trajectory, Integer> merged) {
+        long start = System.nanoTime();
+        int games = batch.size();
+        for (Trajectory trajectory : batch) {
+            learn(trajectory);
+        }
+        // zusammengefasste Spiele werden so oft gelernt, wie sie gespielt wurden
+        for (Map.Entry<Trajectory, Integer> entry : merged.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                learn(entry.getKey());
+            }
+            games += entry.getValue();
+        }
+        batch.clear();
+        merged.clear();
+        long nanos = System.nanoTime() - start;
+
+        if (publishing) {
+            sincePublish += games;
+            long now = System.nanoTime();
+            if (sincePublish >= publishIntervalGames || now - lastPublish >= publishIntervalMillis * 1_000_000) {
+                publish();
+            }
+        }
+
+        lastBatchSize = games;
+        lastBatchNanos = nanos;
+        maxBatchNanos = Math.max(maxBatchNanos, nanos);
+        totalBatchNanos += nanos;
+        batchCount++;
+        gamesLearned += games;
+        synchronized (idleLock) {
+            idleLock.notifyAll();
+        }
+    }
+
+    private void learn(Trajectory trajectory) {
+        ai.propagateRewards(trajectory.reward(), trajectory.states(), trajectory.moves(), trajectory.length());
+        if (persistence != null) {
+            persistence.gameFinished();
+        }
+    }
+
+    private boolean hasCoalesced() {
+        synchronized (coalesced) {
+            return !coalesced.isEmpty();
+        }
+    }
+
+    private void publish() {
+        policy.publish(PolicySnapshot.of(ai.getQTable(), policy.get().getVersion() + 1));
+        sincePublish = 0;
+        lastPublish = System.nanoTime();
+    }
+
+    /**
+     * Meldet den Learner unter {@code tictactoe:type=OnlineLearner,name=<name>} beim Plattform-MBeanServer an.
+     *
+     * @param name Name des Learners (Teil des ObjectName).
+     */
+    public void registerMBean(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("tictactoe:type=OnlineLearner,name=" + ObjectName.quote(name));
+            try {
+                server.registerMBean(this, objectName);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(objectName);
+                server.registerMBean(this, objectName);
+            }
+            registeredName = objectName;
+        } catch (JMException e) {
+            System.err.println("Learner konnte nicht bei JMX angemeldet werden: " + e.getMessage());
+        }
+    }
+
+    public void unregisterMBean() {
+        if (registeredName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            // bereits abgemeldet
+        }
+        registeredName = null;
+    }
+
+    @Override
+    public String getOverflowPolicy() {
+        return overflowPolicy.name();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    // größte beobachtete Anzahl wartender Spiele
+    @Override
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    @Override
+    public long getGamesSubmitted() {
+        return gamesSubmitted.get();
+    }
+
+    @Override
+    public long getGamesLearned() {
+        return gamesLearned;
+    }
+
+    @Override
+    public long getGamesDropped() {
+        return gamesDropped.get();
+    }
+
+    // Spiele, die mit einem gleichen wartenden Spiel zusammengefasst wurden
+    @Override
+    public long getGamesCoalesced() {
+        return gamesCoalesced.get();
+    }
+
+    @Override
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    @Override
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    // Dauer des letzten Batches (Lernen und Speichern) in Millisekunden
+    @Override
+    public double getLastBatchMillis() {
+        return lastBatchNanos / 1e6;
+    }
+
+    @Override
+    public double getMeanBatchMillis() {
+        long count = batchCount;
+        return count == 0 ? 0 : totalBatchNanos / 1e6 / count;
+    }
+
+    @Override
+    public double getMaxBatchMillis() {
+        return maxBatchNanos / 1e6;
+    }
+
+    @Override
+    public long getPolicyVersion() {
+        return policy.get().getVersion();
+    }
+
+    /**
+     * Lernt alle noch wartenden Spiele, veröffentlicht die letzte Momentaufnahme, schließt die Persistenz
+     * und beendet den Lern-Thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            thread.join(30_000);
+            if (thread.isAlive()) {
+                thread.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unregisterMBean();
+    }
+}
@@ -0,0 +1,35 @@
+package ai;
+
+/**
+ * JMX-Schnittstelle des {@link OnlineLearner}s (z. B. in JConsole unter {@code tictactoe:type=OnlineLearner}).
+ */
+public interface OnlineLearnerMXBean {
+
+    String getOverflowPolicy();
+
+    int getQueueCapacity();
+
+    int getQueueSize();
+
+    int getMaxQueueSize();
+
+    long getGamesSubmitted();
+
+    long getGamesLearned();
+
+    long getGamesDropped();
+
+    long getGamesCoalesced();
+
+    long getBatchCount();
+
+    int getLastBatchSize();
+
+    double getLastBatchMillis();
+
+    double getMeanBatchMillis();
+
+    double getMaxBatchMillis();
+
+    long getPolicyVersion();
+}
@@ -0,0 +1,150 @@
+package ai;
+
+import model.Board;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Berechnet das {@link PerfectPlayOracle} durch Rückwärtsanalyse (Retrograde Analysis):
+ * Die Stellungen werden nach Anzahl der Steine absteigend bewertet, sodass beim Bewerten einer
+ * Stellung alle Folgestellungen bereits bekannt sind. Es wird nicht gesucht.
+ * <p>
+ * Aufruf: {@code java ai.OracleGenerator [datei] [--verify]}
+ */
+public class OracleGenerator {
+
+    /**
+     * Bewertet alle legalen Stellungen für beide Spieler am Zug.
+     *
+     * @return Das vollständige Orakel.
+     */
+    public static PerfectPlayOracle generate() {
+        byte[] values = new byte[Board.NUM_STATES * 2];
+        short[] optimalMoves = new short[Board.NUM_STATES * 2];
+        Arrays.fill(values, PerfectPlayOracle.UNKNOWN);
+
+        // Zustände nach Anzahl der Steine gruppieren
+        int[] pieces = new int[Board.NUM_STATES];
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            for (int i = 0; i < 9; i++) {
+                if (Board.cellAt(state, i) != 0) pieces[state]++;
+            }
+        }
+
+        for (int count = 9; count >= 0; count--) {
+            for (int state = 0; state < Board.NUM_STATES; state++) {
+                if (pieces[state] != count) continue;
+
+                for (int player = 1; player <= 2; player++) {
+                    if (!isLegal(state, player)) continue;
+
+                    int index = state * 2 + player - 1;
+                    int opponent = 3 - player;
+
+                    // Endstellungen: der Gegner hat mit dem letzten Zug gewonnen oder das Feld ist voll
+                    if (hasWon(state, opponent)) {
+                        values[index] = (byte) -MinimaxSolver.WIN_SCORE;
+                        continue;
+                    }
+                    if (count == 9) {
+                        values[index] = 0;
+                        continue;
+                    }
+
+                    int best = Integer.MIN_VALUE;
+                    int mask = 0;
+                    for (int i = 0; i < 9; i++) {
+                        if (Board.cellAt(state, i) != 0) continue;
+                        int child = state + player * Board.placeValue(i);
+                        int value = shrink(-values[child * 2 + opponent - 1]);
+                        if (value > best) {
+                            best = value;
+                            mask = 1 << i;
+                        } else if (value == best) {
+                            mask |= 1 << i;
+                        }
+                    }
+                    values[index] = (byte) best;
+                    optimalMoves[index] = (short) mask;
+                }
+            }
+        }
+        return new PerfectPlayOracle(values, optimalMoves);
+    }
+
+    // Legal: Anzahl der Steine passt zum Spieler am Zug (egal wer begonnen hat)
+    // und der Spieler am Zug hat noch keine Reihe vollständig.
+    private static boolean isLegal(int state, int player) {
+        int own = 0;
+        int other = 0;
+        for (int i = 0; i < 9; i++) {
+            int cell = Board.cellAt(state, i);
+            if (cell == player) own++;
+            else if (cell != 0) other++;
+        }
+        return (own == other || own + 1 == other) && !hasWon(state, player);
+    }
+
+    // Bewertung des Kindknotens eine Ebene höher (wie im MinimaxSolver)
+    private static int shrink(int value) {
+        return value > 0 ? value - 1 : value < 0 ? value + 1 : 0;
+    }
+
+    private static boolean hasWon(int state, int digit) {
+        for (int[] line : Board.LINES) {
+            if (Board.cellAt(state, line[0]) == digit
+                    && Board.cellAt(state, line[1]) == digit
+                    && Board.cellAt(state, line[2]) == digit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vergleicht das Orakel mit der Minimax-Suche ({@link MinimaxSolver}, wie in {@link PerfectTrainingAI}).
+     *
+     * @param oracle Das zu prüfende Orakel.
+     * @return Anzahl der Abweichungen (0 = Orakel ist korrekt).
+     */
+    public static int verify(PerfectPlayOracle oracle) {
+        MinimaxSolver solver = new MinimaxSolver();
+        int errors = 0;
+
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            for (char player : new char[]{'X', 'O'}) {
+                if (!oracle.contains(state, player) || oracle.getOptimalMoves(state, player) == 0) continue;
+
+                int value = solver.evaluate(state, player);
+                int move = solver.findBestMove(state, player);
+                if (value != oracle.getValue(state, player)
+                        || (oracle.getOptimalMoves(state, player) & (1 << move)) == 0) {
+                    System.err.println("Abweichung bei '" + Board.decode(state) + "', am Zug: " + player);
+                    errors++;
+                }
+            }
+        }
+        return errors;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String fileName = PerfectPlayOracle.DEFAULT_FILE;
+        boolean verify = false;
+        for (String arg : args) {
+            if (arg.equals("--verify")) verify = true;
+            else fileName = arg;
+        }
+
+        long start = System.nanoTime();
+        PerfectPlayOracle oracle = generate();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        oracle.save(fileName);
+        System.out.println("Orakel mit " + oracle.size() + " Einträgen in " + millis + " ms berechnet: " + fileName);
+
+        if (verify) {
+            int errors = verify(oracle);
+            System.out.println(errors == 0 ? "Verifikation erfolgreich." : "Verifikation fehlgeschlagen: " + errors + " Abweichungen");
+        }
+    }
+}
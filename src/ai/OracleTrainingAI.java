@@ -0,0 +1,46 @@
+package ai;
+
+import model.Board;
+
+import java.util.Random;
+
+/**
+ * Perfekte Trainings-KI, die ihre Züge in konstanter Zeit aus dem {@link PerfectPlayOracle} liest.
+ * Gibt es mehrere optimale Züge, wird zufällig einer davon gewählt.
+ * Stellungen, die nicht im Orakel stehen, werden mit einer {@link IllegalStateException} abgelehnt.
+ */
+public class OracleTrainingAI implements TrainingAI {
+
+    private final char aiPlayer;
+    private final PerfectPlayOracle oracle;
+    private final Random random;
+
+    public OracleTrainingAI(char aiPlayer) {
+        this(aiPlayer, PerfectPlayOracle.getDefault(), new Random());
+    }
+
+    public OracleTrainingAI(char aiPlayer, PerfectPlayOracle oracle, Random random) {
+        this.aiPlayer = aiPlayer;
+        this.oracle = oracle;
+        this.random = random;
+    }
+
+    @Override
+    public int getMove(String state) {
+        return getMove(Board.encode(state));
+    }
+
+    @Override
+    public int getMove(int state) {
+        int moves = oracle.getOptimalMoves(state, aiPlayer);
+        if (moves == 0) {
+            // Stellung nicht im Orakel (z. B. Spieler passt nicht zur Anzahl der Steine oder Spiel beendet):
+            // ein Ersatzzug würde den perfekten Gegner unbemerkt schwächen
+            throw new IllegalStateException("Stellung '" + Board.decode(state) + "' mit '" + aiPlayer
+                    + "' am Zug ist nicht im Orakel");
+        }
+
+        // zufälligen optimalen Zug auswählen
+        return Board.randomMove(moves, random);
+    }
+}
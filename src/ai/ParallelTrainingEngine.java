@@ -0,0 +1,189 @@
+package ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Trainiert die {@link TicTacToeAI} mit mehreren Threads gleichzeitig.
+ * Jeder Worker hat ein eigenes Spielfeld, eigene Historien und eigene Zufallsgeneratoren
+ * (abgeleitet aus einem Seed) und spielt über eine eigene {@link TrainingEngine}. Update-Regel und eine Kopie
+ * der Explorationsstrategie (siehe {@link ExplorationPolicy#copy()}) werden von der KI übernommen.
+ * <p>
+ * Zwei Strategien zum Zusammenführen der Q-Werte:
+ * <ul>
+ *     <li>{@link MergeStrategy#DELTA_MERGE}: Jeder Worker lernt auf einer lokalen Kopie der Q-Tabelle.
+ *     Nach jeder Runde werden die gemittelten Änderungen in fester Reihenfolge in die Haupttabelle übernommen.
+ *     Bei gleichem Seed ist das Ergebnis reproduzierbar.</li>
+ *     <li>{@link MergeStrategy#SHARED_TABLE}: Alle Worker schreiben direkt in die Haupttabelle
+ *     (über eine {@link StripedQTable}). Schneller, aber die Reihenfolge der Updates hängt vom Scheduling ab.</li>
+ * </ul>
+ */
+public class ParallelTrainingEngine {
+
+    public enum MergeStrategy {
+        DELTA_MERGE,
+        SHARED_TABLE
+    }
+
+    private final TicTacToeAI ai; // KI mit der Haupttabelle und den Hyperparametern
+    private final DenseQTable masterTable;
+    private final Function<Random, TrainingAI> trainerFactory; // erzeugt je Worker eine Trainings-KI
+    private final int workers;
+    private final MergeStrategy strategy;
+    private final long seed;
+    private int mergeInterval = 1000; // Spiele je Worker zwischen zwei Merges (DELTA_MERGE)
+    private TrainingListener listener;
+    private Function<Random, TrainingAI> trainerAsOFactory; // optional: Trainings-KI mit 'O', wenn die KI beginnt
+
+    /**
+     * @param ai             Die zu trainierende KI, muss eine {@link DenseQTable} verwenden.
+     * @param trainerFactory Erzeugt aus einem Zufallsgenerator die Trainings-KI eines Workers.
+     * @param workers        Anzahl der Threads.
+     * @param strategy       Strategie zum Zusammenführen der Q-Werte.
+     * @param seed           Startwert für alle Zufallsgeneratoren.
+     */
+    public ParallelTrainingEngine(TicTacToeAI ai, Function<Random, TrainingAI> trainerFactory,
+                                  int workers, MergeStrategy strategy, long seed) {
+        if (!(ai.getQTable() instanceof DenseQTable)) {
+            throw new IllegalArgumentException("Paralleles Training benötigt eine DenseQTable");
+        }
+        this.ai = ai;
+        this.masterTable = (DenseQTable) ai.getQTable();
+        this.trainerFactory = trainerFactory;
+        this.workers = Math.max(1, workers);
+        this.strategy = strategy;
+        this.seed = seed;
+    }
+
+    public void setMergeInterval(int mergeInterval) {
+        this.mergeInterval = Math.max(1, mergeInterval);
+    }
+
+    /**
+     * Lässt die KI in jedem Worker jedes zweite Spiel beginnen (siehe {@link TrainingEngine#setAlternateStart}).
+     *
+     * @param trainerAsOFactory Erzeugt die Trainings-KI mit 'O' eines Workers (null = der Trainer beginnt immer).
+     */
+    public void setAlternateStart(Function<Random, TrainingAI> trainerAsOFactory) {
+        this.trainerAsOFactory = trainerAsOFactory;
+    }
+
+    // wird nach jeder Runde (DELTA_MERGE) bzw. am Ende (SHARED_TABLE) benachrichtigt
+    public void setListener(TrainingListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Spielt die angegebene Anzahl an Trainingsspielen, verteilt auf alle Worker.
+     *
+     * @param numGames Anzahl der Spiele insgesamt.
+     * @return Ergebnisse: [Siege Trainer, Siege KI, Unentschieden].
+     */
+    public int[] train(int numGames) {
+        List<Worker> workerList = createWorkers();
+        int[] results = new int[3];
+        ForkJoinPool pool = new ForkJoinPool(workers);
+
+        try {
+            if (strategy == MergeStrategy.SHARED_TABLE) {
+                runRound(pool, workerList, numGames, results);
+            } else {
+                int gamesPlayed = 0;
+                while (gamesPlayed < numGames) {
+                    int roundGames = Math.min(numGames - gamesPlayed, mergeInterval * workers);
+                    runRound(pool, workerList, roundGames, results);
+                    gamesPlayed += roundGames;
+
+                    // Deltas in fester Reihenfolge übernehmen, danach alle Worker auf den neuen Stand setzen
+                    // (die Haupttabelle bleibt während einer Runde unverändert und ist damit der Ausgangsstand)
+                    List<DenseQTable> localTables = new ArrayList<>();
+                    for (Worker worker : workerList) {
+                        localTables.add(worker.localTable);
+                    }
+                    masterTable.mergeDeltas(localTables);
+                    for (Worker worker : workerList) {
+                        worker.localTable.copyFrom(masterTable);
+                    }
+
+                    if (listener != null && gamesPlayed < numGames) {
+                        listener.onProgress(gamesPlayed, numGames, results.clone());
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (listener != null) {
+            listener.onFinished(results.clone());
+        }
+        return results;
+    }
+
+    // Verteilt die Spiele einer Runde gleichmäßig auf die Worker und wartet auf alle
+    private void runRound(ForkJoinPool pool, List<Worker> workerList, int games, int[] results) {
+        List<Callable<int[]>> tasks = new ArrayList<>();
+        for (int i = 0; i < workerList.size(); i++) {
+            Worker worker = workerList.get(i);
+            int quota = games / workers + (i < games % workers ? 1 : 0);
+            tasks.add(() -> worker.engine.train(quota));
+        }
+
+        try {
+            for (Future<int[]> future : pool.invokeAll(tasks)) {
+                int[] workerResults = future.get();
+                for (int j = 0; j < 3; j++) {
+                    results[j] += workerResults[j];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Training wurde unterbrochen", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fehler in einem Trainings-Worker", e.getCause());
+        }
+    }
+
+    private List<Worker> createWorkers() {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        QTable sharedTable = strategy == MergeStrategy.SHARED_TABLE ? new StripedQTable(masterTable) : null;
+
+        List<Worker> workerList = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            Worker worker = new Worker();
+            QTable table;
+            if (sharedTable != null) {
+                table = sharedTable;
+            } else {
+                worker.localTable = new DenseQTable();
+                worker.localTable.copyFrom(masterTable);
+                table = worker.localTable;
+            }
+
+            TicTacToeAI workerAI = new TicTacToeAI(table, ai.getLearningRate(), ai.getDiscountFactor(),
+                    ai.getExplorationRate(), new Random(seeds.nextLong()));
+            workerAI.setUpdateRule(ai.getUpdateRule());
+            workerAI.setExplorationPolicy(ai.getExplorationPolicy().copy());
+            TrainingAI trainer = trainerFactory.apply(new Random(seeds.nextLong()));
+            worker.engine = new TrainingEngine(workerAI, trainer);
+            if (trainerAsOFactory != null) {
+                worker.engine.setAlternateStart(trainerAsOFactory.apply(new Random(seeds.nextLong())));
+            }
+            workerList.add(worker);
+        }
+        return workerList;
+    }
+
+    // Zustand eines Workers
+    private static class Worker {
+        private TrainingEngine engine;
+        private DenseQTable localTable; // nur bei DELTA_MERGE
+    }
+}
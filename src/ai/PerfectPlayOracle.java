@@ -0,0 +1,176 @@
+package ai;
+
+import model.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Tabelle mit der spieltheoretischen Bewertung und allen optimalen Zügen jeder legalen Stellung,
+ * jeweils für beide Spieler am Zug. Wird einmalig vom {@link OracleGenerator} berechnet und
+ * kann danach in konstanter Zeit abgefragt werden.
+ * <p>
+ * Dateiformat (Big Endian): Magic "TTTO" (4) | Version (2) | Anzahl Einträge (4) | CRC32 der Einträge (8),
+ * danach je Eintrag: Zustand (2) | Spieler am Zug als Ziffer (1) | Bewertung (1) | Bitmaske der optimalen Züge (2).
+ */
+public class PerfectPlayOracle {
+
+    public static final String DEFAULT_FILE = "oracle.bin";
+
+    private static final int MAGIC = 0x5454544F; // "TTTO"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 18;
+    private static final int ENTRY_SIZE = 6;
+    static final byte UNKNOWN = Byte.MIN_VALUE; // Stellung ist für diesen Spieler nicht legal
+
+    private static PerfectPlayOracle defaultOracle;
+
+    // Index: Zustand * 2 + (Ziffer des Spielers am Zug - 1)
+    private final byte[] values;
+    private final short[] optimalMoves;
+
+    PerfectPlayOracle(byte[] values, short[] optimalMoves) {
+        this.values = values;
+        this.optimalMoves = optimalMoves;
+    }
+
+    /**
+     * Gibt das Standard-Orakel zurück. Es wird aus {@link #DEFAULT_FILE} geladen
+     * oder, falls die Datei fehlt, einmalig im Speicher berechnet.
+     */
+    public static synchronized PerfectPlayOracle getDefault() {
+        if (defaultOracle == null) {
+            if (Files.exists(Path.of(DEFAULT_FILE))) {
+                try {
+                    defaultOracle = load(DEFAULT_FILE);
+                } catch (IOException e) {
+                    System.err.println("Fehler beim Laden des Orakels: " + e.getMessage());
+                }
+            }
+            if (defaultOracle == null) {
+                defaultOracle = OracleGenerator.generate();
+            }
+        }
+        return defaultOracle;
+    }
+
+    /**
+     * @param state  Der kodierte Zustand.
+     * @param player Das Symbol des Spielers am Zug.
+     * @return true, wenn die Stellung mit diesem Spieler am Zug legal ist.
+     */
+    public boolean contains(int state, char player) {
+        return values[index(state, player)] != UNKNOWN;
+    }
+
+    /**
+     * Gibt die Bewertung aus Sicht des Spielers am Zug zurück
+     * (Sieg = 10 - Halbzüge bis zum Sieg, 0 = Unentschieden, Niederlage negativ).
+     */
+    public int getValue(int state, char player) {
+        return values[index(state, player)];
+    }
+
+    /**
+     * Gibt alle optimalen Züge als Bitmaske zurück (Bit i gesetzt = Feld i ist optimal).
+     * Für Endstellungen oder illegale Stellungen ist die Maske 0.
+     */
+    public int getOptimalMoves(int state, char player) {
+        return optimalMoves[index(state, player)] & 0x1FF;
+    }
+
+    private static int index(int state, char player) {
+        return state * 2 + (Board.encodeSymbol(player) - 1);
+    }
+
+    // Anzahl der legalen Einträge
+    public int size() {
+        int count = 0;
+        for (byte value : values) {
+            if (value != UNKNOWN) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Speichert das Orakel (nur legale Einträge).
+     */
+    public void save(String fileName) throws IOException {
+        ByteBuffer entries = ByteBuffer.allocate(size() * ENTRY_SIZE);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != UNKNOWN) {
+                entries.putShort((short) (i / 2));
+                entries.put((byte) (i % 2 + 1));
+                entries.put(values[i]);
+                entries.putShort(optimalMoves[i]);
+            }
+        }
+        entries.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(entries.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putInt(entries.remaining() / ENTRY_SIZE);
+        header.putLong(crc.getValue());
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (entries.hasRemaining()) {
+                channel.write(entries);
+            }
+        }
+    }
+
+    /**
+     * Lädt ein Orakel aus einer Datei (über eine Memory-Map).
+     */
+    public static PerfectPlayOracle load(String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Keine gültige Orakel-Datei");
+            }
+            if (buffer.getShort(4) != VERSION) {
+                throw new IOException("Nicht unterstützte Version: " + buffer.getShort(4));
+            }
+            int count = buffer.getInt(6);
+            long checksum = buffer.getLong(10);
+
+            ByteBuffer entries = buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE);
+            if (entries.remaining() != count * ENTRY_SIZE) {
+                throw new IOException("Dateigröße passt nicht zur Anzahl der Einträge");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(entries.duplicate());
+            if (crc.getValue() != checksum) {
+                throw new IOException("Prüfsumme ungültig, Datei ist beschädigt");
+            }
+
+            byte[] values = new byte[Board.NUM_STATES * 2];
+            short[] optimalMoves = new short[Board.NUM_STATES * 2];
+            Arrays.fill(values, UNKNOWN);
+            for (int i = 0; i < count; i++) {
+                int state = entries.getShort() & 0xFFFF;
+                int side = entries.get();
+                int index = state * 2 + side - 1;
+                values[index] = entries.get();
+                optimalMoves[index] = entries.getShort();
+            }
+            return new PerfectPlayOracle(values, optimalMoves);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package ai;
+
+import model.Board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Prüft die gierige Strategie einer Q-Tabelle (wie {@link TicTacToeAI} ohne Exploration) vollständig:
+ * Alle Antworten des Gegners werden durchgespielt, einmal mit der KI als Anziehender und einmal als Nachziehender.
+ * Die KI spielt 'O', der Gegner 'X'. Die Q-Tabelle wird nur gelesen.
+ * <p>
+ * Da die gierige Strategie über den kanonischen Zustand (siehe {@link Transformations}) entscheidet, ist das
+ * Ergebnis einer Stellung für alle symmetrischen Stellungen gleich. Die Anzahl der Partien ab einer Stellung
+ * wird daher je kanonischem Zustand nur einmal berechnet; eine Prüfung dauert wenige Millisekunden und kann
+ * während des Trainings regelmäßig ausgeführt werden (siehe {@link ConvergenceCriteria#setUnbeatableCheck(int)}).
+ * <p>
+ * Fehler der Strategie werden mit dem {@link PerfectPlayOracle} bestimmt: ein Zug, der eine gewonnene Stellung
+ * verschenkt oder eine ausgeglichene Stellung verliert.
+ * <p>
+ * Aufruf: {@code java ai.PolicyEvaluator [qtable.csv]}
+ */
+public class PolicyEvaluator {
+
+    private static final char AI_SYMBOL = 'O';
+    private static final char OPPONENT_SYMBOL = 'X';
+
+    /**
+     * Eine Stellung, in der die gierige Strategie einen schlechteren Zug als den optimalen wählt.
+     *
+     * @param state        Der kanonische Zustand (KI am Zug).
+     * @param move         Der Zug der gierigen Strategie im kanonischen Zustand.
+     * @param value        Bewertung der Stellung laut Orakel (aus Sicht der KI).
+     * @param moveValue    Bewertung nach dem gewählten Zug (aus Sicht der KI).
+     * @param optimalMoves Bitmaske der optimalen Züge laut Orakel.
+     */
+    public record Mistake(int state, int move, int value, int moveValue, int optimalMoves) {
+
+        @Override
+        public String toString() {
+            StringBuilder optimal = new StringBuilder();
+            for (int moves = optimalMoves; moves != 0; moves &= moves - 1) {
+                optimal.append(optimal.isEmpty() ? "" : ", ").append(Integer.numberOfTrailingZeros(moves));
+            }
+            return "'" + Board.decode(state) + "' Zug " + move + " (" + value + " -> " + moveValue
+                    + ", optimal: " + optimal + ")";
+        }
+    }
+
+    /**
+     * Ergebnis für eine Zugreihenfolge.
+     *
+     * @param aiFirst     true, wenn die KI beginnt.
+     * @param losingLines Anzahl der Partien (Zugfolgen des Gegners), die die KI verliert.
+     * @param drawnLines  Anzahl der Partien, die unentschieden enden.
+     * @param wonLines    Anzahl der Partien, die die KI gewinnt.
+     * @param positions   Anzahl der geprüften kanonischen Stellungen mit der KI am Zug.
+     * @param mistakes    Erreichbare Stellungen mit einem Fehler der Strategie.
+     */
+    public record Result(boolean aiFirst, long losingLines, long drawnLines, long wonLines, int positions,
+                         List<Mistake> mistakes) {
+
+        public long totalLines() {
+            return losingLines + drawnLines + wonLines;
+        }
+
+        public boolean unbeatable() {
+            return losingLines == 0;
+        }
+    }
+
+    /**
+     * Ergebnis einer vollständigen Prüfung.
+     *
+     * @param aiFirst  Die KI beginnt.
+     * @param aiSecond Der Gegner beginnt.
+     * @param nanos    Dauer der Prüfung.
+     */
+    public record Report(Result aiFirst, Result aiSecond, long nanos) {
+
+        public boolean unbeatable() {
+            return aiFirst.unbeatable() && aiSecond.unbeatable();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("KI beginnt: %d von %d Partien verloren, %d Fehler%n"
+                            + "Gegner beginnt: %d von %d Partien verloren, %d Fehler%n"
+                            + "%s (%.1f ms)",
+                    aiFirst.losingLines(), aiFirst.totalLines(), aiFirst.mistakes().size(),
+                    aiSecond.losingLines(), aiSecond.totalLines(), aiSecond.mistakes().size(),
+                    unbeatable() ? "unschlagbar" : "schlagbar", nanos / 1e6);
+        }
+    }
+
+    private final PerfectPlayOracle oracle;
+
+    // Anzahl der Partien [verloren, unentschieden, gewonnen] je kanonischem Zustand (KI am Zug)
+    private final long[] losses = new long[Board.NUM_STATES];
+    private final long[] draws = new long[Board.NUM_STATES];
+    private final long[] wins = new long[Board.NUM_STATES];
+    private final BitSet visited = new BitSet(Board.NUM_STATES);
+    private final List<Mistake> mistakes = new ArrayList<>();
+    private QTable qTable;
+
+    public PolicyEvaluator() {
+        this(PerfectPlayOracle.getDefault());
+    }
+
+    public PolicyEvaluator(PerfectPlayOracle oracle) {
+        this.oracle = oracle;
+    }
+
+    /**
+     * Prüft die gierige Strategie der KI (unabhängig von ihrer eingestellten Exploration).
+     *
+     * @param ai Die KI.
+     * @return Ergebnisse für beide Zugreihenfolgen.
+     */
+    public Report evaluate(TicTacToeAI ai) {
+        return evaluate(ai.getQTable());
+    }
+
+    /**
+     * Prüft die gierige Strategie einer Q-Tabelle. Fehlende Zustände werden wie von der KI behandelt
+     * (alle Q-Werte 0, also das erste freie Feld).
+     *
+     * @param qTable Die Q-Tabelle (wird nicht verändert).
+     * @return Ergebnisse für beide Zugreihenfolgen.
+     */
+    public synchronized Report evaluate(QTable qTable) {
+        long start = System.nanoTime();
+        this.qTable = qTable;
+        try {
+            Result first = evaluateSide(true);
+            Result second = evaluateSide(false);
+            return new Report(first, second, System.nanoTime() - start);
+        } finally {
+            this.qTable = null;
+        }
+    }
+
+    private Result evaluateSide(boolean aiFirst) {
+        visited.clear();
+        mistakes.clear();
+        long[] counts = new long[3];
+        if (aiFirst) {
+            aiToMove(0);
+            counts[0] = losses[0];
+            counts[1] = draws[0];
+            counts[2] = wins[0];
+        } else {
+            opponentToMove(0, counts);
+        }
+        List<Mistake> found = new ArrayList<>(mistakes);
+        found.sort((a, b) -> Integer.compare(a.state(), b.state()));
+        return new Result(aiFirst, counts[0], counts[1], counts[2], visited.cardinality(), List.copyOf(found));
+    }
+
+    /**
+     * Spielt alle Partien ab einer Stellung mit der KI am Zug und speichert die Anzahl der
+     * Ergebnisse für den kanonischen Zustand.
+     *
+     * @param state Der Zustand (KI am Zug, Spiel nicht beendet).
+     * @return Der kanonische Zustand, unter dem die Ergebnisse gespeichert sind.
+     */
+    private int aiToMove(int state) {
+        int canonical = Transformations.getCanonicalState(state);
+        if (visited.get(canonical)) {
+            return canonical;
+        }
+        visited.set(canonical);
+
+        int move = ExplorationPolicy.greedyMove(qTable, canonical, Board.emptyMask(canonical));
+        int child = Board.withMove(canonical, move, AI_SYMBOL);
+        checkMove(canonical, move, child);
+
+        long[] counts = new long[3];
+        if (Board.hasLine(child, AI_SYMBOL)) {
+            counts[2] = 1;
+        } else if (Board.emptyMask(child) == 0) {
+            counts[1] = 1;
+        } else {
+            opponentToMove(child, counts);
+        }
+        losses[canonical] = counts[0];
+        draws[canonical] = counts[1];
+        wins[canonical] = counts[2];
+        return canonical;
+    }
+
+    // Zählt alle Antworten des Gegners (Spiel nicht beendet) zu counts [verloren, unentschieden, gewonnen] hinzu
+    private void opponentToMove(int state, long[] counts) {
+        for (int moves = Board.emptyMask(state); moves != 0; moves &= moves - 1) {
+            int child = Board.withMove(state, Integer.numberOfTrailingZeros(moves), OPPONENT_SYMBOL);
+            if (Board.hasLine(child, OPPONENT_SYMBOL)) {
+                counts[0]++;
+            } else if (Board.emptyMask(child) == 0) {
+                counts[1]++;
+            } else {
+                int canonical = aiToMove(child);
+                counts[0] += losses[canonical];
+                counts[1] += draws[canonical];
+                counts[2] += wins[canonical];
+            }
+        }
+    }
+
+    // Vergleicht den Zug mit dem Orakel: Fehler, wenn sich das Ergebnis (Sieg/Unentschieden/Niederlage) verschlechtert
+    private void checkMove(int state, int move, int child) {
+        int value = oracle.getValue(state, AI_SYMBOL);
+        int moveValue = -oracle.getValue(child, OPPONENT_SYMBOL);
+        if (Integer.signum(moveValue) < Integer.signum(value)) {
+            mistakes.add(new Mistake(state, move, value, moveValue, oracle.getOptimalMoves(state, AI_SYMBOL)));
+        }
+    }
+
+    public static void main(String[] args) {
+        String fileName = args.length > 0 ? args[0] : "qtable.csv";
+        TicTacToeAI ai = new TicTacToeAI(0.0, 0.0, 0.0);
+        ai.loadQTable(fileName);
+
+        PolicyEvaluator evaluator = new PolicyEvaluator();
+        Report report = evaluator.evaluate(ai);
+        System.out.println(fileName + " (" + ai.getQTable().size() + " Zustände)");
+        System.out.println(report);
+        for (Result result : Arrays.asList(report.aiFirst(), report.aiSecond())) {
+            for (Mistake mistake : result.mistakes()) {
+                System.out.println((result.aiFirst() ? "KI beginnt: " : "Gegner beginnt: ") + mistake);
+            }
+        }
+    }
+}
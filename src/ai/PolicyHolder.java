@@ -0,0 +1,58 @@
+package ai;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hält die aktuelle {@link PolicySnapshot} und tauscht sie atomar aus, wenn das Training eine neuere
+ * veröffentlicht (siehe {@link TrainingEngine#setSnapshotPublishing(PolicyHolder, int)}).
+ * Jede Abfrage nutzt genau eine Momentaufnahme; laufende Abfragen sehen also nie einen halb neuen Stand.
+ */
+public class PolicyHolder implements TrainingAI, AnytimeAI {
+
+    private final AtomicReference<PolicySnapshot> current;
+
+    public PolicyHolder(PolicySnapshot initial) {
+        this.current = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Veröffentlicht eine neue Momentaufnahme. Ältere Versionen ersetzen keine neueren
+     * (z. B. wenn mehrere Trainings-Threads veröffentlichen).
+     *
+     * @param snapshot Die neue Momentaufnahme.
+     * @return true, wenn sie übernommen wurde.
+     */
+    public boolean publish(PolicySnapshot snapshot) {
+        PolicySnapshot previous;
+        do {
+            previous = current.get();
+            if (previous != null && previous.getVersion() > snapshot.getVersion()) {
+                return false;
+            }
+        } while (!current.compareAndSet(previous, snapshot));
+        return true;
+    }
+
+    public PolicySnapshot get() {
+        return current.get();
+    }
+
+    @Override
+    public int getMove(String state) {
+        return current.get().getMove(state);
+    }
+
+    @Override
+    public int getMove(int state) {
+        return current.get().getMove(state);
+    }
+
+    public int getMove(int state, char symbol) {
+        return current.get().getMove(state, symbol);
+    }
+
+    @Override
+    public int getMove(int state, long budgetMillis) {
+        return current.get().getMove(state);
+    }
+}
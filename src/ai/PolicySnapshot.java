@@ -0,0 +1,149 @@
+package ai;
+
+import model.Board;
+
+import java.util.Arrays;
+
+/**
+ * Unveränderliche Momentaufnahme der gierigen Strategie einer {@link TicTacToeAI}:
+ * für jeden kanonischen Zustand ist der beste Zug vorberechnet (ein Byte je Zustand, ca. 20 KB).
+ * <p>
+ * Im Gegensatz zur {@link TicTacToeAI} schreibt die Abfrage nichts (keine neuen Einträge, kein Zufall),
+ * eine Momentaufnahme kann daher ohne Sperren von beliebig vielen Threads gleichzeitig genutzt werden.
+ * Neuere Stände werden über einen {@link PolicyHolder} atomar ausgetauscht.
+ * <p>
+ * Die Strategie ist wie die Q-Tabelle aus Sicht von 'O' gelernt; {@link #getMove(int, char)} vertauscht
+ * für 'X' die Farben der Stellung. Die vertauschte Stellung hat gleich viele Steine beider Farben, sie ist also
+ * nur bekannt, wenn die KI auch als Beginnende trainiert wurde (siehe {@link #knowsFirstMoves()}).
+ */
+public final class PolicySnapshot implements TrainingAI, AnytimeAI {
+
+    private static final byte UNKNOWN = -1;
+
+    private final byte[] bestMoves; // bester Zug je kanonischem Zustand, UNKNOWN = Zustand nicht gelernt
+    private final int size; // Anzahl der gelernten Zustände
+    private final long version;
+
+    private PolicySnapshot(byte[] bestMoves, int size, long version) {
+        this.bestMoves = bestMoves;
+        this.size = size;
+        this.version = version;
+    }
+
+    /**
+     * Erstellt eine Momentaufnahme der KI (Version 0).
+     *
+     * @param ai Die KI. Sie darf währenddessen nicht trainiert werden.
+     * @return Die Momentaufnahme.
+     */
+    public static PolicySnapshot of(TicTacToeAI ai) {
+        return of(ai.getQTable(), 0);
+    }
+
+    /**
+     * Erstellt eine Momentaufnahme einer Q-Tabelle.
+     *
+     * @param qTable  Die Q-Tabelle. Sie darf währenddessen nicht verändert werden.
+     * @param version Versionsnummer (z. B. Anzahl der Trainingsspiele).
+     * @return Die Momentaufnahme.
+     */
+    public static PolicySnapshot of(QTable qTable, long version) {
+        byte[] bestMoves = new byte[Board.NUM_STATES];
+        Arrays.fill(bestMoves, UNKNOWN);
+        int[] size = new int[1];
+        qTable.forEach((state, values) -> {
+            bestMoves[state] = (byte) ExplorationPolicy.greedyMove(qTable, state, Board.emptyMask(state));
+            size[0]++;
+        });
+        return new PolicySnapshot(bestMoves, size[0], version);
+    }
+
+    /**
+     * Gibt den besten Zug im kanonischen Zustand zurück. Unbekannte Zustände werden wie von der
+     * {@link TicTacToeAI} behandelt (alle Q-Werte 0, also das erste freie Feld).
+     *
+     * @param canonicalState Der kanonische, kodierte Zustand.
+     * @return Der Zug (0-8) im kanonischen Zustand.
+     */
+    public int getCanonicalMove(int canonicalState) {
+        int move = bestMoves[canonicalState];
+        return move != UNKNOWN ? move : Integer.numberOfTrailingZeros(Board.emptyMask(canonicalState));
+    }
+
+    @Override
+    public int getMove(String state) {
+        return getMove(Board.encode(state));
+    }
+
+    /**
+     * Gibt den besten Zug für 'O' zurück.
+     *
+     * @param state Der kodierte Zustand.
+     * @return Die Position (0-8) für den nächsten Zug.
+     */
+    @Override
+    public int getMove(int state) {
+        return Transformations.toOriginalMove(state, getCanonicalMove(Transformations.getCanonicalState(state)));
+    }
+
+    /**
+     * Gibt den besten Zug für den angegebenen Spieler zurück.
+     *
+     * @param state  Der kodierte Zustand.
+     * @param symbol Der Spieler am Zug ('X' oder 'O').
+     * @return Die Position (0-8) für den nächsten Zug.
+     */
+    public int getMove(int state, char symbol) {
+        return getMove(symbol == 'X' ? Board.swapColors(state) : state);
+    }
+
+    /**
+     * Die Abfrage ist ein Tabellenzugriff, das Zeitbudget wird daher nie erreicht.
+     */
+    @Override
+    public int getMove(int state, long budgetMillis) {
+        return getMove(state);
+    }
+
+    /**
+     * Gibt eine Sicht zurück, die immer mit dem angegebenen Symbol spielt (z. B. für ein Turnier).
+     *
+     * @param symbol 'X' oder 'O'.
+     * @return Der Spieler.
+     */
+    public TrainingAI playing(char symbol) {
+        if (symbol != 'X') {
+            return this;
+        }
+        return new TrainingAI() {
+            @Override
+            public int getMove(String state) {
+                return getMove(Board.encode(state));
+            }
+
+            @Override
+            public int getMove(int state) {
+                return PolicySnapshot.this.getMove(state, 'X');
+            }
+        };
+    }
+
+    /**
+     * Prüft, ob die Strategie auch als Beginnende trainiert wurde (z. B. mit
+     * {@link TrainingEngine#setAlternateStart(TrainingAI)}). Nur dann kann sie sinnvoll mit 'X' spielen.
+     *
+     * @return true, wenn der Zug auf dem leeren Spielfeld gelernt ist.
+     */
+    public boolean knowsFirstMoves() {
+        return bestMoves[0] != UNKNOWN;
+    }
+
+    // Anzahl der gelernten Zustände
+    public int size() {
+        return size;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,57 @@
+package ai;
+
+import model.Board;
+
+/**
+ * Watkins-Q(λ) mit Eligibility Traces. Die Schritte eines Spiels werden am Spielende der Reihe nach
+ * ausgewertet (die Belohnung ist erst dann bekannt): Der TD-Fehler jedes Schritts wird über die Traces
+ * an alle vorherigen Züge weitergegeben, abgeschwächt mit Diskont * λ pro Schritt.
+ * War ein Folgezug nicht gierig (Exploration), werden die Traces abgeschnitten.
+ * λ = 0 entspricht Q-Learning (vorwärts), λ = 1 ohne Exploration einem Monte-Carlo-Update.
+ */
+public class QLambdaRule implements UpdateRule {
+
+    private final double lambda;
+
+    public QLambdaRule(double lambda) {
+        this.lambda = lambda;
+    }
+
+    @Override
+    public void update(QTable qTable, int[] stateHistory, int[] moveHistory, int length, double finalReward,
+                       double learningRate, double discountFactor) {
+        double[] traces = new double[length]; // lokal, damit die Regel von mehreren Threads genutzt werden kann
+        for (int t = 0; t < length; t++) {
+            int state = stateHistory[t];
+            int move = moveHistory[t];
+            qTable.ensure(state);
+
+            double target;
+            boolean greedyNext = true;
+            if (t == length - 1) {
+                target = finalReward;
+            } else {
+                int nextState = stateHistory[t + 1];
+                target = discountFactor * UpdateRule.maxQ(qTable, nextState);
+                greedyNext = qTable.contains(nextState) && qTable.get(nextState, moveHistory[t + 1])
+                        >= qTable.get(nextState, ExplorationPolicy.greedyMove(qTable, nextState,
+                        Board.emptyMask(nextState)));
+            }
+            double delta = target - qTable.get(state, move);
+
+            // Trace des aktuellen Zugs setzen (Zustände wiederholen sich innerhalb eines Spiels nicht)
+            traces[t] = 1.0;
+            for (int j = 0; j <= t; j++) {
+                if (traces[j] != 0.0) {
+                    // atomar, damit parallele Worker auf einer gemeinsamen Tabelle keine Updates verlieren
+                    qTable.add(stateHistory[j], moveHistory[j], learningRate * delta * traces[j]);
+                }
+                traces[j] = greedyNext ? traces[j] * discountFactor * lambda : 0.0;
+            }
+        }
+    }
+
+    public double getLambda() {
+        return lambda;
+    }
+}
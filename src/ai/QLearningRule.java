@@ -0,0 +1,20 @@
+package ai;
+
+/**
+ * Q-Learning mit Bootstrapping: Ziel = Diskont * max Q(Folgezustand), beim letzten Zug die finale Belohnung.
+ * Die Updates laufen rückwärts, dadurch fließt die Belohnung schon im selben Spiel bis zum ersten Zug
+ * (der Folgezustand ist beim Update bereits aktualisiert).
+ */
+public class QLearningRule implements UpdateRule {
+
+    @Override
+    public void update(QTable qTable, int[] stateHistory, int[] moveHistory, int length, double finalReward,
+                       double learningRate, double discountFactor) {
+        for (int i = length - 1; i >= 0; i--) {
+            double target = i == length - 1
+                    ? finalReward
+                    : discountFactor * UpdateRule.maxQ(qTable, stateHistory[i + 1]);
+            qTable.update(stateHistory[i], moveHistory[i], target, learningRate);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ai;
+
+import model.Board;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Q-Tabelle: speichert für jeden (kanonischen) Zustand die Q-Werte der 9 möglichen Züge.
+ * Zustände werden als Basis-3-Zahl übergeben (siehe {@link Board#getEncodedState()}).
+ * Jede Implementierung merkt sich, ob sie seit dem letzten Laden/Speichern verändert wurde.
+ */
+public interface QTable {
+
+    int NUM_MOVES = 9;
+
+    /**
+     * Empfängt die Einträge der Q-Tabelle bei {@link #forEach(EntryVisitor)}.
+     * Das übergebene Array ist nur während des Aufrufs gültig.
+     */
+    interface EntryVisitor {
+        void visit(int state, double[] values);
+    }
+
+    boolean contains(int state);
+
+    /**
+     * Legt einen Eintrag mit Q-Werten 0 an, falls der Zustand noch nicht existiert.
+     *
+     * @param state Der kodierte Zustand.
+     * @return true, wenn der Eintrag neu angelegt wurde.
+     */
+    boolean ensure(int state);
+
+    /**
+     * Gibt einen Q-Wert zurück (0, wenn der Zustand nicht existiert).
+     */
+    double get(int state, int move);
+
+    /**
+     * Setzt einen Q-Wert und legt den Zustand bei Bedarf an.
+     */
+    void set(int state, int move, double value);
+
+    /**
+     * Addiert einen Betrag zu einem Q-Wert und legt den Zustand bei Bedarf an.
+     * Implementierungen für den gemeinsamen Zugriff mehrerer Threads führen dies atomar aus.
+     */
+    void add(int state, int move, double delta);
+
+    /**
+     * Verschiebt einen Q-Wert in Richtung des Zielwerts: Q += Lernrate * (Ziel - Q).
+     * Implementierungen für den gemeinsamen Zugriff mehrerer Threads führen dies atomar aus.
+     */
+    default void update(int state, int move, double target, double learningRate) {
+        double value = get(state, move);
+        set(state, move, value + learningRate * (target - value));
+    }
+
+    int size();
+
+    void clear();
+
+    void forEach(EntryVisitor visitor);
+
+    boolean isDirty();
+
+    void markClean();
+
+    /**
+     * Wandelt die Tabelle in die Map-Form der Dateiformate um (Schlüssel = Zustand als String).
+     */
+    default Map<String, double[]> toMap() {
+        Map<String, double[]> map = new HashMap<>();
+        forEach((state, values) -> map.put(Board.decode(state), values.clone()));
+        return map;
+    }
+
+    /**
+     * Übernimmt alle Einträge aus der Map-Form der Dateiformate.
+     */
+    default void putAll(Map<String, double[]> map) {
+        for (Map.Entry<String, double[]> entry : map.entrySet()) {
+            int state = Board.encode(entry.getKey());
+            double[] values = entry.getValue();
+            ensure(state);
+            for (int move = 0; move < Math.min(NUM_MOVES, values.length); move++) {
+                set(state, move, values[move]);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ai;
+
+/**
+ * Steuert, wann die Q-Tabelle einer {@link TicTacToeAI} in eine Datei geschrieben wird.
+ * Statt nach jedem Spiel zu speichern, wird gebündelt gespeichert:
+ * alle N Spiele, nach einem Zeitintervall, beim Beenden oder explizit über {@link #flush()}.
+ * Es wird nur geschrieben, wenn sich die Q-Tabelle seit dem letzten Speichern verändert hat.
+ * <p>
+ * Gespeichert wird immer im Thread des Aufrufers, denn die Q-Tabelle hat keine Sperre und darf nur gelesen werden,
+ * während niemand in sie schreibt. Das Zeitintervall wird daher nur bei {@link #gameFinished()} geprüft:
+ * ein pausiertes Training oder eine ruhende GUI speichert erst beim nächsten Spielende, bei {@link #flush()}
+ * oder beim Beenden.
+ */
+public class QTablePersistence implements AutoCloseable {
+
+    private final TicTacToeAI ai;
+    private final String fileName;
+    private int flushEveryGames; // 0 = deaktiviert
+    private long flushIntervalMillis; // 0 = deaktiviert
+    private int gamesSinceFlush;
+    private long lastFlushMillis;
+    private Thread shutdownHook;
+
+    /**
+     * @param ai       Die KI, deren Q-Tabelle gespeichert wird.
+     * @param fileName Zieldatei der Q-Tabelle.
+     */
+    public QTablePersistence(TicTacToeAI ai, String fileName) {
+        this.ai = ai;
+        this.fileName = fileName;
+        this.lastFlushMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Speichert nach jeweils {@code games} beendeten Spielen (0 = deaktiviert).
+     */
+    public synchronized void setFlushEveryGames(int games) {
+        this.flushEveryGames = Math.max(0, games);
+    }
+
+    /**
+     * Speichert beim ersten Spielende, das mindestens {@code millis} Millisekunden nach dem letzten Speichern
+     * liegt (0 = deaktiviert). Ohne beendete Spiele wird nicht zeitgesteuert gespeichert.
+     */
+    public synchronized void setFlushIntervalMillis(long millis) {
+        this.flushIntervalMillis = Math.max(0, millis);
+    }
+
+    /**
+     * Registriert einen Shutdown-Hook, der beim Beenden der JVM ungespeicherte Änderungen schreibt.
+     * Der Hook läuft in einem eigenen Thread: {@code stopWriters} muss zuerst alle Threads beenden, die in die
+     * Q-Tabelle schreiben (z. B. über {@link OnlineLearner#close()}), erst danach wird gespeichert.
+     *
+     * @param stopWriters Hält alle schreibenden Threads an und wartet auf sie.
+     */
+    public synchronized void registerShutdownHook(Runnable stopWriters) {
+        if (shutdownHook == null) {
+            shutdownHook = new Thread(() -> {
+                stopWriters.run();
+                flush();
+            }, "qtable-flush");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+    }
+
+    /**
+     * Muss nach jedem beendeten Spiel aufgerufen werden.
+     * Speichert, sobald eine der konfigurierten Bedingungen erfüllt ist.
+     */
+    public synchronized void gameFinished() {
+        gamesSinceFlush++;
+
+        boolean byCount = flushEveryGames > 0 && gamesSinceFlush >= flushEveryGames;
+        boolean byTime = flushIntervalMillis > 0
+                && System.currentTimeMillis() - lastFlushMillis >= flushIntervalMillis;
+
+        if (byCount || byTime) {
+            flush();
+        }
+    }
+
+    /**
+     * Speichert die Q-Tabelle sofort, falls sie verändert wurde.
+     */
+    public synchronized void flush() {
+        if (ai.isDirty()) {
+            ai.saveQTable(fileName);
+        }
+        gamesSinceFlush = 0;
+        lastFlushMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Speichert ausstehende Änderungen und entfernt den Shutdown-Hook.
+     */
+    @Override
+    public synchronized void close() {
+        flush();
+        if (shutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM wird bereits beendet, der Hook läuft ohnehin
+            }
+            shutdownHook = null;
+        }
+    }
+}
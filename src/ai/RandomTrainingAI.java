@@ -1,26 +1,39 @@
 package ai;
 
+import model.Board;
+import model.GridBoard;
+
 import java.util.Random;
 
-public class RandomTrainingAI implements TrainingAI{
+public class RandomTrainingAI implements TrainingAI, GridTrainingAI {
 
     private Random random;
 
     // Konstruktor
     public RandomTrainingAI() {
-        random = new Random();
+        this(new Random());
+    }
+
+    // Konstruktor mit eigenem Zufallsgenerator (z. B. mit festem Seed)
+    public RandomTrainingAI(Random random) {
+        this.random = random;
     }
 
     // Trainings-AI liefert zufälligen Zug
     @Override
     public int getMove(String state) {
+        return getMove(Board.encode(state));
+    }
 
-        int move;
-
-        do{
-            move = random.nextInt(9);
-        } while(state.charAt(move) != ' ');     // ist der Zug gültig?
+    // Trainings-AI liefert zufälligen Zug (kodierter Zustand), direkt aus den freien Feldern gewählt
+    @Override
+    public int getMove(int state) {
+        return Board.randomMove(Board.emptyMask(state), random);
+    }
 
-        return move;
+    // Trainings-AI liefert zufälligen Zug auf Spielfeldern beliebiger Größe
+    @Override
+    public int getMove(GridBoard board) {
+        return GridBoard.randomMove(board.getEmptyMask(), random);
     }
 }
@@ -0,0 +1,19 @@
+package ai;
+
+/**
+ * SARSA (on-policy): Ziel = Diskont * Q(Folgezustand, tatsächlich gespielter Folgezug),
+ * beim letzten Zug die finale Belohnung. Explorationszüge fließen damit in die Bewertung ein.
+ */
+public class SarsaRule implements UpdateRule {
+
+    @Override
+    public void update(QTable qTable, int[] stateHistory, int[] moveHistory, int length, double finalReward,
+                       double learningRate, double discountFactor) {
+        for (int i = length - 1; i >= 0; i--) {
+            double target = i == length - 1
+                    ? finalReward
+                    : discountFactor * qTable.get(stateHistory[i + 1], moveHistory[i + 1]);
+            qTable.update(stateHistory[i], moveHistory[i], target, learningRate);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ai;
+
+import java.util.Random;
+
+/**
+ * Softmax-(Boltzmann-)Exploration: jeder gültige Zug wird mit einer Wahrscheinlichkeit
+ * proportional zu exp(Q / Temperatur) gewählt. Hohe Temperatur = fast zufällig, niedrige = fast greedy.
+ * <p>
+ * Softmax hat keine feste Explorationsrate. {@link #setExplorationRate} setzt daher die Temperatur
+ * (die Q-Werte liegen zwischen -1 und 1: 0 = greedy, ab etwa 1 nahezu zufällig), {@link #getExplorationRate}
+ * liefert den gemessenen Anteil der Züge, die nicht der beste Zug waren (gleitender Mittelwert über
+ * etwa die letzten 1000 Züge). So bleibt die Explorationsrate in den Trainingskennzahlen mit
+ * Epsilon-Greedy vergleichbar.
+ */
+public class SoftmaxPolicy implements ExplorationPolicy {
+
+    private static final double RATE_SMOOTHING = 0.001; // Gewicht eines Zuges im gleitenden Mittelwert
+
+    private double temperature;
+    private double measuredRate; // Anteil der nicht-greedy Züge
+
+    public SoftmaxPolicy(double temperature) {
+        this.temperature = Math.max(0.0, temperature);
+    }
+
+    @Override
+    public int selectMove(QTable qTable, int canonicalState, int legalMoves, Random random) {
+        if (temperature <= 0.0) {
+            measuredRate -= measuredRate * RATE_SMOOTHING;
+            return ExplorationPolicy.greedyMove(qTable, canonicalState, legalMoves);
+        }
+
+        // größten Q-Wert abziehen, damit exp() nicht überläuft (und dabei den greedy Zug merken)
+        double max = Double.NEGATIVE_INFINITY;
+        int greedyMove = -1;
+        for (int moves = legalMoves; moves != 0; moves &= moves - 1) {
+            int move = Integer.numberOfTrailingZeros(moves);
+            double value = qTable.get(canonicalState, move);
+            if (value > max) {
+                max = value;
+                greedyMove = move;
+            }
+        }
+
+        double sum = 0.0;
+        for (int moves = legalMoves; moves != 0; moves &= moves - 1) {
+            sum += Math.exp((qTable.get(canonicalState, Integer.numberOfTrailingZeros(moves)) - max) / temperature);
+        }
+
+        double threshold = random.nextDouble() * sum;
+        int move = -1;
+        for (int moves = legalMoves; moves != 0; moves &= moves - 1) {
+            move = Integer.numberOfTrailingZeros(moves);
+            threshold -= Math.exp((qTable.get(canonicalState, move) - max) / temperature);
+            if (threshold < 0.0) {
+                break;
+            }
+        }
+        measuredRate += ((move != greedyMove ? 1.0 : 0.0) - measuredRate) * RATE_SMOOTHING;
+        return move;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public void setTemperature(double temperature) {
+        this.temperature = Math.max(0.0, temperature);
+    }
+
+    /**
+     * Setzt die Temperatur auf den angegebenen Wert (z. B. aus dem Feld "Exploration rate" der GUI).
+     */
+    @Override
+    public void setExplorationRate(double explorationRate) {
+        setTemperature(explorationRate);
+    }
+
+    /**
+     * Gibt den gemessenen Anteil der Züge zurück, die nicht der beste Zug waren (nicht die Temperatur).
+     */
+    @Override
+    public double getExplorationRate() {
+        return measuredRate;
+    }
+
+    // die Kopie übernimmt die Temperatur, der gemessene Anteil beginnt neu
+    @Override
+    public SoftmaxPolicy copy() {
+        return new SoftmaxPolicy(temperature);
+    }
+}
@@ -0,0 +1,111 @@
+package ai;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-sichere Hülle um eine {@link DenseQTable} für das parallele Training.
+ * Schreibzugriffe werden über Lock-Striping geschützt: Jeder Zustand gehört zu einem von
+ * mehreren Locks, sodass Threads, die verschiedene Zustände aktualisieren, sich selten blockieren.
+ * Lesezugriffe sind nicht synchronisiert und können einen gerade aktualisierten Wert sehen.
+ */
+public class StripedQTable implements QTable {
+
+    private static final int STRIPES = 64;
+
+    private final DenseQTable table;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public StripedQTable(DenseQTable table) {
+        this.table = table;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // 64 aufeinanderfolgende Zustände teilen sich ein Wort der Belegt-Bitmap und damit ein Lock
+    private ReentrantLock lockFor(int state) {
+        return locks[(state >>> 6) % STRIPES];
+    }
+
+    @Override
+    public boolean contains(int state) {
+        return table.contains(state);
+    }
+
+    @Override
+    public boolean ensure(int state) {
+        if (table.contains(state)) {
+            return false;
+        }
+        ReentrantLock lock = lockFor(state);
+        lock.lock();
+        try {
+            return table.ensure(state);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public double get(int state, int move) {
+        return table.get(state, move);
+    }
+
+    @Override
+    public void set(int state, int move, double value) {
+        ReentrantLock lock = lockFor(state);
+        lock.lock();
+        try {
+            table.set(state, move, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void add(int state, int move, double delta) {
+        ReentrantLock lock = lockFor(state);
+        lock.lock();
+        try {
+            table.add(state, move, delta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void update(int state, int move, double target, double learningRate) {
+        ReentrantLock lock = lockFor(state);
+        lock.lock();
+        try {
+            table.update(state, move, target, learningRate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+    }
+
+    @Override
+    public void forEach(EntryVisitor visitor) {
+        table.forEach(visitor);
+    }
+
+    @Override
+    public boolean isDirty() {
+        return table.isDirty();
+    }
+
+    @Override
+    public void markClean() {
+        table.markClean();
+    }
+}
@@ -1,26 +1,41 @@
 package ai;
 
+import model.Board;
+import utility.QTableBinaryHandler;
 import utility.QTableHandler;
 import java.util.*;
 
 
 //  Implementiert eine einfache KI für Tic Tac Toe mit Reinforcement Learning.
-public class TicTacToeAI {
+public class TicTacToeAI implements AnytimeAI {
 
-    private HashMap<String, double[]> qTable; // Q-Tabelle zur Speicherung von Boardzuständen und Q-Werten
+    private final QTable qTable; // Q-Tabelle zur Speicherung von Boardzuständen und Q-Werten
     private Random random;
     private double learningRate; // Lernrate
     private double discountFactor; // Diskontierungsfaktor
-    private double explorationRate; // Wahrscheinlichkeit für Exploration
+    private ExplorationPolicy explorationPolicy; // Auswahl zwischen Exploration und bestem Zug
+    private UpdateRule updateRule = new MonteCarloRule(); // Aktualisierung der Q-Werte am Spielende
+    private long newStateCount; // Anzahl der Zustände, die bei der Zugauswahl neu angelegt wurden
 
 
-    // Konstruktor, der die KI initialisiert.
+    // Konstruktor, der die KI initialisiert (mit array-basierter Q-Tabelle).
     public TicTacToeAI(double learningRate, double discountFactor, double explorationRate) {
-        qTable = new HashMap<>();
-        random = new Random();
+        this(new DenseQTable(), learningRate, discountFactor, explorationRate);
+    }
+
+    // Konstruktor mit frei wählbarer Implementierung der Q-Tabelle (z. B. HashMapQTable).
+    public TicTacToeAI(QTable qTable, double learningRate, double discountFactor, double explorationRate) {
+        this(qTable, learningRate, discountFactor, explorationRate, new Random());
+    }
+
+    // Konstruktor mit eigenem Zufallsgenerator (z. B. mit festem Seed für reproduzierbares Training).
+    public TicTacToeAI(QTable qTable, double learningRate, double discountFactor, double explorationRate,
+                       Random random) {
+        this.qTable = qTable;
+        this.random = random;
         this.learningRate = learningRate;
         this.discountFactor = discountFactor;
-        this.explorationRate = explorationRate;
+        this.explorationPolicy = new EpsilonGreedyPolicy(explorationRate);
     }
 
     /**
@@ -30,41 +45,50 @@ public class TicTacToeAI {
      * @return Die Position (0-8) für den nächsten Zug.
      */
     public int getMove(String state) {
+        return getMove(Board.encode(state));
+    }
 
-        // Kanonischen Zustand berechnen
-        String canonicalState = Transformations.getCanonicalState(state);
-        int bestMove;
-
-        if (!qTable.containsKey(canonicalState)) {     // existiert noch kein Eintrag zum entsprechenden Board-State?
-            qTable.put(canonicalState, new double[9]); // Initialisierung aller Züge
-        }
-
-        if (random.nextDouble() < explorationRate) {    // random.nextDouble() -> Zufallswert zwischen 0 und 1
-            return random.nextInt(9); // Zufälliger Zug
-        } else {
-            double[] qValues = qTable.get(canonicalState);
-            List<Integer> validMoves = new Vector<>();
-
-            // alle gültigen Züge sammeln
-            for (int i = 0; i < qValues.length; i++) {
-                if (canonicalState.charAt(i) == ' ') {
-                    validMoves.add(i);
-                }
-            }
+    /**
+     * Berechnet den nächsten Zug basierend auf Q-Werten und Exploration.
+     * Variante für den kodierten Zustand (siehe {@link Board#getEncodedState()}), erzeugt keine Objekte
+     * (außer beim ersten Besuch eines Zustands).
+     *
+     * @param state Der aktuelle Zustand des Spielfelds als Basis-3-Zahl.
+     * @return Die Position (0-8) für den nächsten Zug.
+     */
+    public int getMove(int state) {
 
-            bestMove = validMoves.getFirst();
+        // Kanonischen Zustand berechnen
+        int canonicalState = Transformations.getCanonicalState(state);
+        int move = getCanonicalMove(canonicalState);
 
-            // gültigen Zug mit dem höchsten Q-Wert ermitteln
-            for (Integer validMove : validMoves) {
+        // Zug vom canonicalState zurück auf den ursprünglichen state übertragen
+        return Transformations.toOriginalMove(state, move);
+    }
 
-                if (qValues[validMove] > qValues[bestMove]) {
-                    bestMove = validMove;
-                }
-            }
+    /**
+     * Wählt einen Zug direkt im kanonischen Zustand (z. B. für die TrainingEngine, die den kanonischen
+     * Zustand ohnehin für die Historie braucht).
+     *
+     * @param canonicalState Der kanonische, kodierte Zustand.
+     * @return Der Zug (0-8) im kanonischen Zustand.
+     */
+    public int getCanonicalMove(int canonicalState) {
+        // existiert noch kein Eintrag, werden alle Züge mit 0 initialisiert
+        if (qTable.ensure(canonicalState)) {
+            newStateCount++;
         }
 
-        // Transformiere den canonicalState iterativ zurück zum ursprünglichen state
-        return Transformations.transformToOriginalState(canonicalState, state, bestMove);
+        // nur gültige Züge (freie Felder) kommen in Frage, auch bei der Exploration
+        return explorationPolicy.selectMove(qTable, canonicalState, Board.emptyMask(canonicalState), random);
+    }
+
+    /**
+     * Die Auswahl über die Q-Tabelle braucht nur einen Tabellenzugriff, das Zeitbudget wird daher nie erreicht.
+     */
+    @Override
+    public int getMove(int state, long budgetMillis) {
+        return getMove(state);
     }
 
     /**
@@ -75,12 +99,19 @@ public class TicTacToeAI {
      * @param reward Die Belohnung für den Zug.
      */
     public void updateQValue(String state, int move, double reward) {
-        if (!qTable.containsKey(state)) {
-            qTable.put(state, new double[9]);
-        }
-        double[] qValues = qTable.get(state);
-        // Q-Learning-Formel
-        qValues[move] += learningRate * (reward - qValues[move]);
+        updateQValue(Board.encode(state), move, reward);
+    }
+
+    /**
+     * Aktualisiert den Q-Wert nach einem Spielzug (kodierter Zustand).
+     *
+     * @param state  Der kanonische Zustand des Spielfelds vor dem Zug als Basis-3-Zahl.
+     * @param move   Der gewählte Zug.
+     * @param reward Die Belohnung für den Zug.
+     */
+    public void updateQValue(int state, int move, double reward) {
+        // Q-Learning-Formel: Q += Lernrate * (Belohnung - Q)
+        qTable.update(state, move, reward, learningRate);
     }
 
     /**
@@ -89,31 +120,107 @@ public class TicTacToeAI {
      * @param finalReward Die finale Belohnung.
      */
     public void propagateRewards(double finalReward, List<String> stateHistory, List<Integer> moveHistory) {
-        double reward = finalReward;
+        int length = stateHistory.size();
+        int[] states = new int[length];
+        int[] moves = new int[length];
+        for (int i = 0; i < length; i++) {
+            states[i] = Board.encode(stateHistory.get(i));
+            moves[i] = moveHistory.get(i);
+        }
+        propagateRewards(finalReward, states, moves, length);
+    }
 
-        // History rückwärts durchgehen
-        for (int i = stateHistory.size() - 1; i >= 0; i--) {
-            String state = stateHistory.get(i);
-            int move = moveHistory.get(i);
+    /**
+     * Aktualisiert die Q-Werte eines Spiels nach der eingestellten {@link UpdateRule}
+     * (Standard: {@link MonteCarloRule}, d. h. diskontierte finale Belohnung rückwärts).
+     *
+     * @param finalReward  Die finale Belohnung.
+     * @param stateHistory Die kanonischen Zustände vor den Zügen der KI.
+     * @param moveHistory  Die kanonischen Züge der KI.
+     * @param length       Anzahl der gültigen Einträge in den Arrays.
+     */
+    public void propagateRewards(double finalReward, int[] stateHistory, int[] moveHistory, int length) {
+        updateRule.update(qTable, stateHistory, moveHistory, length, finalReward, learningRate, discountFactor);
+        explorationPolicy.onGameFinished();
+    }
 
-            // Q-Werte aktualisieren
-            updateQValue(state, move, reward);
 
-            // Diskontiere die Belohnung
-            reward *= discountFactor;
+    // Lädt die Q-Tabelle, das Format wird anhand der Dateiendung gewählt (.qtb = binär, sonst CSV)
+    public void loadQTable(String fileName) {
+        Map<String, double[]> loaded;
+        if (QTableBinaryHandler.isBinaryFile(fileName)) {
+            loaded = QTableBinaryHandler.loadQTable(fileName);
+        } else {
+            loaded = QTableHandler.loadQTable(fileName);
         }
+        qTable.clear();
+        qTable.putAll(loaded);
+        qTable.markClean();
     }
 
+    // Speichert die Q-Tabelle, das Format wird anhand der Dateiendung gewählt (.qtb = binär, sonst CSV)
+    public void saveQTable(String fileName) {
+        boolean saved;
+        if (QTableBinaryHandler.isBinaryFile(fileName)) {
+            double[] hyperparameters = {learningRate, discountFactor, getExplorationRate()};
+            saved = QTableBinaryHandler.saveQTable(qTable.toMap(), hyperparameters, fileName, false);
+        } else {
+            saved = QTableHandler.saveQTable(qTable.toMap(), fileName);
+        }
+        if (saved) {
+            qTable.markClean();
+        }
+    }
 
-    public void loadQTable(String fileName) {
-        qTable = QTableHandler.loadQTable(fileName);
+    /**
+     * Gibt an, ob die Q-Tabelle seit dem letzten Laden oder Speichern verändert wurde.
+     *
+     * @return true, wenn ungespeicherte Änderungen vorhanden sind.
+     */
+    public boolean isDirty() {
+        return qTable.isDirty();
     }
 
-    public void saveQTable(String fileName) {
-        QTableHandler.saveQTable(qTable, fileName);
+    // Anzahl der Zustände, die seit dem Erzeugen der KI bei der Zugauswahl neu entdeckt wurden
+    public long getNewStateCount() {
+        return newStateCount;
+    }
+
+    public QTable getQTable() {
+        return qTable;
+    }
+
+    // Getter und Setter für die Parameter
+    public double getLearningRate() {
+        return learningRate;
+    }
+
+    public double getDiscountFactor() {
+        return discountFactor;
+    }
+
+    public double getExplorationRate() {
+        return explorationPolicy.getExplorationRate();
+    }
+
+    public ExplorationPolicy getExplorationPolicy() {
+        return explorationPolicy;
+    }
+
+    // Austausch der Explorationsstrategie (z. B. DecayingEpsilonPolicy oder SoftmaxPolicy)
+    public void setExplorationPolicy(ExplorationPolicy explorationPolicy) {
+        this.explorationPolicy = explorationPolicy;
+    }
+
+    public UpdateRule getUpdateRule() {
+        return updateRule;
+    }
+
+    // Austausch der Update-Regel (z. B. QLearningRule, SarsaRule oder QLambdaRule)
+    public void setUpdateRule(UpdateRule updateRule) {
+        this.updateRule = updateRule;
     }
 
-    // Setter für die Parameter
     public void setLearningRate(double learningRate) {
         this.learningRate = learningRate;
     }
@@ -123,6 +230,6 @@ public class TicTacToeAI {
     }
 
     public void setExplorationRate(double explorationRate) {
-        this.explorationRate = explorationRate;
+        explorationPolicy.setExplorationRate(explorationRate);
     }
 }
@@ -1,6 +1,19 @@
 package ai;
 
+import model.Board;
+
 public interface TrainingAI {
 
     int getMove(String state);
+
+    /**
+     * Variante für den kodierten Zustand (siehe {@link Board#getEncodedState()}).
+     * Implementierungen sollten diese Methode überschreiben, um keine Strings erzeugen zu müssen.
+     *
+     * @param state Der aktuelle Zustand des Spielfelds als Basis-3-Zahl.
+     * @return Die Position (0-8) für den nächsten Zug.
+     */
+    default int getMove(int state) {
+        return getMove(Board.decode(state));
+    }
 }
@@ -0,0 +1,497 @@
+package ai;
+
+import model.Board;
+
+import java.util.Arrays;
+
+/**
+ * Trainiert die {@link TicTacToeAI} ohne GUI gegen eine {@link TrainingAI}.
+ * Die Trainings-KI spielt 'X' und beginnt, die KI spielt 'O' (wie im GameController).
+ * Mit {@link #setAlternateStart(TrainingAI)} beginnt die KI jedes zweite Spiel selbst.
+ * Ein laufendes Training kann aus einem anderen Thread pausiert, fortgesetzt und gestoppt werden;
+ * das bis dahin Gelernte bleibt in der Q-Tabelle erhalten.
+ */
+public class TrainingEngine {
+
+    private static final char TRAINER_SYMBOL = 'X';
+    private static final char AI_SYMBOL = 'O';
+
+    private final TicTacToeAI ai; // zu trainierende KI
+    private final TrainingAI trainer; // Trainings-KI
+    private TrainingAI trainerAsO; // Trainings-KI für Spiele, die die KI beginnt (null = Trainer beginnt immer)
+    private boolean aiStarts; // beginnt die KI das nächste Spiel?
+    private final Board board; // eigenes Spielfeld, unabhängig von der GUI
+    private final int[] stateHistory = new int[5]; // kanonische Zustände eines Spiels (max. 5 Züge der KI)
+    private final int[] moveHistory = new int[5]; // kanonische Züge eines Spiels
+    private int historyLength;
+    private final int[] results = new int[3]; // [Siege Trainer, Siege KI, Unentschieden]
+    private TrainingListener listener;
+    private QTablePersistence persistence; // optional: speichert die Q-Tabelle gebündelt während des Trainings
+    private int progressInterval = 1000; // alle N Spiele wird der Listener benachrichtigt
+    private long statisticsIntervalMillis; // alle N ms werden Statistiken gemeldet (0 = aus)
+    private TrainingMetrics metrics; // optional: Kennzahlen zur Konvergenz (null = aus)
+    private final double[] qBefore = new double[5]; // Q-Werte der Historie vor dem Update (nur mit Metriken)
+    private boolean timed; // werden im aktuellen Spiel die Phasenzeiten gemessen?
+    private long canonicalNanos, selectionNanos, updateNanos, opponentNanos;
+    private double lastAbsDeltaQ;
+    private double lastMaxDeltaQ;
+
+    // Abbruchkriterien des laufenden Trainings (null = immer alle Spiele spielen)
+    private ConvergenceCriteria criteria;
+    private boolean measureDeltaQ; // Q-Änderungen auch ohne Metriken bestimmen
+    private int qDeltaStreak; // Spiele in Folge mit kleiner Q-Änderung
+    private int lossFreeStreak; // Spiele in Folge ohne Niederlage der KI
+    private int stablePolicyCount; // Prüfungen in Folge ohne Änderung der gierigen Strategie
+    private byte[] greedyPolicy; // bester Zug je kanonischem Zustand bei der letzten Prüfung (-1 = unbekannt)
+    private byte[] previousPolicy;
+    private boolean policyChecked; // gibt es bereits eine Prüfung zum Vergleich?
+    private PolicyEvaluator evaluator; // vollständige Prüfung der gierigen Strategie (bei Bedarf erzeugt)
+
+    // optional: veröffentlicht regelmäßig eine Momentaufnahme der Strategie (z. B. für einen Server)
+    private PolicyHolder snapshotHolder;
+    private int snapshotInterval;
+
+    // gleitendes Fenster der letzten Spielergebnisse (0 = Trainer, 1 = KI, 2 = Unentschieden)
+    private static final int WINDOW_SIZE = 1000;
+    private final byte[] recentOutcomes = new byte[WINDOW_SIZE];
+    private final int[] recentResults = new int[3];
+    private int recentCount;
+    private int recentIndex;
+
+    // Steuerung aus anderen Threads (z. B. der GUI)
+    private volatile boolean stopRequested;
+    private volatile boolean paused;
+    private final Object pauseLock = new Object();
+
+    public TrainingEngine(TicTacToeAI ai, TrainingAI trainer) {
+        this.ai = ai;
+        this.trainer = trainer;
+        this.board = new Board();
+    }
+
+    public void setListener(TrainingListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Lässt die KI jedes zweite Spiel beginnen, damit die Q-Tabelle beide Zugreihenfolgen lernt.
+     * In diesen Spielen spielt die KI 'X' und die angegebene Trainings-KI 'O'; gespeichert werden die
+     * Zustände mit vertauschten Farben, die Q-Tabelle bleibt also aus Sicht von 'O' am Zug
+     * (siehe {@link PolicySnapshot#getMove(int, char)}).
+     *
+     * @param trainerAsO Die Trainings-KI mit 'O' (null = der Trainer beginnt immer).
+     */
+    public void setAlternateStart(TrainingAI trainerAsO) {
+        this.trainerAsO = trainerAsO;
+        this.aiStarts = false;
+    }
+
+    public void setPersistence(QTablePersistence persistence) {
+        this.persistence = persistence;
+    }
+
+    public void setProgressInterval(int progressInterval) {
+        this.progressInterval = Math.max(1, progressInterval);
+    }
+
+    // Statistiken (TrainingListener.onStatistics) höchstens alle N Millisekunden melden, 0 = aus
+    public void setStatisticsIntervalMillis(long statisticsIntervalMillis) {
+        this.statisticsIntervalMillis = Math.max(0, statisticsIntervalMillis);
+    }
+
+    /**
+     * Aktiviert die Erfassung von Kennzahlen (Fenster-Statistiken, |ΔQ|, neue Zustände, Phasenzeiten).
+     * Ohne Metriken (null) läuft das Training ohne jeden Messaufwand.
+     *
+     * @param metrics Die Metriken oder null.
+     */
+    public void setMetrics(TrainingMetrics metrics) {
+        this.metrics = metrics;
+        if (metrics != null) {
+            metrics.setTableSizeSupplier(() -> ai.getQTable().size());
+        }
+    }
+
+    /**
+     * Veröffentlicht während des Trainings alle {@code intervalGames} Spiele und am Ende eine neue
+     * {@link PolicySnapshot}. Die Momentaufnahme wird im Trainings-Thread erstellt, Leser der
+     * {@link PolicyHolder} greifen also nie auf die sich ändernde Q-Tabelle zu.
+     *
+     * @param holder        Empfänger der Momentaufnahmen (null = aus).
+     * @param intervalGames Abstand in Spielen.
+     */
+    public void setSnapshotPublishing(PolicyHolder holder, int intervalGames) {
+        this.snapshotHolder = holder;
+        this.snapshotInterval = Math.max(1, intervalGames);
+    }
+
+    public TrainingMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Beendet das laufende Training nach dem aktuellen Spiel (auch aus einem anderen Thread).
+     * {@link #train(int)} liefert dann die Ergebnisse der bis dahin gespielten Spiele.
+     */
+    public void requestStop() {
+        stopRequested = true;
+        resume();
+    }
+
+    // Hält das Training nach dem aktuellen Spiel an, bis resume() oder requestStop() aufgerufen wird
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        synchronized (pauseLock) {
+            paused = false;
+            pauseLock.notifyAll();
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Spielt die angegebene Anzahl an Trainingsspielen.
+     *
+     * @param numGames Anzahl der Spiele.
+     * @return Ergebnisse: [Siege Trainer, Siege KI, Unentschieden].
+     */
+    public int[] train(int numGames) {
+        return train(numGames, null).results();
+    }
+
+    /**
+     * Trainiert, bis eines der Abbruchkriterien erfüllt ist, höchstens aber {@code maxGames} Spiele.
+     *
+     * @param maxGames Höchstzahl der Spiele.
+     * @param criteria Die Abbruchkriterien (null = alle Spiele spielen).
+     * @return Ergebnisse, Anzahl der gespielten Spiele und Grund für das Ende des Trainings.
+     */
+    public TrainingResult train(int maxGames, ConvergenceCriteria criteria) {
+        results[0] = 0;
+        results[1] = 0;
+        results[2] = 0;
+        recentCount = 0;
+        recentIndex = 0;
+        recentResults[0] = 0;
+        recentResults[1] = 0;
+        recentResults[2] = 0;
+        startConvergenceCheck(criteria);
+
+        long start = System.nanoTime();
+        long lastStatistics = start;
+        long pausedNanos = 0;
+        int gamesPlayed = 0;
+        TrainingResult.StopReason stopReason = TrainingResult.StopReason.MAX_GAMES;
+
+        try {
+            while (gamesPlayed < maxGames) {
+                if (paused) {
+                    long pauseStart = System.nanoTime();
+                    awaitResume();
+                    pausedNanos += System.nanoTime() - pauseStart;
+                }
+                if (stopRequested) {
+                    stopReason = TrainingResult.StopReason.STOPPED;
+                    break;
+                }
+
+                int outcome;
+                if (metrics == null) {
+                    outcome = playGame();
+                    recordOutcome(outcome);
+                } else {
+                    outcome = playMeasuredGame();
+                }
+                gamesPlayed++;
+
+                if (persistence != null) {
+                    persistence.gameFinished();
+                }
+
+                if (listener != null && gamesPlayed % progressInterval == 0 && gamesPlayed < maxGames) {
+                    listener.onProgress(gamesPlayed, maxGames, results.clone());
+                }
+
+                // Zeit nur alle 64 Spiele abfragen
+                if (listener != null && statisticsIntervalMillis > 0 && (gamesPlayed & 63) == 0) {
+                    long now = System.nanoTime();
+                    if (now - lastStatistics >= statisticsIntervalMillis * 1_000_000) {
+                        listener.onStatistics(createProgress(gamesPlayed, maxGames, now - start - pausedNanos));
+                        lastStatistics = now;
+                    }
+                }
+
+                if (snapshotHolder != null && gamesPlayed % snapshotInterval == 0) {
+                    publishSnapshot();
+                }
+
+                if (criteria != null) {
+                    TrainingResult.StopReason converged = checkConvergence(outcome, gamesPlayed);
+                    if (converged != null) {
+                        stopReason = converged;
+                        break;
+                    }
+                }
+            }
+        } finally {
+            stopRequested = false;
+            paused = false;
+            this.criteria = null;
+            measureDeltaQ = false;
+        }
+
+        if (metrics != null) {
+            metrics.flush(ai.getExplorationRate());
+        }
+        if (snapshotHolder != null) {
+            publishSnapshot();
+        }
+        if (listener != null) {
+            if (statisticsIntervalMillis > 0) {
+                listener.onStatistics(createProgress(gamesPlayed, maxGames, System.nanoTime() - start - pausedNanos));
+            }
+            listener.onFinished(results.clone());
+        }
+        return new TrainingResult(results.clone(), gamesPlayed, maxGames, stopReason);
+    }
+
+    // neue Version = letzte Version + 1, damit auch ein neues Training ältere Stände ersetzt
+    private void publishSnapshot() {
+        PolicySnapshot current = snapshotHolder.get();
+        long version = current != null ? current.getVersion() + 1 : 1;
+        snapshotHolder.publish(PolicySnapshot.of(ai.getQTable(), version));
+    }
+
+    private void startConvergenceCheck(ConvergenceCriteria criteria) {
+        this.criteria = criteria;
+        measureDeltaQ = criteria != null && criteria.getQDeltaWindow() > 0;
+        qDeltaStreak = 0;
+        lossFreeStreak = 0;
+        stablePolicyCount = 0;
+        if (criteria != null && criteria.getStablePolicyEvaluations() > 0 && greedyPolicy == null) {
+            greedyPolicy = new byte[Board.NUM_STATES];
+            previousPolicy = new byte[Board.NUM_STATES];
+        }
+        policyChecked = false;
+        if (criteria != null && criteria.getUnbeatableCheckInterval() > 0 && evaluator == null) {
+            evaluator = new PolicyEvaluator();
+        }
+    }
+
+    /**
+     * Prüft nach einem Spiel die Abbruchkriterien.
+     *
+     * @param outcome     Ergebnis des Spiels (0 = Sieg Trainer).
+     * @param gamesPlayed Anzahl der bisher gespielten Spiele.
+     * @return Der erfüllte Grund oder null, wenn weiter trainiert wird.
+     */
+    private TrainingResult.StopReason checkConvergence(int outcome, int gamesPlayed) {
+        if (criteria.getQDeltaWindow() > 0) {
+            qDeltaStreak = lastMaxDeltaQ < criteria.getQDeltaThreshold() ? qDeltaStreak + 1 : 0;
+            if (qDeltaStreak >= criteria.getQDeltaWindow()) {
+                return TrainingResult.StopReason.Q_DELTA;
+            }
+        }
+        if (criteria.getLossFreeGames() > 0) {
+            lossFreeStreak = outcome == 0 ? 0 : lossFreeStreak + 1;
+            if (lossFreeStreak >= criteria.getLossFreeGames()) {
+                return TrainingResult.StopReason.NO_LOSSES;
+            }
+        }
+        if (criteria.getStablePolicyEvaluations() > 0 && gamesPlayed % criteria.getPolicyCheckInterval() == 0) {
+            stablePolicyCount = updateGreedyPolicy() ? stablePolicyCount + 1 : 0;
+            if (stablePolicyCount >= criteria.getStablePolicyEvaluations()) {
+                return TrainingResult.StopReason.POLICY_STABLE;
+            }
+        }
+        // ohne abwechselnden Beginn wird die KI nur als Nachziehende trainiert, dann zählt nur diese Zugreihenfolge
+        if (criteria.getUnbeatableCheckInterval() > 0 && gamesPlayed % criteria.getUnbeatableCheckInterval() == 0
+                && isUnbeatable(evaluator.evaluate(ai.getQTable()))) {
+            return TrainingResult.StopReason.UNBEATABLE;
+        }
+        return null;
+    }
+
+    private boolean isUnbeatable(PolicyEvaluator.Report report) {
+        return trainerAsO != null ? report.unbeatable() : report.aiSecond().unbeatable();
+    }
+
+    /**
+     * Bestimmt die gierige Strategie (bester gültiger Zug je Zustand der Q-Tabelle) und vergleicht
+     * sie mit der letzten Prüfung. Neu entdeckte Zustände zählen als Änderung.
+     *
+     * @return true, wenn die Strategie unverändert ist.
+     */
+    private boolean updateGreedyPolicy() {
+        byte[] swap = previousPolicy;
+        previousPolicy = greedyPolicy;
+        greedyPolicy = swap;
+
+        byte[] policy = greedyPolicy;
+        QTable qTable = ai.getQTable();
+        Arrays.fill(policy, (byte) -1);
+        qTable.forEach((state, values) ->
+                policy[state] = (byte) ExplorationPolicy.greedyMove(qTable, state, Board.emptyMask(state)));
+        boolean unchanged = policyChecked && Arrays.equals(policy, previousPolicy);
+        policyChecked = true;
+        return unchanged;
+    }
+
+    // Wartet, bis das Training fortgesetzt oder gestoppt wird
+    private void awaitResume() {
+        synchronized (pauseLock) {
+            while (paused && !stopRequested) {
+                try {
+                    pauseLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stopRequested = true; // Unterbrechung wie ein Stopp behandeln
+                }
+            }
+        }
+    }
+
+    // Zählt das Ergebnis und aktualisiert das gleitende Fenster
+    private void recordOutcome(int outcome) {
+        results[outcome]++;
+        if (recentCount == WINDOW_SIZE) {
+            recentResults[recentOutcomes[recentIndex]]--;
+        } else {
+            recentCount++;
+        }
+        recentOutcomes[recentIndex] = (byte) outcome;
+        recentResults[outcome]++;
+        recentIndex = (recentIndex + 1) % WINDOW_SIZE;
+    }
+
+    private TrainingProgress createProgress(int gamesPlayed, int totalGames, long activeNanos) {
+        double gamesPerSecond = activeNanos > 0 ? gamesPlayed * 1e9 / activeNanos : 0.0;
+        double window = Math.max(1, recentCount);
+        return new TrainingProgress(gamesPlayed, totalGames, gamesPerSecond,
+                recentResults[0] / window, recentResults[1] / window, recentResults[2] / window, recentCount,
+                ai.getQTable().size(), results.clone());
+    }
+
+    // Spielt ein Spiel und meldet Ergebnis, |ΔQ|, neue Zustände und ggf. Phasenzeiten an die Metriken
+    private int playMeasuredGame() {
+        timed = metrics.isTimedGame();
+        canonicalNanos = 0;
+        selectionNanos = 0;
+        updateNanos = 0;
+        opponentNanos = 0;
+        long statesBefore = ai.getNewStateCount();
+
+        int outcome = playGame();
+        recordOutcome(outcome);
+
+        metrics.recordGame(outcome, lastAbsDeltaQ, ai.getNewStateCount() - statesBefore, ai.getExplorationRate());
+        if (timed) {
+            metrics.recordTimings(canonicalNanos, selectionNanos, updateNanos, opponentNanos);
+        }
+        return outcome;
+    }
+
+    /**
+     * Spielt ein einzelnes Spiel und aktualisiert anschließend die Q-Werte der KI.
+     * Alle Zustände werden kodiert (Basis-3-Zahl) verarbeitet, es werden keine Objekte erzeugt.
+     * Der kanonische Zustand wird pro Zug nur einmal berechnet und sowohl für die Zugauswahl als auch
+     * für die Historie verwendet.
+     *
+     * @return Ergebnis: 0 = Sieg Trainer, 1 = Sieg KI, 2 = Unentschieden.
+     */
+    private int playGame() {
+        board.resetBoard();
+        historyLength = 0;
+        boolean measure = metrics != null && timed;
+        long t0 = 0;
+
+        // beginnt die KI, spielt sie 'X' und sieht die Stellung mit vertauschten Farben
+        boolean swapped = aiStarts;
+        aiStarts = trainerAsO != null && !aiStarts;
+        TrainingAI opponent = swapped ? trainerAsO : trainer;
+        char trainerSymbol = swapped ? AI_SYMBOL : TRAINER_SYMBOL;
+        char aiSymbol = swapped ? TRAINER_SYMBOL : AI_SYMBOL;
+        boolean aiTurn = swapped;
+
+        while (true) {
+            if (!aiTurn) {
+                // Zug der Trainings-KI
+                if (measure) t0 = System.nanoTime();
+                int move = opponent.getMove(board.getEncodedState());
+                if (measure) opponentNanos += System.nanoTime() - t0;
+                if (!board.makeMove(move, trainerSymbol)) {
+                    throw new IllegalStateException("Ungültiger Zug der Trainings-KI: " + move);
+                }
+
+                if (board.checkWin(trainerSymbol)) {
+                    finishGame(-1.0);
+                    return 0;
+                }
+                if (board.isFull()) {
+                    finishGame(0.5);
+                    return 2;
+                }
+            }
+            aiTurn = false;
+
+            // Zug der KI im kanonischen Zustand wählen und auf das Spielfeld übertragen
+            int state = swapped ? Board.swapColors(board.getEncodedState()) : board.getEncodedState();
+            if (measure) t0 = System.nanoTime();
+            int canonicalState = Transformations.getCanonicalState(state);
+            if (measure) {
+                long t1 = System.nanoTime();
+                canonicalNanos += t1 - t0;
+                t0 = t1;
+            }
+            int canonicalMove = ai.getCanonicalMove(canonicalState); // liefert immer einen gültigen Zug
+            if (measure) selectionNanos += System.nanoTime() - t0;
+            board.makeMove(Transformations.toOriginalMove(state, canonicalMove), aiSymbol);
+
+            // Kanonischen Zustand und entsprechenden Zug speichern
+            stateHistory[historyLength] = canonicalState;
+            moveHistory[historyLength] = canonicalMove;
+            historyLength++;
+
+            if (board.checkWin(aiSymbol)) {
+                finishGame(1.0);
+                return 1;
+            }
+            if (board.isFull()) {
+                finishGame(0.5);
+                return 2;
+            }
+        }
+    }
+
+    // Aktualisiert die Q-Werte; mit Metriken oder Abbruchkriterien werden dabei die Änderungen bestimmt
+    private void finishGame(double reward) {
+        if (metrics == null && !measureDeltaQ) {
+            ai.propagateRewards(reward, stateHistory, moveHistory, historyLength);
+            return;
+        }
+
+        QTable qTable = ai.getQTable();
+        for (int i = 0; i < historyLength; i++) {
+            qBefore[i] = qTable.get(stateHistory[i], moveHistory[i]);
+        }
+        boolean measure = metrics != null && timed;
+        long t0 = measure ? System.nanoTime() : 0;
+        ai.propagateRewards(reward, stateHistory, moveHistory, historyLength);
+        if (measure) updateNanos += System.nanoTime() - t0;
+
+        double sum = 0;
+        double max = 0;
+        for (int i = 0; i < historyLength; i++) {
+            double delta = Math.abs(qTable.get(stateHistory[i], moveHistory[i]) - qBefore[i]);
+            sum += delta;
+            max = Math.max(max, delta);
+        }
+        lastAbsDeltaQ = sum;
+        lastMaxDeltaQ = max;
+    }
+}
@@ -0,0 +1,34 @@
+package ai;
+
+/**
+ * Empfängt Fortschrittsmeldungen der {@link TrainingEngine}.
+ * Wird nur alle N Spiele aufgerufen, damit z. B. die GUI nicht bei jedem Zug aktualisiert werden muss.
+ */
+public interface TrainingListener {
+
+    /**
+     * Wird alle {@code progressInterval} Spiele aufgerufen.
+     *
+     * @param gamesPlayed Anzahl der bisher gespielten Spiele.
+     * @param totalGames  Anzahl der insgesamt geplanten Spiele.
+     * @param results     Ergebnisse bisher: [Siege Trainer, Siege KI, Unentschieden].
+     */
+    void onProgress(int gamesPlayed, int totalGames, int[] results);
+
+    /**
+     * Wird zeitgesteuert aufgerufen (höchstens alle {@code statisticsIntervalMillis}) und liefert
+     * Durchsatz, gleitende Raten und die Größe der Q-Tabelle.
+     *
+     * @param progress Der aktuelle Stand des Trainings.
+     */
+    default void onStatistics(TrainingProgress progress) {
+    }
+
+    /**
+     * Wird nach dem letzten Spiel aufgerufen (auch nach einem vorzeitigen Stopp).
+     *
+     * @param results Endergebnis: [Siege Trainer, Siege KI, Unentschieden].
+     */
+    default void onFinished(int[] results) {
+    }
+}
@@ -0,0 +1,348 @@
+package ai;
+
+import utility.QTableHandler;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntSupplier;
+
+/**
+ * Sammelt Kennzahlen eines Trainings (siehe {@link TrainingEngine#setMetrics(TrainingMetrics)}) und fasst sie
+ * alle {@code windowGames} Spiele zu einem {@link Sample} zusammen. Die Zeitreihe kann als CSV oder JSON
+ * gespeichert und über JMX beobachtet werden, um zu erkennen, wann das Training konvergiert ist.
+ * <p>
+ * Die Zeiten der einzelnen Phasen werden nur in jedem achten Spiel gemessen (Stichprobe), damit die Messung
+ * selbst das Training kaum verlangsamt. Schreibt nur der Trainings-Thread, lesen dürfen beliebige Threads.
+ */
+public class TrainingMetrics implements TrainingMetricsMXBean {
+
+    /**
+     * Kennzahlen eines Fensters.
+     *
+     * @param gamesPlayed       Spiele insgesamt bis zum Ende des Fensters.
+     * @param timestampMillis   Zeitpunkt des Fensterendes (System.currentTimeMillis()).
+     * @param trainerWinRate    Anteil der Siege der Trainings-KI im Fenster.
+     * @param aiWinRate         Anteil der Siege der KI im Fenster.
+     * @param drawRate          Anteil der Unentschieden im Fenster.
+     * @param absDeltaQPerGame  Summe der Beträge der Q-Wert-Änderungen pro Spiel, gemittelt über das Fenster.
+     * @param newStates         Im Fenster neu angelegte Zustände.
+     * @param qTableSize        Anzahl der Zustände in der Q-Tabelle.
+     * @param explorationRate   Explorationsrate am Fensterende (siehe {@link ExplorationPolicy#getExplorationRate()}).
+     * @param gamesPerSecond    Durchsatz im Fenster.
+     * @param canonicalNanos    Zeit für die Kanonisierung pro Spiel (ns, Stichprobe).
+     * @param selectionNanos    Zeit für die Zugauswahl der KI pro Spiel (ns, Stichprobe).
+     * @param updateNanos       Zeit für die Aktualisierung der Q-Tabelle pro Spiel (ns, Stichprobe).
+     * @param opponentNanos     Zeit für die Züge der Trainings-KI pro Spiel (ns, Stichprobe).
+     */
+    public record Sample(long gamesPlayed, long timestampMillis, double trainerWinRate, double aiWinRate,
+                         double drawRate, double absDeltaQPerGame, long newStates, int qTableSize,
+                         double explorationRate, double gamesPerSecond, long canonicalNanos, long selectionNanos,
+                         long updateNanos, long opponentNanos) {
+    }
+
+    private static final String CSV_HEADER = "games,timestamp,trainerWinRate,aiWinRate,drawRate,absDeltaQPerGame,"
+            + "newStates,qTableSize,explorationRate,gamesPerSecond,canonicalNanos,selectionNanos,updateNanos,"
+            + "opponentNanos";
+
+    private final int windowGames;
+    private final List<Sample> samples = new ArrayList<>();
+    private volatile Sample latest;
+    private IntSupplier tableSize = () -> 0;
+    private ObjectName registeredName;
+
+    // Zähler des laufenden Fensters
+    private long gamesPlayed;
+    private final int[] windowResults = new int[3];
+    private int windowCount;
+    private double windowDeltaQ;
+    private long windowNewStates;
+    private long windowStartNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[4]; // Kanonisierung, Auswahl, Update, Gegner
+    private int timedGames;
+
+    public TrainingMetrics() {
+        this(1000);
+    }
+
+    /**
+     * @param windowGames Anzahl der Spiele pro Fenster (ein Eintrag der Zeitreihe).
+     */
+    public TrainingMetrics(int windowGames) {
+        this.windowGames = Math.max(1, windowGames);
+    }
+
+    // wird von der TrainingEngine gesetzt, damit die Größe der Q-Tabelle nur einmal pro Fenster ermittelt wird
+    void setTableSizeSupplier(IntSupplier tableSize) {
+        this.tableSize = tableSize;
+    }
+
+    // Gibt an, ob im nächsten Spiel die Phasenzeiten gemessen werden sollen (jedes achte Spiel)
+    boolean isTimedGame() {
+        return (gamesPlayed & 7) == 0;
+    }
+
+    /**
+     * Erfasst ein abgeschlossenes Spiel.
+     *
+     * @param outcome         0 = Sieg Trainer, 1 = Sieg KI, 2 = Unentschieden.
+     * @param absDeltaQ       Summe der Beträge der Q-Wert-Änderungen in diesem Spiel.
+     * @param newStates       In diesem Spiel neu angelegte Zustände.
+     * @param explorationRate Aktuelle Explorationsrate.
+     */
+    void recordGame(int outcome, double absDeltaQ, long newStates, double explorationRate) {
+        gamesPlayed++;
+        windowResults[outcome]++;
+        windowCount++;
+        windowDeltaQ += absDeltaQ;
+        windowNewStates += newStates;
+        if (windowCount >= windowGames) {
+            closeWindow(explorationRate);
+        }
+    }
+
+    // Phasenzeiten eines gemessenen Spiels (in Nanosekunden)
+    void recordTimings(long canonical, long selection, long update, long opponent) {
+        phaseNanos[0] += canonical;
+        phaseNanos[1] += selection;
+        phaseNanos[2] += update;
+        phaseNanos[3] += opponent;
+        timedGames++;
+    }
+
+    /**
+     * Schließt das laufende Fenster vorzeitig ab (z. B. am Ende des Trainings), sofern es Spiele enthält.
+     *
+     * @param explorationRate Aktuelle Explorationsrate.
+     */
+    public void flush(double explorationRate) {
+        if (windowCount > 0) {
+            closeWindow(explorationRate);
+        }
+    }
+
+    private void closeWindow(double explorationRate) {
+        long now = System.nanoTime();
+        double seconds = (now - windowStartNanos) / 1e9;
+        double count = windowCount;
+        int timed = Math.max(1, timedGames);
+        Sample sample = new Sample(gamesPlayed, System.currentTimeMillis(),
+                windowResults[0] / count, windowResults[1] / count, windowResults[2] / count,
+                windowDeltaQ / count, windowNewStates, tableSize.getAsInt(), explorationRate,
+                seconds > 0 ? count / seconds : 0.0,
+                phaseNanos[0] / timed, phaseNanos[1] / timed, phaseNanos[2] / timed, phaseNanos[3] / timed);
+        synchronized (samples) {
+            samples.add(sample);
+        }
+        latest = sample;
+
+        windowResults[0] = 0;
+        windowResults[1] = 0;
+        windowResults[2] = 0;
+        windowCount = 0;
+        windowDeltaQ = 0;
+        windowNewStates = 0;
+        windowStartNanos = now;
+        phaseNanos[0] = 0;
+        phaseNanos[1] = 0;
+        phaseNanos[2] = 0;
+        phaseNanos[3] = 0;
+        timedGames = 0;
+    }
+
+    // Kopie der bisherigen Zeitreihe
+    public List<Sample> getSamples() {
+        synchronized (samples) {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    public Sample getLatest() {
+        return latest;
+    }
+
+    /**
+     * Gibt die Zeitreihe als CSV zurück (eine Zeile pro Fenster, Dezimalpunkt).
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (Sample s : getSamples()) {
+            csv.append(String.format(Locale.ROOT, "%d,%d,%.4f,%.4f,%.4f,%.6f,%d,%d,%.4f,%.1f,%d,%d,%d,%d%n",
+                    s.gamesPlayed(), s.timestampMillis(), s.trainerWinRate(), s.aiWinRate(), s.drawRate(),
+                    s.absDeltaQPerGame(), s.newStates(), s.qTableSize(), s.explorationRate(), s.gamesPerSecond(),
+                    s.canonicalNanos(), s.selectionNanos(), s.updateNanos(), s.opponentNanos()));
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Gibt die Zeitreihe als JSON-Array zurück (ein Objekt pro Fenster).
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("[");
+        String[] names = CSV_HEADER.split(",");
+        List<Sample> list = getSamples();
+        for (int i = 0; i < list.size(); i++) {
+            Sample s = list.get(i);
+            Object[] values = {s.gamesPlayed(), s.timestampMillis(), s.trainerWinRate(), s.aiWinRate(),
+                    s.drawRate(), s.absDeltaQPerGame(), s.newStates(), s.qTableSize(), s.explorationRate(),
+                    s.gamesPerSecond(), s.canonicalNanos(), s.selectionNanos(), s.updateNanos(), s.opponentNanos()};
+            json.append(i == 0 ? "\n  {" : ",\n  {");
+            for (int j = 0; j < names.length; j++) {
+                json.append(j == 0 ? "" : ", ").append('"').append(names[j]).append("\": ");
+                json.append(values[j] instanceof Double d ? String.format(Locale.ROOT, "%.6f", d) : values[j]);
+            }
+            json.append('}');
+        }
+        return json.append(list.isEmpty() ? "]\n" : "\n]\n").toString();
+    }
+
+    /**
+     * Speichert die Zeitreihe atomar; das Format wird anhand der Dateiendung gewählt (.json, sonst CSV).
+     *
+     * @param fileName Der Dateiname.
+     */
+    public void export(String fileName) {
+        String content = fileName.endsWith(".json") ? toJson() : toCsv();
+        Path target = Path.of(fileName).toAbsolutePath();
+        Path temp = null;
+        try {
+            temp = QTableHandler.createTempFile(target);
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            QTableHandler.moveAtomically(temp, target);
+        } catch (IOException e) {
+            if (temp != null) {
+                QTableHandler.deleteQuietly(temp);
+            }
+            throw new UncheckedIOException("Fehler beim Speichern der Metriken: " + fileName, e);
+        }
+    }
+
+    /**
+     * Meldet die Metriken beim JMX-Server der Plattform an (ein bereits vorhandener Eintrag wird ersetzt).
+     *
+     * @param name Name des Trainings (Teil des ObjectName).
+     */
+    public void registerMBean(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("tictactoe:type=TrainingMetrics,name=" + ObjectName.quote(name));
+            try {
+                server.registerMBean(this, objectName);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(objectName);
+                server.registerMBean(this, objectName);
+            }
+            registeredName = objectName;
+        } catch (JMException e) {
+            System.err.println("Metriken konnten nicht bei JMX angemeldet werden: " + e.getMessage());
+        }
+    }
+
+    public void unregisterMBean() {
+        if (registeredName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            // bereits abgemeldet
+        }
+        registeredName = null;
+    }
+
+    // JMX-Attribute (Werte des letzten Fensters)
+
+    @Override
+    public long getGamesPlayed() {
+        Sample s = latest;
+        return s != null ? s.gamesPlayed() : 0;
+    }
+
+    @Override
+    public double getTrainerWinRate() {
+        Sample s = latest;
+        return s != null ? s.trainerWinRate() : 0;
+    }
+
+    @Override
+    public double getAiWinRate() {
+        Sample s = latest;
+        return s != null ? s.aiWinRate() : 0;
+    }
+
+    @Override
+    public double getDrawRate() {
+        Sample s = latest;
+        return s != null ? s.drawRate() : 0;
+    }
+
+    @Override
+    public double getAbsDeltaQPerGame() {
+        Sample s = latest;
+        return s != null ? s.absDeltaQPerGame() : 0;
+    }
+
+    @Override
+    public long getNewStates() {
+        Sample s = latest;
+        return s != null ? s.newStates() : 0;
+    }
+
+    @Override
+    public int getQTableSize() {
+        Sample s = latest;
+        return s != null ? s.qTableSize() : 0;
+    }
+
+    @Override
+    public double getExplorationRate() {
+        Sample s = latest;
+        return s != null ? s.explorationRate() : 0;
+    }
+
+    @Override
+    public double getGamesPerSecond() {
+        Sample s = latest;
+        return s != null ? s.gamesPerSecond() : 0;
+    }
+
+    @Override
+    public long getCanonicalizationNanosPerGame() {
+        Sample s = latest;
+        return s != null ? s.canonicalNanos() : 0;
+    }
+
+    @Override
+    public long getSelectionNanosPerGame() {
+        Sample s = latest;
+        return s != null ? s.selectionNanos() : 0;
+    }
+
+    @Override
+    public long getUpdateNanosPerGame() {
+        Sample s = latest;
+        return s != null ? s.updateNanos() : 0;
+    }
+
+    @Override
+    public long getOpponentNanosPerGame() {
+        Sample s = latest;
+        return s != null ? s.opponentNanos() : 0;
+    }
+
+    @Override
+    public int getSampleCount() {
+        synchronized (samples) {
+            return samples.size();
+        }
+    }
+}
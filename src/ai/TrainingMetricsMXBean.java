@@ -0,0 +1,36 @@
+package ai;
+
+/**
+ * JMX-Schnittstelle der {@link TrainingMetrics} (z. B. in JConsole unter {@code tictactoe:type=TrainingMetrics}).
+ * Die Werte beziehen sich auf das zuletzt abgeschlossene Fenster.
+ */
+public interface TrainingMetricsMXBean {
+
+    long getGamesPlayed();
+
+    double getTrainerWinRate();
+
+    double getAiWinRate();
+
+    double getDrawRate();
+
+    double getAbsDeltaQPerGame();
+
+    long getNewStates();
+
+    int getQTableSize();
+
+    double getExplorationRate();
+
+    double getGamesPerSecond();
+
+    long getCanonicalizationNanosPerGame();
+
+    long getSelectionNanosPerGame();
+
+    long getUpdateNanosPerGame();
+
+    long getOpponentNanosPerGame();
+
+    int getSampleCount();
+}
@@ -0,0 +1,19 @@
+package ai;
+
+/**
+ * Momentaufnahme eines laufenden Trainings (siehe {@link TrainingEngine#setStatisticsIntervalMillis(long)}).
+ *
+ * @param gamesPlayed    Anzahl der bisher gespielten Spiele.
+ * @param totalGames     Anzahl der insgesamt geplanten Spiele.
+ * @param gamesPerSecond Durchsatz seit Beginn des Trainings (ohne Pausen).
+ * @param trainerWinRate Anteil der Siege der Trainings-KI in den letzten {@code windowSize} Spielen.
+ * @param aiWinRate      Anteil der Siege der KI in den letzten {@code windowSize} Spielen.
+ * @param drawRate       Anteil der Unentschieden in den letzten {@code windowSize} Spielen.
+ * @param windowSize     Anzahl der Spiele, über die die Raten berechnet wurden.
+ * @param qTableSize     Anzahl der Zustände in der Q-Tabelle.
+ * @param results        Ergebnisse bisher: [Siege Trainer, Siege KI, Unentschieden].
+ */
+public record TrainingProgress(int gamesPlayed, int totalGames, double gamesPerSecond,
+                               double trainerWinRate, double aiWinRate, double drawRate, int windowSize,
+                               int qTableSize, int[] results) {
+}
@@ -0,0 +1,52 @@
+package ai;
+
+/**
+ * Ergebnis eines Trainings mit Abbruchkriterien (siehe {@link TrainingEngine#train(int, ConvergenceCriteria)}).
+ *
+ * @param results     Ergebnisse: [Siege Trainer, Siege KI, Unentschieden].
+ * @param gamesPlayed Anzahl der tatsächlich gespielten Spiele.
+ * @param maxGames    Anzahl der höchstens geplanten Spiele.
+ * @param stopReason  Grund für das Ende des Trainings.
+ */
+public record TrainingResult(int[] results, int gamesPlayed, int maxGames, StopReason stopReason) {
+
+    /**
+     * Grund, aus dem ein Training beendet wurde.
+     */
+    public enum StopReason {
+        MAX_GAMES("alle Spiele gespielt"),
+        Q_DELTA("Q-Werte ändern sich nicht mehr"),
+        NO_LOSSES("keine Niederlagen mehr"),
+        POLICY_STABLE("Strategie unverändert"),
+        UNBEATABLE("Strategie unschlagbar"),
+        STOPPED("manuell gestoppt");
+
+        private final String description;
+
+        StopReason(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der eingesparten Spiele zurück.
+     *
+     * @return maxGames - gamesPlayed.
+     */
+    public int gamesSaved() {
+        return maxGames - gamesPlayed;
+    }
+
+    /**
+     * Gibt an, ob das Training wegen eines Konvergenzkriteriums vorzeitig beendet wurde.
+     *
+     * @return true bei Q_DELTA, NO_LOSSES, POLICY_STABLE oder UNBEATABLE.
+     */
+    public boolean converged() {
+        return stopReason != StopReason.MAX_GAMES && stopReason != StopReason.STOPPED;
+    }
+}
@@ -0,0 +1,49 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * Verlauf eines beendeten Spiels aus Sicht der KI, wie er für {@link TicTacToeAI#propagateRewards} gebraucht wird.
+ * Zwei Verläufe sind gleich, wenn Zustände, Züge und Belohnung übereinstimmen (z. B. zum Zusammenfassen
+ * gleicher Spiele im {@link OnlineLearner}).
+ *
+ * @param states Die kanonischen Zustände vor den Zügen der KI.
+ * @param moves  Die kanonischen Züge der KI.
+ * @param reward Die finale Belohnung (1 = Sieg, 0.5 = Unentschieden, -1 = Niederlage).
+ */
+public record Trajectory(int[] states, int[] moves, double reward) {
+
+    /**
+     * Kopiert die gültigen Einträge der Historien-Arrays (die Arrays können danach wiederverwendet werden).
+     *
+     * @param states Die kanonischen Zustände.
+     * @param moves  Die kanonischen Züge.
+     * @param length Anzahl der gültigen Einträge.
+     * @param reward Die finale Belohnung.
+     * @return Der Verlauf.
+     */
+    public static Trajectory of(int[] states, int[] moves, int length, double reward) {
+        int[] stateCopy = new int[length];
+        int[] moveCopy = new int[length];
+        System.arraycopy(states, 0, stateCopy, 0, length);
+        System.arraycopy(moves, 0, moveCopy, 0, length);
+        return new Trajectory(stateCopy, moveCopy, reward);
+    }
+
+    public int length() {
+        return states.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Trajectory other
+                && Double.compare(reward, other.reward) == 0
+                && Arrays.equals(states, other.states)
+                && Arrays.equals(moves, other.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(states) + Arrays.hashCode(moves)) + Double.hashCode(reward);
+    }
+}
@@ -1,9 +1,51 @@
 package ai;
 
+import model.Board;
+import model.BoardGeometry;
+
 import java.util.*;
 
 public class Transformations {
 
+    /**
+     * Die 8 Symmetrien des Spielfelds (Drehungen und Spiegelungen) als Permutationen:
+     * transformiert[j] = original[SYMMETRIES[s][j]].
+     * Reihenfolge: Identität, Rotation 90°, 180°, 270°, horizontale Spiegelung, vertikale Spiegelung,
+     * Spiegelung an der Hauptdiagonale, Spiegelung an der Nebendiagonale (z. B. Rotation 90° = {6, 3, 0, 7, 4, 1, 8, 5, 2}).
+     * Die Permutationen werden wie für größere Spielfelder von {@link BoardGeometry#symmetries(int)} erzeugt.
+     */
+    static final int[][] SYMMETRIES = BoardGeometry.symmetries(3);
+
+    // Umkehrpermutationen: Feld m des Originals landet auf Feld INVERSE[s][m] des transformierten Zustands
+    static final int[][] INVERSE = new int[8][9];
+
+    // Vorberechnete Tabellen für alle 3^9 Kodierungen (enthält alle erreichbaren Stellungen):
+    // kanonischer Zustand und die Symmetrie, die den Zustand in den kanonischen Zustand überführt
+    private static final int[] CANONICAL = new int[Board.NUM_STATES];
+    private static final byte[] SYMMETRY = new byte[Board.NUM_STATES];
+
+    static {
+        for (int s = 0; s < 8; s++) {
+            for (int j = 0; j < 9; j++) {
+                INVERSE[s][SYMMETRIES[s][j]] = j;
+            }
+        }
+
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            int canonical = state;
+            int symmetry = 0;
+            for (int s = 1; s < 8; s++) {
+                int transformed = transform(state, s);
+                if (transformed < canonical) {
+                    canonical = transformed;
+                    symmetry = s;
+                }
+            }
+            CANONICAL[state] = canonical;
+            SYMMETRY[state] = (byte) symmetry;
+        }
+    }
+
     /**
      * Führt eine Rotation des Tic Tac Toe Spiels um 90 Grad durch. (im Uhrzeigersinn)
      *
@@ -95,36 +137,14 @@ public class Transformations {
      * @return Der kanonische Zustand.
      */
     public static String getCanonicalState(String state) {
-        Set<String> transformations = getAllTransformations(state);
-
-        // Den lexikographisch kleinsten Zustand zurückgeben
-        return transformations.stream().min(String::compareTo).orElse(state);
+        // Den lexikographisch kleinsten Zustand aus der vorberechneten Tabelle zurückgeben
+        return Board.decode(CANONICAL[Board.encode(state)]);
     }
 
     // Transformation des canonicalState zurück zum ursprünglichen state
+    // (funktioniert in beide Richtungen, solange beide Zustände symmetrisch zueinander sind)
     public static int transformToOriginalState(String canonicalState, String originalState, int bestMove) {
-
-        while (!canonicalState.equals(originalState)) {
-
-            // horizontale Spiegelung testen
-            String mirroredHorizontal = mirrorHorizontal(canonicalState);
-            if (mirroredHorizontal.equals(originalState)) {
-                bestMove = mirrorHorizontalMove(bestMove);
-                break;
-            }
-
-            // vertikale Spiegelung testen
-            String mirroredVertical = mirrorVertical(canonicalState);
-            if (mirroredVertical.equals(originalState)) {
-                bestMove = mirrorVerticalMove(bestMove);
-                break;
-            }
-
-            // Rotation durchführen
-            canonicalState = rotate(canonicalState);
-            bestMove = rotateMove(bestMove);
-        }
-        return bestMove;
+        return transformMove(Board.encode(canonicalState), Board.encode(originalState), bestMove);
     }
 
 
@@ -144,4 +164,82 @@ public class Transformations {
         int[] reverseMapping = {2, 1, 0, 5, 4, 3, 8, 7, 6};
         return reverseMapping[move];
     }
+
+
+    // Varianten für kodierte Zustände (siehe Board.getEncodedState()), erzeugen keine Objekte
+
+    /**
+     * Wendet eine der 8 Symmetrien auf einen kodierten Zustand an.
+     *
+     * @param state    Der kodierte Zustand.
+     * @param symmetry Index der Symmetrie (0-7).
+     * @return Der transformierte, kodierte Zustand.
+     */
+    public static int transform(int state, int symmetry) {
+        int[] permutation = SYMMETRIES[symmetry];
+        int result = 0;
+        for (int j = 0; j < 9; j++) {
+            result += Board.cellAt(state, permutation[j]) * Board.placeValue(j);
+        }
+        return result;
+    }
+
+    /**
+     * Gibt den kanonischen Zustand eines kodierten Zustands zurück (ein Array-Zugriff).
+     * Da die Kodierung die lexikographische Reihenfolge erhält, entspricht das Ergebnis
+     * der kodierten Form von {@link #getCanonicalState(String)}.
+     *
+     * @param state Der kodierte Zustand.
+     * @return Der kanonische, kodierte Zustand.
+     */
+    public static int getCanonicalState(int state) {
+        return CANONICAL[state];
+    }
+
+    /**
+     * Gibt die Symmetrie (0-7) zurück, die den Zustand in seinen kanonischen Zustand überführt.
+     *
+     * @param state Der kodierte Zustand.
+     * @return Index der Symmetrie in {@link #SYMMETRIES}.
+     */
+    public static int getSymmetry(int state) {
+        return SYMMETRY[state];
+    }
+
+    /**
+     * Überträgt einen Zug im Zustand auf den entsprechenden Zug im kanonischen Zustand.
+     *
+     * @param state Der kodierte (ursprüngliche) Zustand.
+     * @param move  Der Zug (0-8) im ursprünglichen Zustand.
+     * @return Der Zug im kanonischen Zustand.
+     */
+    public static int toCanonicalMove(int state, int move) {
+        return INVERSE[SYMMETRY[state]][move];
+    }
+
+    /**
+     * Überträgt einen Zug im kanonischen Zustand zurück auf den ursprünglichen Zustand.
+     *
+     * @param state         Der kodierte (ursprüngliche) Zustand.
+     * @param canonicalMove Der Zug (0-8) im kanonischen Zustand.
+     * @return Der Zug im ursprünglichen Zustand.
+     */
+    public static int toOriginalMove(int state, int canonicalMove) {
+        return SYMMETRIES[SYMMETRY[state]][canonicalMove];
+    }
+
+    /**
+     * Überträgt einen Zug von einem Zustand auf einen symmetrischen Zustand (über den gemeinsamen kanonischen Zustand).
+     *
+     * @param fromState Der kodierte Zustand, auf den sich der Zug bezieht.
+     * @param toState   Der kodierte Zielzustand (eine Transformation von fromState).
+     * @param move      Der Zug (0-8) in fromState.
+     * @return Der entsprechende Zug in toState.
+     */
+    public static int transformMove(int fromState, int toState, int move) {
+        if (CANONICAL[fromState] != CANONICAL[toState]) {
+            return move; // Zustände sind nicht symmetrisch zueinander
+        }
+        return toOriginalMove(toState, toCanonicalMove(fromState, move));
+    }
 }
@@ -0,0 +1,37 @@
+package ai;
+
+import model.Board;
+
+/**
+ * Regel, nach der die {@link TicTacToeAI} am Ende eines Spiels ihre Q-Werte aktualisiert.
+ * Die Historie enthält die kanonischen Zustände vor den Zügen der KI und die kanonischen Züge;
+ * Zwischenbelohnungen gibt es nicht, nur die finale Belohnung nach dem letzten Zug.
+ * Der Folgezustand von Schritt i ist der Zustand vor dem nächsten Zug der KI (stateHistory[i + 1]).
+ * Implementierungen sind zustandslos und können von mehreren KIs (z. B. beim parallelen Training) geteilt werden.
+ */
+public interface UpdateRule {
+
+    /**
+     * Aktualisiert die Q-Werte eines abgeschlossenen Spiels.
+     *
+     * @param qTable         Die Q-Tabelle.
+     * @param stateHistory   Die kanonischen Zustände vor den Zügen der KI.
+     * @param moveHistory    Die kanonischen Züge der KI.
+     * @param length         Anzahl der gültigen Einträge.
+     * @param finalReward    Die finale Belohnung.
+     * @param learningRate   Die Lernrate.
+     * @param discountFactor Der Diskontierungsfaktor.
+     */
+    void update(QTable qTable, int[] stateHistory, int[] moveHistory, int length, double finalReward,
+                double learningRate, double discountFactor);
+
+    /**
+     * Gibt den höchsten Q-Wert der gültigen Züge eines Zustands zurück (0, wenn der Zustand unbekannt ist).
+     */
+    static double maxQ(QTable qTable, int state) {
+        if (!qTable.contains(state)) {
+            return 0.0;
+        }
+        return qTable.get(state, ExplorationPolicy.greedyMove(qTable, state, Board.emptyMask(state)));
+    }
+}
@@ -0,0 +1,106 @@
+package cli;
+
+import ai.MctsTrainingAI;
+import ai.MinimaxSolver;
+import ai.OracleTrainingAI;
+import ai.PerfectPlayOracle;
+import ai.PolicySnapshot;
+import ai.PerfectTrainingAI;
+import ai.RandomTrainingAI;
+import ai.TicTacToeAI;
+import ai.TrainingAI;
+import model.BoardGeometry;
+import tournament.Entrant;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Erzeugt Spieler für die Kommandozeile aus einer Beschreibung:
+ * <ul>
+ *     <li>{@code random} - zufällige Züge ({@link RandomTrainingAI})</li>
+ *     <li>{@code oracle} - perfekter Gegner aus der vorberechneten Tabelle ({@link OracleTrainingAI})</li>
+ *     <li>{@code perfect} - perfekter Gegner mit Minimax-Suche ({@link PerfectTrainingAI})</li>
+ *     <li>{@code mcts[:playouts]} - Monte Carlo Tree Search ({@link MctsTrainingAI}, Standard: 1000 Playouts)</li>
+ *     <li>{@code qtable:datei} - gierige Strategie einer gespeicherten Q-Tabelle (als {@link PolicySnapshot})</li>
+ * </ul>
+ * Die Q-Tabelle wird aus Sicht von 'O' gelernt; spielt die KI mit 'X', werden die Farben der Stellung vertauscht.
+ * Das setzt voraus, dass sie auch als Beginnende trainiert wurde ({@code train --both-orders}), sonst wird eine
+ * Q-Tabelle mit 'X' abgelehnt.
+ */
+public final class Agents {
+
+    public static final String USAGE = "random | oracle | perfect | mcts[:playouts] | qtable:datei";
+
+    private Agents() {
+    }
+
+    /**
+     * Erzeugt einen Spieler.
+     *
+     * @param spec   Die Beschreibung (siehe oben).
+     * @param symbol Das Symbol, mit dem der Spieler spielt ('X' oder 'O').
+     * @param random Zufallsgenerator des Spielers.
+     * @return Der Spieler.
+     * @throws IllegalArgumentException bei einer unbekannten Beschreibung, fehlenden Datei oder einer Q-Tabelle
+     *                                  mit 'X', die nur als Nachziehende trainiert wurde.
+     */
+    public static TrainingAI create(String spec, char symbol, Random random) {
+        String name = spec.contains(":") ? spec.substring(0, spec.indexOf(':')) : spec;
+        String argument = spec.contains(":") ? spec.substring(spec.indexOf(':') + 1) : null;
+
+        return switch (name) {
+            case "random" -> new RandomTrainingAI(random);
+            case "oracle" -> new OracleTrainingAI(symbol, PerfectPlayOracle.getDefault(), random);
+            case "perfect" -> new PerfectTrainingAI(symbol, MinimaxSolver.getShared(), random);
+            case "mcts" -> new MctsTrainingAI(BoardGeometry.of(3, 3),
+                    argument != null ? Integer.parseInt(argument) : 1000, 0, 1, random);
+            case "qtable" -> playing(PolicySnapshot.of(loadAI(argument)), symbol, argument);
+            default -> throw new IllegalArgumentException("Unbekannter Spieler: " + spec + " (" + USAGE + ")");
+        };
+    }
+
+    /**
+     * Lässt eine Momentaufnahme mit dem angegebenen Symbol spielen.
+     *
+     * @throws IllegalArgumentException wenn sie mit 'X' spielen soll, aber nie selbst begonnen hat.
+     */
+    private static TrainingAI playing(PolicySnapshot snapshot, char symbol, String fileName) {
+        if (symbol == 'X' && !snapshot.knowsFirstMoves()) {
+            throw new IllegalArgumentException("Q-Tabelle " + fileName + " wurde nur als Nachziehende ('O') "
+                    + "trainiert und kann nicht beginnen (neu trainieren mit --both-orders)");
+        }
+        return snapshot.playing(symbol);
+    }
+
+    /**
+     * Erzeugt einen Teilnehmer für ein {@link tournament.Tournament}. Q-Tabellen werden dabei nur einmal
+     * geladen und eingefroren, alle anderen Spieler werden je Match neu erzeugt.
+     *
+     * @param spec Die Beschreibung (siehe oben), zugleich der Name des Teilnehmers.
+     * @return Der Teilnehmer.
+     */
+    public static Entrant entrant(String spec) {
+        if (spec.startsWith("qtable:")) {
+            return Entrant.ofQTable(spec, loadAI(spec.substring(7)).getQTable());
+        }
+        create(spec, 'X', new Random()); // prüft die Beschreibung sofort
+        return new Entrant(spec, (symbol, random) -> create(spec, symbol, random));
+    }
+
+    /**
+     * Lädt eine Q-Tabelle in eine KI ohne Exploration.
+     *
+     * @param fileName Die Datei (.csv oder .qtb).
+     * @return Die KI.
+     */
+    public static TicTacToeAI loadAI(String fileName) {
+        if (fileName == null || !Files.exists(Path.of(fileName))) {
+            throw new IllegalArgumentException("Q-Tabelle nicht gefunden: " + fileName);
+        }
+        TicTacToeAI ai = new TicTacToeAI(0.0, 0.0, 0.0);
+        ai.loadQTable(fileName);
+        return ai;
+    }
+}
@@ -0,0 +1,279 @@
+package cli;
+
+import ai.ConvergenceCriteria;
+import ai.DenseQTable;
+import ai.MonteCarloRule;
+import ai.ParallelTrainingEngine;
+import ai.PolicyEvaluator;
+import ai.QLambdaRule;
+import ai.QLearningRule;
+import ai.SarsaRule;
+import ai.TicTacToeAI;
+import ai.TrainingAI;
+import ai.TrainingEngine;
+import ai.TrainingListener;
+import ai.TrainingMetrics;
+import ai.TrainingProgress;
+import ai.TrainingResult;
+import ai.UpdateRule;
+import model.Board;
+import tournament.Entrant;
+import tournament.Tournament;
+import tournament.TournamentResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Kommandozeile ohne GUI (und ohne JavaFX) für Training und Auswertung, z. B. auf Build-Servern.
+ * <pre>
+ * java -cp tictactoe.jar cli.TicTacToeCli train 100000 --opponent oracle --qtable qtable.csv --both-orders
+ * java -cp tictactoe.jar cli.TicTacToeCli match qtable:qtable.csv perfect --games 1000
+ * java -cp tictactoe.jar cli.TicTacToeCli tournament random oracle mcts:500 qtable:qtable.csv --games 500
+ * java -cp tictactoe.jar cli.TicTacToeCli evaluate --qtable qtable.csv
+ * </pre>
+ * Rückgabewert: 0 = Erfolg, 1 = Fehler, 2 = ungültiger Aufruf.
+ */
+public class TicTacToeCli {
+
+    private static final String USAGE = """
+            Aufruf:
+              train <spiele> [--opponent random|oracle|perfect|mcts[:playouts]] [--qtable datei]
+                    [--alpha 0.2] [--gamma 0.9] [--epsilon 0.1] [--rule mc|q|sarsa|qlambda[:lambda]]
+                    [--threads n] [--seed n] [--converge] [--both-orders] [--metrics datei.csv|datei.json]
+              match <spielerA> <spielerB> [--games 1000] [--seed n]
+              tournament <spieler>... [--games 1000] [--threads n] [--seed n]
+              evaluate [--qtable datei]
+            Spieler: %s
+            """.formatted(Agents.USAGE);
+
+    private final List<String> positional = new ArrayList<>();
+    private final Map<String, String> options = new HashMap<>();
+
+    private TicTacToeCli(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--converge") || arg.equals("--both-orders")) {
+                options.put(arg.substring(2), "true");
+            } else if (arg.startsWith("--")) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Fehlender Wert für " + arg);
+                }
+                options.put(arg.substring(2), args[++i]);
+            } else {
+                positional.add(arg);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Führt einen Befehl aus (ohne System.exit, z. B. für Skripte innerhalb derselben JVM).
+     *
+     * @param args Die Argumente der Kommandozeile.
+     * @return Der Rückgabewert (0 = Erfolg, 1 = Fehler, 2 = ungültiger Aufruf).
+     */
+    public static int run(String[] args) {
+        try {
+            TicTacToeCli cli = new TicTacToeCli(args);
+            if (cli.positional.isEmpty()) {
+                System.err.print(USAGE);
+                return 2;
+            }
+            switch (cli.positional.get(0)) {
+                case "train" -> cli.train();
+                case "match" -> cli.match();
+                case "tournament" -> cli.tournament();
+                case "evaluate" -> cli.evaluate();
+                default -> throw new IllegalArgumentException("Unbekannter Befehl: " + cli.positional.get(0));
+            }
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            return 2;
+        } catch (RuntimeException e) {
+            System.err.println("Fehler: " + e);
+            return 1;
+        }
+    }
+
+    // Trainiert die KI gegen eine Trainings-KI und speichert die Q-Tabelle
+    private void train() {
+        int games = Integer.parseInt(argument(1, "Anzahl der Spiele"));
+        String opponent = option("opponent", "random");
+        String fileName = option("qtable", "qtable.csv");
+        long seed = Long.parseLong(option("seed", String.valueOf(System.nanoTime())));
+        int threads = Integer.parseInt(option("threads", "1"));
+        boolean bothOrders = options.containsKey("both-orders"); // KI beginnt jedes zweite Spiel
+
+        TicTacToeAI ai = new TicTacToeAI(new DenseQTable(), Double.parseDouble(option("alpha", "0.2")),
+                Double.parseDouble(option("gamma", "0.9")), Double.parseDouble(option("epsilon", "0.1")),
+                new Random(seed));
+        ai.setUpdateRule(parseRule(option("rule", "mc")));
+        if (Files.exists(Path.of(fileName))) {
+            ai.loadQTable(fileName);
+            System.out.println("Q-Tabelle geladen: " + fileName + " (" + ai.getQTable().size() + " Zustände)");
+        }
+
+        long start = System.nanoTime();
+        int[] results;
+        int played = games;
+        if (threads > 1) {
+            if (options.containsKey("converge") || options.containsKey("metrics")) {
+                throw new IllegalArgumentException("--converge und --metrics werden nur mit --threads 1 unterstützt");
+            }
+            ParallelTrainingEngine engine = new ParallelTrainingEngine(ai,
+                    random -> Agents.create(opponent, 'X', random), threads,
+                    ParallelTrainingEngine.MergeStrategy.DELTA_MERGE, seed);
+            if (bothOrders) {
+                engine.setAlternateStart(random -> Agents.create(opponent, 'O', random));
+            }
+            results = engine.train(games);
+        } else {
+            TrainingEngine engine = new TrainingEngine(ai, Agents.create(opponent, 'X', new Random(seed + 1)));
+            if (bothOrders) {
+                engine.setAlternateStart(Agents.create(opponent, 'O', new Random(seed + 2)));
+            }
+            engine.setStatisticsIntervalMillis(1000);
+            engine.setListener(new TrainingListener() {
+                @Override
+                public void onProgress(int gamesPlayed, int totalGames, int[] results) {
+                }
+
+                @Override
+                public void onStatistics(TrainingProgress progress) {
+                    System.out.printf("%d / %d Spiele, %.0f Spiele/s, letzte %d: Trainer %.1f %%, KI %.1f %%, "
+                                    + "Unentschieden %.1f %%, %d Zustände%n",
+                            progress.gamesPlayed(), progress.totalGames(), progress.gamesPerSecond(),
+                            progress.windowSize(), progress.trainerWinRate() * 100, progress.aiWinRate() * 100,
+                            progress.drawRate() * 100, progress.qTableSize());
+                }
+            });
+            TrainingMetrics metrics = options.containsKey("metrics") ? new TrainingMetrics() : null;
+            engine.setMetrics(metrics);
+
+            ConvergenceCriteria criteria = options.containsKey("converge") ? ConvergenceCriteria.defaults() : null;
+            TrainingResult result = engine.train(games, criteria);
+            results = result.results();
+            played = result.gamesPlayed();
+            if (result.converged()) {
+                System.out.println("Konvergiert (" + result.stopReason().getDescription() + "), "
+                        + result.gamesSaved() + " Spiele eingespart");
+            }
+            if (metrics != null) {
+                metrics.export(options.get("metrics"));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        ai.saveQTable(fileName);
+        System.out.printf("%d Spiele in %.2f s (%.0f Spiele/s)%n", played, seconds, played / seconds);
+        System.out.println("Trainer: " + results[0] + ", KI: " + results[1] + ", Unentschieden: " + results[2]);
+        System.out.println("Q-Tabelle gespeichert: " + fileName + " (" + ai.getQTable().size() + " Zustände)");
+    }
+
+    // Lässt zwei Spieler mit wechselnden Farben gegeneinander spielen ('X' beginnt)
+    private void match() {
+        String specA = argument(1, "Spieler A");
+        String specB = argument(2, "Spieler B");
+        int games = Integer.parseInt(option("games", "1000"));
+        Random random = new Random(Long.parseLong(option("seed", String.valueOf(System.nanoTime()))));
+
+        // je Farbe ein eigener Spieler, da z. B. der perfekte Gegner sein Symbol kennen muss
+        TrainingAI aAsX = Agents.create(specA, 'X', new Random(random.nextLong()));
+        TrainingAI aAsO = Agents.create(specA, 'O', new Random(random.nextLong()));
+        TrainingAI bAsX = Agents.create(specB, 'X', new Random(random.nextLong()));
+        TrainingAI bAsO = Agents.create(specB, 'O', new Random(random.nextLong()));
+
+        int[] asX = new int[3]; // A mit 'X': [Siege A, Unentschieden, Siege B]
+        int[] asO = new int[3]; // A mit 'O'
+        Board board = new Board();
+        long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            boolean aStarts = (game & 1) == 0;
+            char winner = Tournament.playGame(board, aStarts ? aAsX : bAsX, aStarts ? bAsO : aAsO);
+            int[] results = aStarts ? asX : asO;
+            char symbolA = aStarts ? 'X' : 'O';
+            results[winner == ' ' ? 1 : winner == symbolA ? 0 : 2]++;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%s gegen %s: %d Spiele in %.2f s (%.0f Spiele/s)%n", specA, specB, games, seconds,
+                games / seconds);
+        System.out.printf("%-15s %8s %14s %8s%n", "", "Siege A", "Unentschieden", "Siege B");
+        System.out.printf("%-15s %8d %14d %8d%n", "A beginnt", asX[0], asX[1], asX[2]);
+        System.out.printf("%-15s %8d %14d %8d%n", "B beginnt", asO[0], asO[1], asO[2]);
+        System.out.printf("%-15s %8d %14d %8d%n", "gesamt", asX[0] + asO[0], asX[1] + asO[1], asX[2] + asO[2]);
+    }
+
+    /**
+     * Jeder gegen jeden, jede Paarung spielt {@code --games} Spiele mit jeder Farbverteilung.
+     * Die Ergebnisse der Matches werden laufend ausgegeben.
+     */
+    private void tournament() {
+        if (positional.size() < 3) {
+            throw new IllegalArgumentException("Ein Turnier braucht mindestens zwei Spieler");
+        }
+        List<Entrant> entrants = new ArrayList<>();
+        for (String spec : positional.subList(1, positional.size())) {
+            entrants.add(Agents.entrant(spec));
+        }
+        Tournament tournament = new Tournament(entrants, Integer.parseInt(option("games", "1000")),
+                Integer.parseInt(option("threads", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Long.parseLong(option("seed", String.valueOf(System.nanoTime()))));
+        tournament.setListener((result, finished, total) -> System.out.printf(
+                "[%d/%d] %s (X) gegen %s (O): %d/%d/%d%n", finished, total,
+                entrants.get(result.playerX()).name(), entrants.get(result.playerO()).name(),
+                result.xWins(), result.draws(), result.oWins()));
+
+        TournamentResult result = tournament.run();
+        System.out.println();
+        System.out.print(result.format());
+    }
+
+    // Prüft die gierige Strategie einer Q-Tabelle gegen alle Zugfolgen des Gegners
+    private void evaluate() {
+        String fileName = option("qtable", positional.size() > 1 ? positional.get(1) : "qtable.csv");
+        TicTacToeAI ai = Agents.loadAI(fileName);
+        PolicyEvaluator.Report report = new PolicyEvaluator().evaluate(ai);
+        System.out.println(fileName + " (" + ai.getQTable().size() + " Zustände)");
+        System.out.println(report);
+        for (PolicyEvaluator.Result result : List.of(report.aiFirst(), report.aiSecond())) {
+            for (PolicyEvaluator.Mistake mistake : result.mistakes()) {
+                System.out.println((result.aiFirst() ? "KI beginnt: " : "Gegner beginnt: ") + mistake);
+            }
+        }
+    }
+
+    private static UpdateRule parseRule(String name) {
+        if (name.startsWith("qlambda")) {
+            return new QLambdaRule(name.contains(":") ? Double.parseDouble(name.substring(8)) : 0.8);
+        }
+        return switch (name) {
+            case "mc" -> new MonteCarloRule();
+            case "q" -> new QLearningRule();
+            case "sarsa" -> new SarsaRule();
+            default -> throw new IllegalArgumentException("Unbekannte Update-Regel: " + name);
+        };
+    }
+
+    private String argument(int index, String name) {
+        if (positional.size() <= index) {
+            throw new IllegalArgumentException("Fehlendes Argument: " + name);
+        }
+        return positional.get(index);
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+}
@@ -1,14 +1,20 @@
 package controller;
 
 import ai.*;
+import javafx.application.Platform;
 import model.Board;
 import model.Player;
 import utility.QTableHandler;
 import view.GameViewGUI;
 
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
-import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Steuert den Spielablauf von Tic Tac Toe.
@@ -20,12 +26,20 @@ public class GameController {
     private Player aiPlayer; // Spieler: KI
     private GameViewGUI view; // Verbindung zur GUI
     private TicTacToeAI ai; // KI-Logik
+    private AnytimeAI moveProvider; // berechnet die Züge der KI im Spiel (Standard: die lernende KI selbst)
+    private final ExecutorService aiExecutor; // Hintergrund-Thread für die Zugberechnung
+    private Future<?> pendingMove; // laufende Zugberechnung
+    private int gameGeneration; // wird bei jedem neuen Spiel erhöht, veraltete Ergebnisse werden verworfen
+    private long moveTimeBudgetMillis = 1000; // maximale Bedenkzeit der KI
+    private volatile TrainingEngine trainingEngine; // laufendes Training im Hintergrund (null = kein Training)
     private TrainingAI trainer;  // Trainings-KI
-    private List<String> stateHistory;  // Liste der Spielfeldzustände eines Spiels
-    private List<Integer> moveHistory; // Liste der KI-Züge eines Spiels
+    private final QTablePersistence persistence; // einzige Stelle, die qtable.csv schreibt (Spiele und Training)
+    private final OnlineLearner learner; // lernt beendete Spiele im Hintergrund
+    private final int[] stateHistory = new int[5]; // kanonische Spielfeldzustände vor den KI-Zügen eines Spiels
+    private final int[] moveHistory = new int[5]; // kanonische KI-Züge eines Spiels
+    private int historyLength;
     private Player currentPlayer; // Aktueller Spieler ('X' oder 'O')
     private boolean end = false;
-    private int[] wins = new int[3];
 
     /**
      * Konstruktor, der die GUI-Instanz entgegennimmt.
@@ -43,11 +57,31 @@ public class GameController {
                 Double.parseDouble(view.getDiscountFactorField().getText()),
                 Double.parseDouble(view.getExplorationRateField().getText())
         );
-        this.stateHistory = new ArrayList<>();
-        this.moveHistory = new ArrayList<>();
+        this.moveProvider = ai;
+
+        // ein einzelner Daemon-Thread, damit die Berechnung das Beenden der Anwendung nicht blockiert
+        this.aiExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai-move");
+            thread.setDaemon(true);
+            return thread;
+        });
 
         // Laden der Q-Tabelle
         ai.loadQTable("qtable.csv");
+
+        // Q-Tabelle alle 10 Spiele bzw. spätestens nach einer Minute und beim Beenden speichern
+        persistence = new QTablePersistence(ai, "qtable.csv");
+        usePlayPersistence();
+
+        // beendete Spiele werden vom Learner-Thread gelernt und gespeichert, nicht im JavaFX-Thread
+        learner = new OnlineLearner(ai, 1000, OnlineLearner.OverflowPolicy.DROP_OLDEST);
+        learner.setPersistence(persistence);
+        learner.setPublishing(false); // die GUI zieht und trainiert nach awaitIdle() direkt mit der KI
+        learner.registerMBean("gui");
+        learner.start();
+
+        // beim Beenden der JVM ohne Schließen des Fensters: erst Training und Learner anhalten, dann speichern
+        persistence.registerShutdownHook(this::stopBackgroundWork);
     }
 
     /**
@@ -57,6 +91,10 @@ public class GameController {
      * @param col Die Spalte des Spielfelds, die der Spieler angeklickt hat.
      */
     public void handlePlayerMove(int row, int col) {
+        if (trainingEngine != null) {
+            view.displayMessage("Während des Trainings ist kein Spielzug möglich.");
+            return;
+        }
         if (currentPlayer == humanPlayer) {
             // Menschlicher Spieler macht einen Zug
             if (board.makeMove(row, col, currentPlayer.getSymbol())) {
@@ -70,38 +108,118 @@ public class GameController {
     }
 
     /**
-     * Führt den Zug der KI aus.
-     * Wird vom `processMove()` aufgerufen, wenn die KI am Zug ist.
+     * Startet die Berechnung des KI-Zugs im Hintergrund, damit die GUI während des Nachdenkens bedienbar bleibt.
+     * Wird vom `processMove()` aufgerufen, wenn die KI am Zug ist. Das Ergebnis wird über
+     * {@link Platform#runLater(Runnable)} im JavaFX-Thread ausgeführt.
      */
     private void performAIMove() {
 
-        // Zustand des Spielfelds abrufen
-        String state = board.getState();
+        // Zustand des Spielfelds abrufen (kodiert als Basis-3-Zahl)
+        int state = board.getEncodedState();
+        int generation = gameGeneration;
+        AnytimeAI provider = moveProvider;
+        long budget = moveTimeBudgetMillis;
 
-        boolean legalMove;
-        int move;
+        // während die KI überlegt, sind keine Eingaben auf dem Spielfeld möglich
+        view.disableAllButtons();
 
-        do {
-            // KI berechnet ihren nächsten Zug
-            move = ai.getMove(state);
-            //move = trainer.getMove(state);   //Test, um als Mensch gegen TrainingsAI zu spielen
-            int row = move / 3;
-            int col = move % 3;
+        pendingMove = aiExecutor.submit(() -> {
+            try {
+                // erst das letzte Spiel fertig lernen lassen, damit nur ein Thread auf die Q-Tabelle zugreift
+                learner.awaitIdle();
+                // KI berechnet ihren nächsten Zug (wählt nur aus freien Feldern, spätestens nach Ablauf des Budgets)
+                int move = provider.getMove(state, budget);
+                //move = trainer.getMove(state);   //Test, um als Mensch gegen TrainingsAI zu spielen
+                Platform.runLater(() -> applyAIMove(generation, state, move));
+            } catch (InterruptedException e) {
+                // abgebrochen (neues Spiel, Training oder Beenden), das Ergebnis wird nicht mehr gebraucht
+            } catch (RuntimeException e) {
+                // das Future wird nie abgefragt: Fehler daher selbst im JavaFX-Thread melden
+                Platform.runLater(() -> aiMoveFailed(generation, provider, e));
+            }
+        });
+    }
 
-            // KI führt den Zug aus
-            legalMove = board.makeMove(row, col, currentPlayer.getSymbol());
-        } while (!legalMove);   // wiederholen, bis der Zug gültig ist
+    /**
+     * Wird im JavaFX-Thread aufgerufen, wenn die Zugberechnung mit einem Fehler abbricht.
+     * Ist eine andere KI als die lernende eingestellt, übernimmt die lernende KI den Zug (und alle weiteren);
+     * sonst wird das Spiel beendet, damit es nicht dauerhaft bei "Die KI überlegt..." hängen bleibt.
+     */
+    private void aiMoveFailed(int generation, AnytimeAI provider, RuntimeException error) {
+        if (generation != gameGeneration || end || currentPlayer != aiPlayer) {
+            return;
+        }
+        pendingMove = null;
+
+        if (provider != ai) {
+            moveProvider = ai;
+            view.displayMessage("Fehler bei der Zugberechnung: " + error.getMessage()
+                    + "\nDie lernende KI übernimmt.");
+            performAIMove();
+        } else {
+            end = true;
+            view.renderBoard(board);
+            view.disableAllButtons();
+            view.displayMessage("Fehler bei der Zugberechnung der KI: " + error.getMessage()
+                    + "\nBitte ein neues Spiel starten.");
+        }
+    }
+
+    /**
+     * Führt den berechneten Zug der KI aus (im JavaFX-Thread).
+     * Ergebnisse aus einem inzwischen neu gestarteten Spiel werden verworfen.
+     */
+    private void applyAIMove(int generation, int state, int move) {
+        if (generation != gameGeneration || end || currentPlayer != aiPlayer || board.getEncodedState() != state) {
+            return;
+        }
+        pendingMove = null;
+
+        // KI führt den Zug aus
+        board.makeMove(move, currentPlayer.getSymbol());
 
         // Kanonischen Zustand und entsprechenden Zug speichern
-        String canonicalState = Transformations.getCanonicalState(state);
-        int canonicalMove = Transformations.transformToOriginalState(state, canonicalState, move);
-        stateHistory.add(canonicalState);
-        moveHistory.add(canonicalMove);
+        int canonicalState = Transformations.getCanonicalState(state);
+        int canonicalMove = Transformations.toCanonicalMove(state, move);
+        stateHistory[historyLength] = canonicalState;
+        moveHistory[historyLength] = canonicalMove;
+        historyLength++;
 
         // Spielfeld in der GUI aktualisieren
         processMove();
     }
 
+    /**
+     * Bricht eine laufende Zugberechnung ab; ihr Ergebnis wird nicht mehr ausgeführt.
+     * Wartet, bis der Hintergrund-Thread frei ist, damit danach niemand mehr auf die Q-Tabelle zugreift.
+     */
+    private void cancelAIMove() {
+        gameGeneration++;
+        if (pendingMove == null) {
+            return;
+        }
+        pendingMove.cancel(true); // unterbricht die Suche, anytime-fähige KIs liefern dann sofort
+        pendingMove = null;
+        try {
+            // der Executor hat nur einen Thread: die leere Aufgabe läuft erst nach der abgebrochenen
+            aiExecutor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            // Executor bereits beendet
+        }
+    }
+
+    /**
+     * Setzt ein laufendes Spiel fort, falls die KI am Zug ist (z. B. nach einem Training während ihres Zuges).
+     */
+    private void resumeAIMove() {
+        if (!end && currentPlayer == aiPlayer) {
+            view.displayMessage("Die KI überlegt...");
+            performAIMove();
+        }
+    }
+
     /**
      * Verarbeitet den aktuellen Spielzug (allgemein für Spieler und KI).
      */
@@ -112,18 +230,14 @@ public class GameController {
         // Prüfen, ob der aktuelle Spieler gewonnen hat
         if (board.checkWin(currentPlayer.getSymbol())) {
             view.displayMessage("Spieler " + currentPlayer.getName() + " hat gewonnen!");
-            wins[currentPlayer.getSymbol() == 'X' ? 0 : 1]++;
-            ai.propagateRewards(currentPlayer == humanPlayer ? -1.0 : 1.0, stateHistory, moveHistory); // Belohnung für die KI
-            endGame();
+            endGame(currentPlayer == humanPlayer ? -1.0 : 1.0); // Belohnung für die KI
             return;
         }
 
         // Prüfen, ob das Spielfeld voll ist (Unentschieden)
         if (board.isFull()) {
             view.displayMessage("Unentschieden! Niemand gewinnt.");
-            wins[2]++;
-            ai.propagateRewards(0.5, stateHistory, moveHistory); // leichte Belohnung
-            endGame();
+            endGame(0.5); // leichte Belohnung
             return;
         }
 
@@ -147,66 +261,201 @@ public class GameController {
     }
 
     /**
-     * Beendet das Spiel und speichert die Q-Tabelle.
+     * Beendet das Spiel und übergibt den Verlauf an den {@link OnlineLearner}
+     * (lernt im Hintergrund, die Q-Tabelle wird gebündelt gespeichert).
+     *
+     * @param reward Die finale Belohnung für die KI.
      */
-    private void endGame() {
+    private void endGame(double reward) {
 //        view.displayMessage("Das Spiel ist beendet. Danke fürs Spielen!");
         end = true;
 
         // Alle Spielfelder in der GUI deaktivieren
         view.disableAllButtons();
 
-        // Q-Tabelle speichern (falls verwendet)
-        ai.saveQTable("qtable.csv");
+        // Lernen und Speichern übernimmt der Learner-Thread
+        learner.submit(Trajectory.of(stateHistory, moveHistory, historyLength, reward));
 
 //        System.out.println("moveHistory: " + moveHistory);
 //        System.out.println("stateHistory: " + stateHistory);
     }
 
+    /**
+     * Startet das Training der KI im Hintergrund über die {@link TrainingEngine}.
+     * Die GUI wird höchstens alle 200 ms über den Fortschritt informiert (Spiele, Spiele/s, gleitende Raten,
+     * Größe der Q-Tabelle). Das Training kann pausiert und gestoppt werden, das Gelernte bleibt erhalten.
+     * Die {@link TrainingMetrics} sind während des Trainings über JMX sichtbar und werden danach
+     * in training-metrics.csv und training-metrics.json gespeichert.
+     * Ist "bei Konvergenz beenden" gewählt, endet das Training vorzeitig, sobald eines der
+     * {@link ConvergenceCriteria#defaults() Standardkriterien} erfüllt ist.
+     *
+     * @param numGames Anzahl der Trainingsspiele.
+     */
     public void trainAI(int numGames) {
+        if (trainingEngine != null) {
+            return; // es läuft bereits ein Training
+        }
+
+        // die KI darf nicht gleichzeitig im Spiel rechnen und trainiert werden
+        cancelAIMove();
 
         // Auswahl der Trainings-AI basierend auf der Radiobutton-Auswahl
         if (view.getRandomOpponentButton().isSelected()) {
             this.trainer = new RandomTrainingAI();
         } else {
-            this.trainer = new PerfectTrainingAI('X', 'O');
+            this.trainer = new OracleTrainingAI('X'); // perfekter Gegner ohne Suche (vorberechnet)
         }
 
-        int move;
+        applyParameters();
+        ConvergenceCriteria criteria = view.getEarlyStoppingBox().isSelected() ? ConvergenceCriteria.defaults() : null;
 
-        for (int i = 0; i < numGames; i++) {
+        TrainingEngine engine = new TrainingEngine(ai, trainer);
+        engine.setStatisticsIntervalMillis(200);
+        engine.setListener(new TrainingListener() {
+            @Override
+            public void onProgress(int gamesPlayed, int totalGames, int[] results) {
+                // Fortschritt wird zeitgesteuert über onStatistics gemeldet
+            }
 
-            startNewGame();
-            do {
-                move = trainer.getMove(board.getState());
-                //System.out.println("Trainer Move: " + move);
-                int row = move / 3;
-                int col = move % 3;
+            @Override
+            public void onStatistics(TrainingProgress progress) {
+                Platform.runLater(() -> view.updateTrainingProgress(progress));
+            }
+        });
+
+        // während des Trainings nur zeitgesteuert speichern (Schutz vor Datenverlust bei langen Läufen);
+        // dieselbe Persistenz wie im Spiel, damit nie zwei Threads gleichzeitig qtable.csv schreiben
+        engine.setPersistence(persistence);
+
+        // Kennzahlen zur Konvergenz: live über JMX, nach dem Training als CSV und JSON
+        TrainingMetrics metrics = new TrainingMetrics();
+        metrics.registerMBean("gui");
+        engine.setMetrics(metrics);
+
+        trainingEngine = engine;
+        view.setTrainingRunning(true);
+        view.displayMessage("Training läuft...");
+
+        // gleicher Thread wie die Zugberechnung: Training und KI-Zug greifen nie gleichzeitig auf die Q-Tabelle zu
+        aiExecutor.submit(() -> {
+            try {
+                learner.awaitIdle(); // noch nicht gelernte Spiele zuerst übernehmen
+                persistence.setFlushEveryGames(0);
+                persistence.setFlushIntervalMillis(30_000);
+                TrainingResult result = engine.train(numGames, criteria);
+                // Q-Tabelle einmalig nach dem Training speichern
+                persistence.flush();
+                exportMetrics(metrics);
+                Platform.runLater(() -> trainingFinished(result, null));
+            } catch (InterruptedException e) {
+                persistence.flush();
+                Platform.runLater(() -> trainingFinished(null, new IllegalStateException("Training wurde unterbrochen", e)));
+            } catch (RuntimeException e) {
+                persistence.flush();
+                Platform.runLater(() -> trainingFinished(null, e));
+            } finally {
+                usePlayPersistence();
+                metrics.unregisterMBean();
+            }
+        });
+    }
 
-                handlePlayerMove(row, col);
-                // performAIMove() wird automatisch in processMove() aufgerufen
+    // Ein Fehler beim Schreiben der Kennzahlen verwirft nicht das Ergebnis des Trainings
+    private void exportMetrics(TrainingMetrics metrics) {
+        try {
+            metrics.export("training-metrics.csv");
+            metrics.export("training-metrics.json");
+        } catch (UncheckedIOException e) {
+            System.err.println(e.getMessage() + ": " + e.getCause().getMessage());
+        }
+    }
 
-            } while (!end);
+    /**
+     * Wird nach dem Training (regulär, gestoppt oder mit Fehler) im JavaFX-Thread aufgerufen.
+     */
+    private void trainingFinished(TrainingResult result, RuntimeException error) {
+        trainingEngine = null;
+        view.setTrainingRunning(false);
+
+        // Spielfeld wieder freigeben (bei beendetem Spiel bleibt es gesperrt)
+        view.renderBoard(board);
+        if (end) {
+            view.disableAllButtons();
         }
 
-        view.displayMessage("Trainer: " + wins[0] + ", AI: " + wins[1] + ", Unentschieden: " + wins[2]);
-        wins[0] = 0;
-        wins[2] = 0;
-        wins[1] = 0;
+        if (error != null) {
+            view.displayMessage("Fehler beim Training: " + error.getMessage());
+        } else {
+            int[] results = result.results();
+            String message = "Trainer: " + results[0] + ", AI: " + results[1] + ", Unentschieden: " + results[2];
+            if (result.converged()) {
+                message += "\nKonvergiert (" + result.stopReason().getDescription() + "), "
+                        + result.gamesSaved() + " Spiele eingespart";
+            }
+            view.displayMessage(message);
+        }
+        resumeAIMove();
     }
 
-    public void startNewGame() {
+    // Hält das laufende Training an bzw. setzt es fort
+    public void pauseTraining() {
+        TrainingEngine engine = trainingEngine;
+        if (engine != null) {
+            engine.pause();
+            view.displayMessage("Training pausiert.");
+        }
+    }
 
-        // Aktuelle Werte aus den Textfeldern abrufen
+    public void resumeTraining() {
+        TrainingEngine engine = trainingEngine;
+        if (engine != null) {
+            engine.resume();
+            view.displayMessage("Training läuft...");
+        }
+    }
+
+    // Beendet das laufende Training nach dem aktuellen Spiel, das bisher Gelernte bleibt erhalten
+    public void stopTraining() {
+        TrainingEngine engine = trainingEngine;
+        if (engine != null) {
+            engine.requestStop();
+            view.displayMessage("Training wird beendet...");
+        }
+    }
+
+    public boolean isTraining() {
+        return trainingEngine != null;
+    }
+
+    public boolean isTrainingPaused() {
+        TrainingEngine engine = trainingEngine;
+        return engine != null && engine.isPaused();
+    }
+
+    /**
+     * Übernimmt die aktuellen Werte aus den Textfeldern in die KI.
+     */
+    private void applyParameters() {
         ai.setLearningRate(Double.parseDouble(view.getLearningRateField().getText()));
         ai.setDiscountFactor(Double.parseDouble(view.getDiscountFactorField().getText()));
         ai.setExplorationRate(Double.parseDouble(view.getExplorationRateField().getText()));
+    }
+
+    public void startNewGame() {
+        if (trainingEngine != null) {
+            return; // erst nach dem Training
+        }
+
+        // eine noch laufende Zugberechnung des alten Spiels verwerfen
+        cancelAIMove();
+
+        // Aktuelle Werte aus den Textfeldern abrufen
+        applyParameters();
 
         // alle Werte auf Anfang
         board.resetBoard();
         currentPlayer = humanPlayer;
-        stateHistory.clear();
-        moveHistory.clear();
+        historyLength = 0;
         end = false;
         view.renderBoard(board);
     }
@@ -220,13 +469,72 @@ public class GameController {
         return board;
     }
 
+    /**
+     * Speichert ausstehende Änderungen der Q-Tabelle. Wird beim Schließen der Anwendung aufgerufen.
+     */
+    public void shutdown() {
+        cancelAIMove(); // unterbricht eine laufende Zugberechnung und wartet darauf
+        stopBackgroundWork();
+    }
+
+    // Beendet Training, Zugberechnung und Learner; auch aus dem Shutdown-Hook der Persistenz aufgerufen
+    private void stopBackgroundWork() {
+        TrainingEngine engine = trainingEngine;
+        if (engine != null) {
+            engine.requestStop();
+        }
+
+        // das Training endet nach dem aktuellen Spiel und speichert dabei; erst danach darf der Learner speichern
+        aiExecutor.shutdown();
+        try {
+            if (!aiExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("Training wurde nicht rechtzeitig beendet.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        learner.close(); // lernt die restlichen Spiele und speichert die Q-Tabelle
+    }
+
+    // Speicherbedingungen für gespielte Partien: alle 10 Spiele bzw. spätestens nach einer Minute
+    private void usePlayPersistence() {
+        persistence.setFlushEveryGames(10);
+        persistence.setFlushIntervalMillis(60_000);
+    }
+
+    /**
+     * Setzt die maximale Bedenkzeit der KI pro Zug.
+     *
+     * @param moveTimeBudgetMillis Zeit in Millisekunden (0 = Voreinstellung der KI).
+     */
+    public void setMoveTimeBudgetMillis(long moveTimeBudgetMillis) {
+        this.moveTimeBudgetMillis = Math.max(0, moveTimeBudgetMillis);
+    }
+
+    /**
+     * Legt fest, welche KI im Spiel die Züge berechnet (z. B. eine {@link MctsTrainingAI} als starker Gegner).
+     * Die lernende KI wertet die Partien weiterhin aus.
+     *
+     * @param moveProvider Die KI für die Zugberechnung, null = die lernende KI.
+     */
+    public void setMoveProvider(AnytimeAI moveProvider) {
+        this.moveProvider = moveProvider != null ? moveProvider : ai;
+    }
+
     public void clearLearningProgress() {
+        if (trainingEngine != null) {
+            view.displayMessage("Bitte zuerst das Training beenden.");
+            return;
+        }
+        cancelAIMove();
         try {
+            learner.awaitIdle(); // danach schreibt der Learner nicht mehr in die Q-Tabelle
             // schreibe leere Q-Tabelle in die CSV-Datei
             QTableHandler.saveQTable(new HashMap<>(), "qtable.csv");
             // Lade die leere Q-Tabelle in der KI
             ai.loadQTable("qtable.csv");
             view.displayMessage("Lernfortschritt erfolgreich gelöscht.");
+            resumeAIMove();
         } catch (Exception e) {
             view.displayMessage("Fehler beim Löschen des Lernfortschritts: " + e.getMessage());
         }
@@ -1,11 +1,73 @@
 package model;
 
+import java.util.Arrays;
+import java.util.Random;
+
 /**
  * Repräsentiert das Spielfeld für Tic Tac Toe.
  * Verwaltet den Zustand des Spiels, überprüft Züge und den Spielstatus.
  */
 public class Board {
+
+    /**
+     * Anzahl aller möglichen Kodierungen (3^9) eines Spielfelds als Basis-3-Zahl.
+     */
+    public static final int NUM_STATES = 19683;
+
+    // Stellenwerte der Felder 0-8: Feld 0 ist die höchstwertige Stelle.
+    // Dadurch entspricht die Reihenfolge der Zahlen der lexikographischen Reihenfolge der Strings.
+    private static final int[] POW3 = {6561, 2187, 729, 243, 81, 27, 9, 3, 1};
+
+    /**
+     * Bitmaske eines leeren Spielfelds: Bit i gesetzt = Feld i (Zeile * 3 + Spalte) ist frei.
+     */
+    public static final int ALL_CELLS = 0x1FF;
+
+    // Zwischenspeicher für die String-Darstellung jeder Kodierung (wird bei Bedarf gefüllt)
+    private static final String[] DECODED = new String[NUM_STATES];
+
+    // Vorberechnete Bitmaske der freien Felder für jede Kodierung
+    private static final short[] EMPTY_MASKS = new short[NUM_STATES];
+
+    /**
+     * Alle Gewinnlinien (Reihen, Spalten, Diagonalen) als Feld-Indizes.
+     */
+    public static final int[][] LINES = {
+            {0, 1, 2}, {3, 4, 5}, {6, 7, 8},
+            {0, 3, 6}, {1, 4, 7}, {2, 5, 8},
+            {0, 4, 8}, {2, 4, 6}
+    };
+
+    // Für jedes Feld die Indizes der Linien, zu denen es gehört
+    private static final int[][] CELL_LINES = new int[9][];
+
+    static {
+        for (int cell = 0; cell < 9; cell++) {
+            int count = 0;
+            int[] lines = new int[4];
+            for (int line = 0; line < LINES.length; line++) {
+                for (int member : LINES[line]) {
+                    if (member == cell) lines[count++] = line;
+                }
+            }
+            CELL_LINES[cell] = Arrays.copyOf(lines, count);
+        }
+
+        for (int state = 0; state < NUM_STATES; state++) {
+            int mask = 0;
+            for (int i = 0; i < 9; i++) {
+                if (cellAt(state, i) == 0) mask |= 1 << i;
+            }
+            EMPTY_MASKS[state] = (short) mask;
+        }
+    }
+
     private char[][] board;
+    private int encodedState; // aktueller Zustand als Basis-3-Zahl, wird in makeMove() mitgeführt
+    private int emptyMask = ALL_CELLS; // freie Felder als Bitmaske, wird in makeMove() mitgeführt
+    private final int[][] lineCounts = new int[3][LINES.length]; // Steine je Spieler (Ziffer) und Linie
+    private final int[] completedLines = new int[3]; // vollständige Linien je Spieler (Ziffer)
+    private int moveCount; // Anzahl der gesetzten Steine
 
     /**
      * Initialisiert ein leeres Spielfeld.
@@ -19,6 +81,21 @@ public class Board {
         }
     }
 
+    /**
+     * Initialisiert ein Spielfeld mit einem kodierten Zustand.
+     *
+     * @param encodedState Der Zustand als Basis-3-Zahl (siehe {@link #getEncodedState()}).
+     */
+    public Board(int encodedState) {
+        this();
+        for (int i = 0; i < 9; i++) {
+            int digit = cellAt(encodedState, i);
+            if (digit != 0) {
+                place(i, decodeSymbol(digit));
+            }
+        }
+    }
+
     public void resetBoard() {
 
         for (int i = 0; i < 3; i++) {
@@ -26,6 +103,13 @@ public class Board {
                 board[i][j] = ' '; // Jede Zelle wird als leer (' ') gesetzt.
             }
         }
+        encodedState = 0;
+        emptyMask = ALL_CELLS;
+        for (int[] counts : lineCounts) {
+            Arrays.fill(counts, 0);
+        }
+        Arrays.fill(completedLines, 0);
+        moveCount = 0;
     }
 
     /**
@@ -39,14 +123,71 @@ public class Board {
     public boolean makeMove(int row, int col, char playerSymbol) {
 
         if (row >= 0 && row <= 2 && col >= 0 && col <= 2) {     // gültige Eingabewerte?
-            if (board[row][col] == ' ') {       // Ist das Feld noch frei?
-                board[row][col] = playerSymbol;
-                return true;
-            }
+            return makeMove(row * 3 + col, playerSymbol);
         }
         return false;
     }
 
+    /**
+     * Führt einen Zug auf dem Spielfeld aus und aktualisiert die Linienzähler.
+     *
+     * @param index        Das Feld (0-8, Zeile * 3 + Spalte).
+     * @param playerSymbol Das Symbol des Spielers ('X' oder 'O').
+     * @return true, wenn der Zug gültig ist; false, wenn das Feld bereits belegt oder das Symbol weder
+     * 'X' noch 'O' ist.
+     */
+    public boolean makeMove(int index, char playerSymbol) {
+        if (index < 0 || index > 8 || (emptyMask & (1 << index)) == 0) {     // gültig und noch frei?
+            return false;
+        }
+        if (playerSymbol != 'X' && playerSymbol != 'O') {
+            return false; // sonst würden Maske und Zähler ohne Änderung des Zustands fortgeschrieben
+        }
+        place(index, playerSymbol);
+        return true;
+    }
+
+    // Setzt einen Stein auf ein freies Feld und führt Zustand, Maske und Linienzähler mit
+    private void place(int index, char playerSymbol) {
+        int digit = encodeSymbol(playerSymbol);
+        board[index / 3][index % 3] = playerSymbol;
+        encodedState += digit * POW3[index];
+        emptyMask &= ~(1 << index);
+        moveCount++;
+
+        for (int line : CELL_LINES[index]) {
+            if (++lineCounts[digit][line] == 3) {
+                completedLines[digit]++;
+            }
+        }
+    }
+
+    /**
+     * Nimmt einen Zug zurück (z. B. für Suchalgorithmen, die Züge ausprobieren).
+     *
+     * @param index Das Feld (0-8), das wieder geleert wird.
+     * @return true, wenn das Feld belegt war; sonst false.
+     */
+    public boolean undoMove(int index) {
+        if (index < 0 || index > 8 || (emptyMask & (1 << index)) != 0) {
+            return false;
+        }
+
+        char playerSymbol = board[index / 3][index % 3];
+        int digit = encodeSymbol(playerSymbol);
+        board[index / 3][index % 3] = ' ';
+        encodedState -= digit * POW3[index];
+        emptyMask |= 1 << index;
+        moveCount--;
+
+        for (int line : CELL_LINES[index]) {
+            if (lineCounts[digit][line]-- == 3) {
+                completedLines[digit]--;
+            }
+        }
+        return true;
+    }
+
     /**
      * Überprüft, ob der angegebene Spieler gewonnen hat.
      *
@@ -54,17 +195,9 @@ public class Board {
      * @return true, wenn der Spieler gewonnen hat; sonst false.
      */
     public boolean checkWin(char player) {
-
-        for (int i = 0; i < 3; i++) {
-            // Prüfung der Reihen und Spalten
-            if ((board[i][0] == player && board[i][1] == player && board[i][2] == player) ||
-                    (board[0][i] == player && board[1][i] == player && board[2][i] == player)) {
-                return true;
-            }
-        }
-        // Prüfung der Diagonalen
-        return (board[0][0] == player && board[1][1] == player && board[2][2] == player) ||
-                (board[0][2] == player && board[1][1] == player && board[2][0] == player);
+        // die Linienzähler werden in makeMove() mitgeführt, daher keine Prüfung aller Linien nötig
+        int digit = encodeSymbol(player);
+        return digit != 0 && completedLines[digit] > 0;
     }
 
     /**
@@ -73,12 +206,36 @@ public class Board {
      * @return true, wenn keine leeren Felder mehr vorhanden sind; sonst false.
      */
     public boolean isFull() {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                if (board[i][j] == ' ') return false;
-            }
-        }
-        return true;
+        return moveCount == 9;
+    }
+
+    /**
+     * Gibt die Anzahl der gesetzten Steine zurück.
+     *
+     * @return Anzahl der bisherigen Züge.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Überprüft, ob das Spiel beendet ist (Sieg eines Spielers oder volles Spielfeld).
+     *
+     * @return true, wenn das Spiel beendet ist.
+     */
+    public boolean isGameOver() {
+        return completedLines[1] > 0 || completedLines[2] > 0 || moveCount == 9;
+    }
+
+    /**
+     * Gibt den Gewinner zurück.
+     *
+     * @return 'X' oder 'O', bzw. ' ', wenn (noch) niemand gewonnen hat.
+     */
+    public char getWinner() {
+        if (completedLines[2] > 0) return 'X';
+        if (completedLines[1] > 0) return 'O';
+        return ' ';
     }
 
     /**
@@ -105,4 +262,189 @@ public class Board {
         }
         return state.toString();
     }
+
+    /**
+     * Gibt den aktuellen Zustand als Basis-3-Zahl zurück (0 bis 19682).
+     * Im Gegensatz zu {@link #getState()} wird dabei kein Objekt erzeugt.
+     *
+     * @return Der kodierte Zustand.
+     */
+    public int getEncodedState() {
+        return encodedState;
+    }
+
+    /**
+     * Gibt die freien Felder als Bitmaske zurück (Bit i gesetzt = Feld i ist frei).
+     *
+     * @return Die Bitmaske der gültigen Züge.
+     */
+    public int getEmptyMask() {
+        return emptyMask;
+    }
+
+    /**
+     * Gibt die freien Felder eines kodierten Zustands als Bitmaske zurück (ein Array-Zugriff).
+     *
+     * @param state Der kodierte Zustand.
+     * @return Die Bitmaske der gültigen Züge.
+     */
+    public static int emptyMask(int state) {
+        return EMPTY_MASKS[state];
+    }
+
+    /**
+     * Wählt gleichverteilt einen Zug aus einer Bitmaske gültiger Züge, ohne ungültige Züge zu verwerfen.
+     *
+     * @param mask   Bitmaske der gültigen Züge (darf nicht 0 sein).
+     * @param random Der Zufallsgenerator.
+     * @return Der gewählte Zug (0-8).
+     */
+    public static int randomMove(int mask, Random random) {
+        // n-tes gesetztes Bit bestimmen
+        for (int n = random.nextInt(Integer.bitCount(mask)); n > 0; n--) {
+            mask &= mask - 1;
+        }
+        return Integer.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Kodiert ein Symbol als Ziffer: ' ' = 0, 'O' = 1, 'X' = 2.
+     *
+     * @param symbol Das Symbol.
+     * @return Die Ziffer.
+     */
+    public static int encodeSymbol(char symbol) {
+        return switch (symbol) {
+            case 'O' -> 1;
+            case 'X' -> 2;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Wandelt eine Ziffer (0, 1, 2) zurück in das Symbol (' ', 'O', 'X').
+     *
+     * @param digit Die Ziffer.
+     * @return Das Symbol.
+     */
+    public static char decodeSymbol(int digit) {
+        return digit == 1 ? 'O' : digit == 2 ? 'X' : ' ';
+    }
+
+    /**
+     * Kodiert einen Zustand in String-Form als Basis-3-Zahl.
+     *
+     * @param state Der Zustand als String mit 9 Zeichen.
+     * @return Der kodierte Zustand.
+     */
+    public static int encode(String state) {
+        int code = 0;
+        for (int i = 0; i < 9; i++) {
+            code += encodeSymbol(state.charAt(i)) * POW3[i];
+        }
+        return code;
+    }
+
+    /**
+     * Wandelt einen kodierten Zustand in die String-Form um.
+     * Die Strings werden zwischengespeichert, wiederholte Aufrufe erzeugen also keine neuen Objekte.
+     *
+     * @param state Der kodierte Zustand.
+     * @return Der Zustand als String mit 9 Zeichen.
+     */
+    public static String decode(int state) {
+        String decoded = DECODED[state];
+        if (decoded == null) {
+            char[] cells = new char[9];
+            for (int i = 0; i < 9; i++) {
+                cells[i] = symbolAt(state, i);
+            }
+            decoded = new String(cells);
+            DECODED[state] = decoded;
+        }
+        return decoded;
+    }
+
+    /**
+     * Gibt die Ziffer eines Feldes zurück (0 = leer, 1 = 'O', 2 = 'X').
+     *
+     * @param state Der kodierte Zustand.
+     * @param index Das Feld (0-8).
+     * @return Die Ziffer des Feldes.
+     */
+    public static int cellAt(int state, int index) {
+        return (state / POW3[index]) % 3;
+    }
+
+    /**
+     * Gibt das Symbol eines Feldes zurück.
+     *
+     * @param state Der kodierte Zustand.
+     * @param index Das Feld (0-8).
+     * @return Das Symbol (' ', 'O' oder 'X').
+     */
+    public static char symbolAt(int state, int index) {
+        return decodeSymbol(cellAt(state, index));
+    }
+
+    /**
+     * Setzt ein Symbol auf ein (leeres) Feld eines kodierten Zustands.
+     *
+     * @param state  Der kodierte Zustand.
+     * @param index  Das Feld (0-8), muss leer sein.
+     * @param symbol Das Symbol ('X' oder 'O').
+     * @return Der neue kodierte Zustand.
+     * @throws IllegalArgumentException wenn das Symbol weder 'X' noch 'O' ist.
+     */
+    public static int withMove(int state, int index, char symbol) {
+        int digit = encodeSymbol(symbol);
+        if (digit == 0) {
+            throw new IllegalArgumentException("Ungültiges Symbol: '" + symbol + "'");
+        }
+        return state + digit * POW3[index];
+    }
+
+    /**
+     * Gibt den Stellenwert eines Feldes zurück (3^(8 - index)).
+     *
+     * @param index Das Feld (0-8).
+     * @return Der Stellenwert.
+     */
+    public static int placeValue(int index) {
+        return POW3[index];
+    }
+
+    /**
+     * Prüft, ob ein Spieler in einem kodierten Zustand eine vollständige Linie hat.
+     *
+     * @param state  Der kodierte Zustand.
+     * @param symbol Das Symbol des Spielers ('X' oder 'O').
+     * @return true, wenn der Spieler gewonnen hat.
+     */
+    public static boolean hasLine(int state, char symbol) {
+        int digit = encodeSymbol(symbol);
+        for (int[] line : LINES) {
+            if (cellAt(state, line[0]) == digit && cellAt(state, line[1]) == digit && cellAt(state, line[2]) == digit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vertauscht 'X' und 'O' in einem kodierten Zustand (z. B. damit eine als 'O' gelernte Strategie 'X' spielen kann).
+     *
+     * @param state Der kodierte Zustand.
+     * @return Der Zustand mit vertauschten Farben.
+     */
+    public static int swapColors(int state) {
+        int swapped = 0;
+        for (int i = 0; i < 9; i++) {
+            int digit = cellAt(state, i);
+            if (digit != 0) {
+                swapped += (3 - digit) * POW3[i];
+            }
+        }
+        return swapped;
+    }
 }
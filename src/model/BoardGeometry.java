@@ -0,0 +1,248 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Beschreibt ein quadratisches Spielfeld mit N x N Feldern, auf dem K Steine in einer Reihe gewinnen
+ * (z. B. 3x3/3 = Tic Tac Toe, 5x5/4, 7x7/5 = Gomoku-Variante).
+ * Alle Tabellen (Gewinnlinien als Bitmasken, Symmetrien) werden einmalig pro Geometrie berechnet.
+ * Feld i entspricht Zeile * N + Spalte und Bit i der Bitboards in {@link GridBoard}.
+ */
+public final class BoardGeometry {
+
+    /**
+     * Kleinste und größte unterstützte Seitenlänge. Bei 7x7 = 49 Feldern passt ein Bitboard in ein long,
+     * das oberste Bit bleibt frei (wird von {@code ai.GridQTable} als Belegt-Markierung genutzt).
+     */
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 7;
+
+    /**
+     * Anzahl der Symmetrien eines quadratischen Spielfelds (4 Drehungen, 4 Spiegelungen).
+     */
+    public static final int NUM_SYMMETRIES = 8;
+
+    private static final ConcurrentHashMap<Integer, BoardGeometry> CACHE = new ConcurrentHashMap<>();
+
+    private final int size; // Seitenlänge N
+    private final int winLength; // K Steine in einer Reihe
+    private final int cells; // N * N
+    private final long allCells; // Bitmaske aller Felder
+    private final long[] winMasks; // alle Gewinnlinien als Bitmasken
+    private final long[][] cellWinMasks; // für jedes Feld die Gewinnlinien, die es enthalten
+    private final int[][] symmetries; // transformiert[j] = original[symmetries[s][j]]
+    private final int[][] inverse; // Feld m des Originals landet auf Feld inverse[s][m]
+
+    private BoardGeometry(int size, int winLength) {
+        this.size = size;
+        this.winLength = winLength;
+        this.cells = size * size;
+        this.allCells = (1L << cells) - 1;
+
+        // Gewinnlinien: waagerecht, senkrecht und beide Diagonalrichtungen
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        long[] masks = new long[4 * cells];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                for (int[] d : directions) {
+                    int endRow = row + d[0] * (winLength - 1);
+                    int endCol = col + d[1] * (winLength - 1);
+                    if (endRow < 0 || endRow >= size || endCol < 0 || endCol >= size) continue;
+                    long mask = 0;
+                    for (int k = 0; k < winLength; k++) {
+                        mask |= 1L << ((row + d[0] * k) * size + col + d[1] * k);
+                    }
+                    masks[count++] = mask;
+                }
+            }
+        }
+        this.winMasks = Arrays.copyOf(masks, count);
+
+        this.cellWinMasks = new long[cells][];
+        for (int cell = 0; cell < cells; cell++) {
+            int n = 0;
+            for (long mask : winMasks) {
+                if ((mask & (1L << cell)) != 0) n++;
+            }
+            long[] own = new long[n];
+            n = 0;
+            for (long mask : winMasks) {
+                if ((mask & (1L << cell)) != 0) own[n++] = mask;
+            }
+            cellWinMasks[cell] = own;
+        }
+
+        this.symmetries = symmetries(size);
+        this.inverse = new int[NUM_SYMMETRIES][cells];
+        for (int s = 0; s < NUM_SYMMETRIES; s++) {
+            for (int j = 0; j < cells; j++) {
+                inverse[s][symmetries[s][j]] = j;
+            }
+        }
+    }
+
+    /**
+     * Gibt die (zwischengespeicherte) Geometrie für N x N Felder mit K in einer Reihe zurück.
+     *
+     * @param size      Seitenlänge N ({@link #MIN_SIZE} bis {@link #MAX_SIZE}).
+     * @param winLength Anzahl K der Steine in einer Reihe für einen Sieg (2 bis N).
+     * @return Die Geometrie.
+     */
+    public static BoardGeometry of(int size, int winLength) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Seitenlänge muss zwischen " + MIN_SIZE + " und " + MAX_SIZE
+                    + " liegen: " + size);
+        }
+        if (winLength < 2 || winLength > size) {
+            throw new IllegalArgumentException("Ungültige Gewinnlänge für " + size + "x" + size + ": " + winLength);
+        }
+        return CACHE.computeIfAbsent(size * 16 + winLength, key -> new BoardGeometry(size, winLength));
+    }
+
+    /**
+     * Erzeugt die 8 Symmetrien eines N x N Feldes als Permutationen: transformiert[j] = original[p[j]].
+     * Reihenfolge: Identität, Rotation 90°, 180°, 270° (im Uhrzeigersinn), horizontale und vertikale Spiegelung,
+     * Spiegelung an der Haupt- und an der Nebendiagonale.
+     *
+     * @param size Seitenlänge N.
+     * @return Die Permutationen, [Symmetrie][Feld].
+     */
+    public static int[][] symmetries(int size) {
+        int last = size - 1;
+        int[][] result = new int[NUM_SYMMETRIES][size * size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int j = row * size + col;
+                result[0][j] = row * size + col;
+                result[1][j] = (last - col) * size + row;
+                result[2][j] = (last - row) * size + (last - col);
+                result[3][j] = col * size + (last - row);
+                result[4][j] = (last - row) * size + col;
+                result[5][j] = row * size + (last - col);
+                result[6][j] = col * size + row;
+                result[7][j] = (last - col) * size + (last - row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Wendet eine Symmetrie auf ein Bitboard an.
+     *
+     * @param bits     Das Bitboard (Bit i = Feld i belegt).
+     * @param symmetry Index der Symmetrie (0-7).
+     * @return Das transformierte Bitboard.
+     */
+    public long transform(long bits, int symmetry) {
+        if (symmetry == 0) return bits;
+        int[] permutation = inverse[symmetry];
+        long result = 0;
+        // nur über die gesetzten Bits laufen
+        for (long rest = bits; rest != 0; rest &= rest - 1) {
+            result |= 1L << permutation[Long.numberOfTrailingZeros(rest)];
+        }
+        return result;
+    }
+
+    /**
+     * Bestimmt die Symmetrie, die eine Stellung in ihre kanonische Form überführt.
+     * Kanonisch ist die Transformation mit dem kleinsten (xBits, oBits)-Paar (vorzeichenlos verglichen).
+     *
+     * @param xBits Bitboard der X-Steine.
+     * @param oBits Bitboard der O-Steine.
+     * @return Index der Symmetrie (0-7).
+     */
+    public int canonicalSymmetry(long xBits, long oBits) {
+        int best = 0;
+        long bestX = xBits;
+        long bestO = oBits;
+        for (int s = 1; s < NUM_SYMMETRIES; s++) {
+            long x = transform(xBits, s);
+            int cmp = Long.compareUnsigned(x, bestX);
+            if (cmp > 0) continue;
+            long o = transform(oBits, s);
+            if (cmp < 0 || Long.compareUnsigned(o, bestO) < 0) {
+                best = s;
+                bestX = x;
+                bestO = o;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Überträgt einen Zug in die durch die Symmetrie transformierte Stellung.
+     *
+     * @param symmetry Index der Symmetrie (0-7).
+     * @param move     Der Zug in der ursprünglichen Stellung.
+     * @return Der Zug in der transformierten Stellung.
+     */
+    public int transformMove(int symmetry, int move) {
+        return inverse[symmetry][move];
+    }
+
+    /**
+     * Überträgt einen Zug der transformierten Stellung zurück in die ursprüngliche Stellung.
+     *
+     * @param symmetry Index der Symmetrie (0-7).
+     * @param move     Der Zug in der transformierten Stellung.
+     * @return Der Zug in der ursprünglichen Stellung.
+     */
+    public int inverseTransformMove(int symmetry, int move) {
+        return symmetries[symmetry][move];
+    }
+
+    /**
+     * Prüft, ob ein Stein auf dem Feld eine Gewinnlinie des Bitboards vervollständigt.
+     *
+     * @param bits Das Bitboard des Spielers (inklusive des Steins auf dem Feld).
+     * @param cell Das zuletzt belegte Feld.
+     * @return true, wenn eine Gewinnlinie durch das Feld vollständig ist.
+     */
+    public boolean completesLine(long bits, int cell) {
+        for (long mask : cellWinMasks[cell]) {
+            if ((bits & mask) == mask) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Prüft, ob das Bitboard irgendeine Gewinnlinie enthält.
+     *
+     * @param bits Das Bitboard des Spielers.
+     * @return true, wenn eine Gewinnlinie vollständig ist.
+     */
+    public boolean hasLine(long bits) {
+        for (long mask : winMasks) {
+            if ((bits & mask) == mask) return true;
+        }
+        return false;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public int getCells() {
+        return cells;
+    }
+
+    public long getAllCells() {
+        return allCells;
+    }
+
+    public int getNumWinLines() {
+        return winMasks.length;
+    }
+
+    @Override
+    public String toString() {
+        return size + "x" + size + "/" + winLength;
+    }
+}
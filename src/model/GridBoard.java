@@ -0,0 +1,240 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Spielfeld beliebiger Größe (N x N, K in einer Reihe, siehe {@link BoardGeometry}) als Bitboards.
+ * Jeder Spieler hat ein long, Bit i gesetzt = Feld i (Zeile * N + Spalte) gehört dem Spieler.
+ * Züge können zurückgenommen werden, Siegprüfungen betrachten nur die Linien durch das zuletzt belegte Feld.
+ * Für das klassische 3x3-Spiel bleibt {@link Board} (mit Basis-3-Kodierung) die schnellere Variante.
+ */
+public class GridBoard {
+
+    private final BoardGeometry geometry;
+    private long xBits; // Felder von 'X'
+    private long oBits; // Felder von 'O'
+    private int moveCount; // Anzahl der gesetzten Steine
+    private char winner = ' '; // wird in makeMove() mitgeführt
+
+    public GridBoard(BoardGeometry geometry) {
+        this.geometry = geometry;
+    }
+
+    /**
+     * Initialisiert ein Spielfeld mit einer Stellung.
+     *
+     * @param geometry Die Geometrie des Spielfelds.
+     * @param xBits    Bitboard der X-Steine.
+     * @param oBits    Bitboard der O-Steine.
+     */
+    public GridBoard(BoardGeometry geometry, long xBits, long oBits) {
+        this.geometry = geometry;
+        setPosition(xBits, oBits);
+    }
+
+    /**
+     * Erzeugt eine unabhängige Kopie des Spielfelds.
+     *
+     * @return Die Kopie.
+     */
+    public GridBoard copy() {
+        GridBoard copy = new GridBoard(geometry);
+        copy.xBits = xBits;
+        copy.oBits = oBits;
+        copy.moveCount = moveCount;
+        copy.winner = winner;
+        return copy;
+    }
+
+    public void resetBoard() {
+        xBits = 0;
+        oBits = 0;
+        moveCount = 0;
+        winner = ' ';
+    }
+
+    /**
+     * Übernimmt eine Stellung; der Gewinner wird dabei einmalig über alle Linien bestimmt.
+     *
+     * @param xBits Bitboard der X-Steine.
+     * @param oBits Bitboard der O-Steine.
+     */
+    public final void setPosition(long xBits, long oBits) {
+        if ((xBits & oBits) != 0 || ((xBits | oBits) & ~geometry.getAllCells()) != 0) {
+            throw new IllegalArgumentException("Ungültige Stellung für " + geometry);
+        }
+        this.xBits = xBits;
+        this.oBits = oBits;
+        this.moveCount = Long.bitCount(xBits | oBits);
+        this.winner = geometry.hasLine(xBits) ? 'X' : geometry.hasLine(oBits) ? 'O' : ' ';
+    }
+
+    /**
+     * Führt einen Zug aus.
+     *
+     * @param index        Das Feld (Zeile * N + Spalte).
+     * @param playerSymbol Das Symbol des Spielers ('X' oder 'O').
+     * @return true, wenn der Zug gültig ist; false, wenn das Feld belegt ist oder nicht existiert.
+     */
+    public boolean makeMove(int index, char playerSymbol) {
+        if (index < 0 || index >= geometry.getCells()) {
+            return false;
+        }
+        long bit = 1L << index;
+        if (((xBits | oBits) & bit) != 0) {
+            return false;
+        }
+
+        moveCount++;
+        if (playerSymbol == 'X') {
+            xBits |= bit;
+            if (winner == ' ' && geometry.completesLine(xBits, index)) winner = 'X';
+        } else {
+            oBits |= bit;
+            if (winner == ' ' && geometry.completesLine(oBits, index)) winner = 'O';
+        }
+        return true;
+    }
+
+    /**
+     * Nimmt einen Zug zurück (z. B. für Suchalgorithmen, die Züge ausprobieren).
+     *
+     * @param index Das Feld, das wieder geleert wird.
+     * @return true, wenn das Feld belegt war; sonst false.
+     */
+    public boolean undoMove(int index) {
+        if (index < 0 || index >= geometry.getCells()) {
+            return false;
+        }
+        long bit = 1L << index;
+        if (((xBits | oBits) & bit) == 0) {
+            return false;
+        }
+
+        moveCount--;
+        xBits &= ~bit;
+        oBits &= ~bit;
+        if (winner != ' ') {
+            // nur nach einem Sieg muss neu geprüft werden (sonst kann durch Wegnehmen keine Linie entstehen)
+            winner = geometry.hasLine(xBits) ? 'X' : geometry.hasLine(oBits) ? 'O' : ' ';
+        }
+        return true;
+    }
+
+    /**
+     * Überprüft, ob der angegebene Spieler gewonnen hat.
+     *
+     * @param player Das Symbol des Spielers ('X' oder 'O').
+     * @return true, wenn der Spieler gewonnen hat; sonst false.
+     */
+    public boolean checkWin(char player) {
+        return winner == player && player != ' ';
+    }
+
+    public boolean isFull() {
+        return moveCount == geometry.getCells();
+    }
+
+    public boolean isGameOver() {
+        return winner != ' ' || moveCount == geometry.getCells();
+    }
+
+    /**
+     * Gibt den Gewinner zurück.
+     *
+     * @return 'X' oder 'O', bzw. ' ', wenn (noch) niemand gewonnen hat.
+     */
+    public char getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gibt das Symbol des Spielers am Zug zurück ('X' beginnt).
+     *
+     * @return 'X' oder 'O'.
+     */
+    public char getCurrentSymbol() {
+        return (moveCount & 1) == 0 ? 'X' : 'O';
+    }
+
+    /**
+     * Gibt das Symbol auf einem Feld zurück.
+     *
+     * @param index Das Feld (Zeile * N + Spalte).
+     * @return ' ', 'X' oder 'O'.
+     */
+    public char symbolAt(int index) {
+        long bit = 1L << index;
+        return (xBits & bit) != 0 ? 'X' : (oBits & bit) != 0 ? 'O' : ' ';
+    }
+
+    /**
+     * Gibt die freien Felder als Bitmaske zurück (Bit i gesetzt = Feld i ist frei).
+     *
+     * @return Die Bitmaske der gültigen Züge.
+     */
+    public long getEmptyMask() {
+        return ~(xBits | oBits) & geometry.getAllCells();
+    }
+
+    /**
+     * Wählt gleichverteilt einen Zug aus einer Bitmaske gültiger Züge.
+     *
+     * @param mask   Bitmaske der gültigen Züge (darf nicht 0 sein).
+     * @param random Der Zufallsgenerator.
+     * @return Der gewählte Zug.
+     */
+    public static int randomMove(long mask, Random random) {
+        // n-tes gesetztes Bit bestimmen
+        for (int n = random.nextInt(Long.bitCount(mask)); n > 0; n--) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Wandelt eine 3x3-Stellung in die Basis-3-Kodierung von {@link Board} um.
+     *
+     * @return Der kodierte Zustand (siehe {@link Board#getEncodedState()}).
+     */
+    public int toEncodedState() {
+        if (geometry.getCells() != 9) {
+            throw new IllegalStateException("Nur 3x3-Spielfelder können kodiert werden: " + geometry);
+        }
+        int state = 0;
+        for (long rest = xBits | oBits; rest != 0; rest &= rest - 1) {
+            int index = Long.numberOfTrailingZeros(rest);
+            state = Board.withMove(state, index, symbolAt(index));
+        }
+        return state;
+    }
+
+    /**
+     * Erstellt eine String-Repräsentation des Spielfelds (N * N Zeichen, zeilenweise).
+     *
+     * @return Die Stellung als String.
+     */
+    public String getState() {
+        char[] cells = new char[geometry.getCells()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = symbolAt(i);
+        }
+        return new String(cells);
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public long getXBits() {
+        return xBits;
+    }
+
+    public long getOBits() {
+        return oBits;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+}
@@ -0,0 +1,224 @@
+package server;
+
+import ai.DenseQTable;
+import ai.OnlineLearner;
+import ai.QTablePersistence;
+import ai.TicTacToeAI;
+import model.Board;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * TCP-Server für viele gleichzeitige Spiele Mensch gegen KI (ohne GUI, jede Verbindung in einem virtuellen Thread).
+ * Eine Verbindung kann beliebig viele Spiele führen. Zeilenbasiertes Protokoll (UTF-8, eine Anfrage pro Zeile):
+ * <pre>
+ * NEW              -> OK &lt;id&gt; -1 &lt;feld&gt; RUNNING
+ * MOVE &lt;id&gt; &lt;0-8&gt;  -> OK &lt;id&gt; &lt;zug der KI | -1&gt; &lt;feld&gt; &lt;RUNNING | X_WINS | O_WINS | DRAW&gt;
+ * STATE &lt;id&gt;       -> OK &lt;id&gt; -1 &lt;feld&gt; RUNNING
+ * QUIT &lt;id&gt;        -> OK &lt;id&gt;
+ * STATS            -> OK sessions=.. games=.. human=.. ai=.. draws=.. learned=.. queue=.. dropped=.. coalesced=..
+ *                     batch_ms=.. policy=..
+ * BYE              -> Verbindung wird geschlossen
+ * </pre>
+ * Das Feld wird als 9 Zeichen übertragen ('X', 'O', '.' für leer). Fehler werden mit {@code ERR <text>} beantwortet.
+ * Der Mensch spielt 'X' und beginnt, beendete Spiele werden entfernt.
+ * <p>
+ * Aufruf: {@code java server.GameServer [--port 4711] [--qtable qtable.csv] [--epsilon 0.0] [--queue 10000]
+ * [--overflow block|drop-newest|drop-oldest|coalesce]}
+ * (Voreinstellung {@code coalesce}: die Spiel-Threads warten nie auf den Learner, gleiche Spiele werden bei voller
+ * Warteschlange nur gezählt)
+ */
+public final class GameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 4711;
+    private static final long MAX_IDLE_MILLIS = 30 * 60_000; // verwaiste Spiele nach 30 Minuten entfernen
+
+    private final SessionManager sessions;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running = true;
+
+    /**
+     * Öffnet den Port (nur lokal erreichbar) und nimmt Verbindungen an.
+     *
+     * @param sessions Die Spielverwaltung.
+     * @param port     Der Port (0 = beliebiger freier Port).
+     * @throws IOException Wenn der Port nicht geöffnet werden kann.
+     */
+    public GameServer(SessionManager sessions, int port) throws IOException {
+        this.sessions = sessions;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        // Plattform-Thread (kein Daemon), damit der Server nach dem Ende von main weiterläuft
+        Thread.ofPlatform().name("accept").start(this::acceptLoop);
+        Thread.ofVirtual().name("idle-sessions").start(this::removeIdleLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.submit(() -> handle(socket));
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Fehler beim Annehmen einer Verbindung: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void removeIdleLoop() {
+        while (running) {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                return;
+            }
+            sessions.removeIdle(MAX_IDLE_MILLIS);
+        }
+    }
+
+    // Bearbeitet die Anfragen einer Verbindung nacheinander
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("BYE")) {
+                    break;
+                }
+                out.write(process(line));
+                out.write('\n');
+                // mehrere Anfragen am Stück (Pipelining) werden gemeinsam beantwortet
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Verbindung vom Client beendet
+        }
+    }
+
+    /**
+     * Verarbeitet eine Anfrage des Protokolls.
+     *
+     * @param line Die Anfrage.
+     * @return Die Antwort (ohne Zeilenumbruch).
+     */
+    String process(String line) {
+        String[] parts = line.trim().split("\\s+");
+        try {
+            return switch (parts[0].toUpperCase()) {
+                case "NEW" -> format(sessions.create());
+                case "MOVE" -> format(sessions.move(argument(parts, 1), argument(parts, 2)));
+                case "STATE" -> format(sessions.get(argument(parts, 1)));
+                case "QUIT" -> sessions.close(argument(parts, 1)) ? "OK " + parts[1] : "ERR Unbekanntes Spiel: " + parts[1];
+                case "STATS" -> stats();
+                default -> "ERR Unbekannter Befehl: " + parts[0];
+            };
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    private static int argument(String[] parts, int index) {
+        if (parts.length <= index) {
+            throw new IllegalArgumentException("Fehlendes Argument");
+        }
+        return Integer.parseInt(parts[index]);
+    }
+
+    private static String format(SessionManager.MoveResult result) {
+        return "OK " + result.id() + " " + result.aiMove() + " " + Board.decode(result.state()).replace(' ', '.')
+                + " " + result.status();
+    }
+
+    private String stats() {
+        long[] results = sessions.getResults();
+        OnlineLearner learner = sessions.getLearner();
+        return "OK sessions=" + sessions.getSessionCount()
+                + " games=" + (results[0] + results[1] + results[2])
+                + " human=" + results[0] + " ai=" + results[1] + " draws=" + results[2]
+                + " learned=" + learner.getGamesLearned()
+                + " queue=" + learner.getQueueSize()
+                + " dropped=" + learner.getGamesDropped()
+                + " coalesced=" + learner.getGamesCoalesced()
+                + " batch_ms=" + String.format(Locale.ROOT, "%.3f", learner.getMeanBatchMillis())
+                + " policy=" + learner.getPolicyVersion();
+    }
+
+    /**
+     * Nimmt keine Verbindungen mehr an und trennt alle bestehenden. Der Learner wird nicht geschlossen.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        String fileName = "qtable.csv";
+        double epsilon = 0.0;
+        int capacity = OnlineLearner.DEFAULT_CAPACITY;
+        OnlineLearner.OverflowPolicy overflow = OnlineLearner.OverflowPolicy.COALESCE;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--qtable" -> fileName = args[i + 1];
+                case "--epsilon" -> epsilon = Double.parseDouble(args[i + 1]);
+                case "--queue" -> capacity = Integer.parseInt(args[i + 1]);
+                case "--overflow" -> overflow = OnlineLearner.OverflowPolicy.valueOf(
+                        args[i + 1].toUpperCase(Locale.ROOT).replace('-', '_'));
+                default -> throw new IllegalArgumentException("Unbekannte Option: " + args[i]);
+            }
+        }
+
+        TicTacToeAI ai = new TicTacToeAI(new DenseQTable(), 0.2, 0.9, 0.0);
+        if (Files.exists(Path.of(fileName))) {
+            ai.loadQTable(fileName);
+        }
+        QTablePersistence persistence = new QTablePersistence(ai, fileName);
+        persistence.setFlushEveryGames(1000);
+        persistence.setFlushIntervalMillis(60_000);
+
+        OnlineLearner learner = new OnlineLearner(ai, capacity, overflow);
+        learner.setPersistence(persistence);
+        learner.registerMBean("server");
+        learner.start();
+
+        GameServer server = new GameServer(new SessionManager(learner, epsilon), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                // wird ohnehin beendet
+            }
+            learner.close(); // lernt die restlichen Spiele und speichert die Q-Tabelle
+        }));
+        System.out.println("Server läuft auf Port " + server.getPort() + " (Q-Tabelle: " + fileName + ", "
+                + ai.getQTable().size() + " Zustände)");
+    }
+}
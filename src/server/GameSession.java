@@ -0,0 +1,22 @@
+package server;
+
+/**
+ * Ein laufendes Spiel auf dem Server in kompakter Form: das Spielfeld als Basis-3-Zahl und die Historie
+ * der KI-Züge (kanonische Zustände und Züge), zusammen gut 100 Byte. Der Spieler am Zug ergibt sich
+ * aus der Anzahl der Steine ('X' = Mensch beginnt).
+ * Zugriffe werden über das Objekt selbst synchronisiert.
+ */
+final class GameSession {
+
+    final int id;
+    int state; // Spielfeld (siehe model.Board#getEncodedState())
+    final int[] stateHistory = new int[5]; // kanonische Zustände vor den Zügen der KI
+    final int[] moveHistory = new int[5]; // kanonische Züge der KI
+    int historyLength;
+    volatile long lastActiveMillis; // removeIdle() liest ohne Sperre, volatile verhindert zerrissene 64-Bit-Werte
+
+    GameSession(int id) {
+        this.id = id;
+        this.lastActiveMillis = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,155 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lasttest für den {@link GameServer}: Jede Verbindung (ein virtueller Thread) führt mehrere Spiele gleichzeitig
+ * und spielt reihum in jedem davon einen zufälligen Zug, bis die gewünschte Anzahl an Spielen erreicht ist.
+ * Am Ende werden Spiele und Anfragen pro Sekunde, Latenzen (Median und 99. Perzentil) und die Ergebnisse ausgegeben.
+ * <p>
+ * Aufruf: {@code java server.LoadTestClient [host] [port] [verbindungen] [spiele je verbindung gleichzeitig] [spiele je verbindung]}
+ */
+public class LoadTestClient {
+
+    private static final int STATUS_RUNNING = -1;
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int sessionsPerConnection = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int gamesPerConnection = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+
+        AtomicLongArray results = new AtomicLongArray(3); // Siege Mensch, Siege KI, Unentschieden
+        long[][] latencies = new long[connections][];
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            int index = i;
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    latencies[index] = play(host, port, sessionsPerConnection, gamesPerConnection,
+                            new SplittableRandom(index), results);
+                } catch (IOException e) {
+                    System.err.println("Verbindung " + index + " fehlgeschlagen: " + e.getMessage());
+                    latencies[index] = new long[0];
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        long games = results.get(0) + results.get(1) + results.get(2);
+        System.out.printf("%d Verbindungen, %d Spiele in %.2f s: %.0f Spiele/s, %.0f Anfragen/s%n",
+                connections, games, seconds, games / seconds, all.length / seconds);
+        if (all.length > 0) {
+            System.out.printf("Latenz: Median %.3f ms, 99. Perzentil %.3f ms, Maximum %.3f ms%n",
+                    all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, all[all.length - 1] / 1e6);
+        }
+        System.out.printf("Mensch (zufällig): %d, KI: %d, Unentschieden: %d%n",
+                results.get(0), results.get(1), results.get(2));
+
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            out.write("STATS\n");
+            out.flush();
+            System.out.println("Server: " + in.readLine());
+        }
+    }
+
+    // Spielt über eine Verbindung die angegebene Anzahl an Spielen und liefert die Latenzen aller Anfragen
+    private static long[] play(String host, int port, int sessions, int games, SplittableRandom random,
+                               AtomicLongArray results) throws IOException {
+        long[] latencies = new long[games * 6];
+        int requests = 0;
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            int[] ids = new int[sessions];
+            String[] boards = new String[sessions];
+            int started = 0;
+            int finished = 0;
+            for (int s = 0; s < sessions && started < games; s++, started++) {
+                String[] reply = request(in, out, "NEW");
+                ids[s] = Integer.parseInt(reply[1]);
+                boards[s] = reply[3];
+            }
+            while (finished < games) {
+                for (int s = 0; s < sessions; s++) {
+                    if (boards[s] == null) {
+                        continue;
+                    }
+                    long time = System.nanoTime();
+                    String[] reply = request(in, out, "MOVE " + ids[s] + " " + randomFreeCell(boards[s], random));
+                    if (requests < latencies.length) {
+                        latencies[requests++] = System.nanoTime() - time;
+                    }
+                    boards[s] = reply[3];
+                    int status = status(reply[4]);
+                    if (status != STATUS_RUNNING) {
+                        results.incrementAndGet(status);
+                        finished++;
+                        boards[s] = null;
+                        if (started < games) {
+                            reply = request(in, out, "NEW");
+                            ids[s] = Integer.parseInt(reply[1]);
+                            boards[s] = reply[3];
+                            started++;
+                        }
+                    }
+                }
+            }
+            out.write("BYE\n");
+            out.flush();
+        }
+        return Arrays.copyOf(latencies, requests);
+    }
+
+    private static String[] request(BufferedReader in, Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+        String reply = in.readLine();
+        if (reply == null || !reply.startsWith("OK")) {
+            throw new IOException("Unerwartete Antwort auf '" + line + "': " + reply);
+        }
+        return reply.split(" ");
+    }
+
+    private static int randomFreeCell(String board, SplittableRandom random) {
+        int[] free = new int[9];
+        int count = 0;
+        for (int i = 0; i < 9; i++) {
+            if (board.charAt(i) == '.') {
+                free[count++] = i;
+            }
+        }
+        return free[random.nextInt(count)];
+    }
+
+    private static int status(String status) {
+        return switch (status) {
+            case "X_WINS" -> 0;
+            case "O_WINS" -> 1;
+            case "DRAW" -> 2;
+            default -> STATUS_RUNNING;
+        };
+    }
+}
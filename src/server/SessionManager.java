@@ -0,0 +1,197 @@
+package server;
+
+import ai.OnlineLearner;
+import ai.PolicySnapshot;
+import ai.Trajectory;
+import ai.Transformations;
+import model.Board;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verwaltet viele unabhängige Spiele Mensch ('X', beginnt) gegen KI ('O').
+ * Alle Spiele nutzen dieselbe Strategie (die aktuelle {@link PolicySnapshot} des {@link OnlineLearner}s)
+ * und melden ihre Verläufe nach Spielende an den Learner. Beendete Spiele werden sofort entfernt.
+ */
+public class SessionManager {
+
+    /**
+     * Stand eines Spiels nach einer Anfrage.
+     *
+     * @param id     Die Nummer des Spiels.
+     * @param aiMove Der Zug der KI (-1, wenn die KI nicht gezogen hat).
+     * @param state  Das Spielfeld als Basis-3-Zahl.
+     * @param status Der Spielstand.
+     */
+    public record MoveResult(int id, int aiMove, int state, Status status) {
+    }
+
+    public enum Status {
+        RUNNING, X_WINS, O_WINS, DRAW
+    }
+
+    private final ConcurrentHashMap<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final OnlineLearner learner;
+    private final double explorationRate; // Anteil zufälliger Züge der KI (damit sie weiter dazulernt)
+
+    // Statistik der beendeten Spiele: [Siege Mensch, Siege KI, Unentschieden]
+    private final AtomicLong[] results = {new AtomicLong(), new AtomicLong(), new AtomicLong()};
+
+    public SessionManager(OnlineLearner learner, double explorationRate) {
+        this.learner = learner;
+        this.explorationRate = explorationRate;
+    }
+
+    /**
+     * Startet ein neues Spiel; der Mensch ist am Zug.
+     *
+     * @return Der Stand des neuen Spiels.
+     */
+    public MoveResult create() {
+        GameSession session = new GameSession(nextId.incrementAndGet());
+        sessions.put(session.id, session);
+        return new MoveResult(session.id, -1, 0, Status.RUNNING);
+    }
+
+    /**
+     * Führt den Zug des Menschen aus und antwortet, falls das Spiel weiterläuft, mit dem Zug der KI.
+     *
+     * @param id   Die Nummer des Spiels.
+     * @param cell Das Feld (0-8).
+     * @return Der Stand nach dem Zug der KI bzw. das Ergebnis.
+     * @throws IllegalArgumentException bei unbekanntem Spiel oder ungültigem Zug.
+     */
+    public MoveResult move(int id, int cell) {
+        GameSession session = find(id);
+        MoveResult result;
+        synchronized (session) {
+            result = play(session, cell);
+        }
+
+        // erst außerhalb der Sperre an den Learner übergeben (bei OverflowPolicy.BLOCK kann submit warten);
+        // das beendete Spiel ist bereits entfernt, seine Historie ändert sich nicht mehr
+        if (result.status() != Status.RUNNING && session.historyLength > 0) {
+            double reward = switch (result.status()) {
+                case O_WINS -> 1.0;
+                case X_WINS -> -1.0;
+                default -> 0.5;
+            };
+            learner.submit(Trajectory.of(session.stateHistory, session.moveHistory, session.historyLength, reward));
+        }
+        return result;
+    }
+
+    // Zug des Menschen und Antwort der KI, nur mit gehaltener Sperre auf die Session aufrufen
+    private MoveResult play(GameSession session, int cell) {
+        int id = session.id;
+        if (!sessions.containsKey(id)) {
+            throw new IllegalArgumentException("Spiel ist beendet: " + id);
+        }
+        if (cell < 0 || cell > 8 || (Board.emptyMask(session.state) & (1 << cell)) == 0) {
+            throw new IllegalArgumentException("Ungültiger Zug: " + cell);
+        }
+        session.lastActiveMillis = System.currentTimeMillis();
+        session.state = Board.withMove(session.state, cell, 'X');
+        if (Board.hasLine(session.state, 'X')) {
+            return finish(session, -1, Status.X_WINS);
+        }
+        if (Board.emptyMask(session.state) == 0) {
+            return finish(session, -1, Status.DRAW);
+        }
+
+        // Zug der KI aus der aktuellen Momentaufnahme (oder zufällig) im kanonischen Zustand
+        int state = session.state;
+        int canonicalState = Transformations.getCanonicalState(state);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int canonicalMove = explorationRate > 0 && random.nextDouble() < explorationRate
+                ? Board.randomMove(Board.emptyMask(canonicalState), random)
+                : learner.getPolicy().get().getCanonicalMove(canonicalState);
+        int aiMove = Transformations.toOriginalMove(state, canonicalMove);
+        session.stateHistory[session.historyLength] = canonicalState;
+        session.moveHistory[session.historyLength] = canonicalMove;
+        session.historyLength++;
+        session.state = Board.withMove(state, aiMove, 'O');
+
+        if (Board.hasLine(session.state, 'O')) {
+            return finish(session, aiMove, Status.O_WINS);
+        }
+        if (Board.emptyMask(session.state) == 0) {
+            return finish(session, aiMove, Status.DRAW);
+        }
+        return new MoveResult(id, aiMove, session.state, Status.RUNNING);
+    }
+
+    /**
+     * Gibt den Stand eines laufenden Spiels zurück.
+     *
+     * @param id Die Nummer des Spiels.
+     * @return Der Stand.
+     */
+    public MoveResult get(int id) {
+        GameSession session = find(id);
+        synchronized (session) {
+            return new MoveResult(id, -1, session.state, Status.RUNNING);
+        }
+    }
+
+    /**
+     * Bricht ein Spiel ab (ohne daraus zu lernen).
+     *
+     * @param id Die Nummer des Spiels.
+     * @return true, wenn das Spiel lief.
+     */
+    public boolean close(int id) {
+        return sessions.remove(id) != null;
+    }
+
+    /**
+     * Entfernt Spiele, in denen seit der angegebenen Zeit kein Zug mehr gemacht wurde.
+     *
+     * @param maxIdleMillis Maximale Zeit ohne Zug.
+     * @return Anzahl der entfernten Spiele.
+     */
+    public int removeIdle(long maxIdleMillis) {
+        long limit = System.currentTimeMillis() - maxIdleMillis;
+        int removed = 0;
+        for (Iterator<GameSession> it = sessions.values().iterator(); it.hasNext(); ) {
+            if (it.next().lastActiveMillis < limit) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private GameSession find(int id) {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            throw new IllegalArgumentException("Unbekanntes Spiel: " + id);
+        }
+        return session;
+    }
+
+    // Beendet das Spiel (der Verlauf wird danach in move() an den Learner übergeben)
+    private MoveResult finish(GameSession session, int aiMove, Status status) {
+        sessions.remove(session.id);
+        results[status == Status.X_WINS ? 0 : status == Status.O_WINS ? 1 : 2].incrementAndGet();
+        return new MoveResult(session.id, aiMove, session.state, status);
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    // Ergebnisse der beendeten Spiele: [Siege Mensch, Siege KI, Unentschieden]
+    public long[] getResults() {
+        return new long[]{results[0].get(), results[1].get(), results[2].get()};
+    }
+
+    public OnlineLearner getLearner() {
+        return learner;
+    }
+}
@@ -0,0 +1,20 @@
+package tournament;
+
+import ai.TrainingAI;
+
+import java.util.Random;
+
+/**
+ * Erzeugt einen Spieler für ein Match. Jedes Match bekommt eigene Spieler, damit Matches
+ * parallel laufen können, ohne dass sich Spieler Zustand (Suchbäume, Zufallsgeneratoren) teilen.
+ */
+@FunctionalInterface
+public interface AgentFactory {
+
+    /**
+     * @param symbol Das Symbol, mit dem der Spieler spielt ('X' oder 'O').
+     * @param random Zufallsgenerator für diesen Spieler (aus dem Seed des Turniers abgeleitet).
+     * @return Ein neuer Spieler.
+     */
+    TrainingAI create(char symbol, Random random);
+}
@@ -0,0 +1,45 @@
+package tournament;
+
+import ai.PolicySnapshot;
+import ai.QTable;
+
+/**
+ * Teilnehmer eines {@link Tournament}s.
+ *
+ * @param name    Anzeigename (eindeutig im Turnier).
+ * @param factory Erzeugt die Spieler für die Matches.
+ */
+public record Entrant(String name, AgentFactory factory) {
+
+    /**
+     * Teilnehmer mit der gierigen Strategie einer Q-Tabelle. Die Strategie wird beim Aufruf als
+     * {@link PolicySnapshot} eingefroren, späteres Training ändert den Teilnehmer also nicht.
+     *
+     * @param name   Anzeigename.
+     * @param qTable Die Q-Tabelle (aus Sicht von 'O' gelernt, auch als Beginnende trainiert).
+     * @return Der Teilnehmer.
+     * @throws IllegalArgumentException wenn die Q-Tabelle nur als Nachziehende trainiert wurde.
+     */
+    public static Entrant ofQTable(String name, QTable qTable) {
+        return ofSnapshot(name, PolicySnapshot.of(qTable, 0));
+    }
+
+    /**
+     * Teilnehmer mit einer Momentaufnahme; sie wird von allen Matches gleichzeitig genutzt.
+     * Im Turnier spielt jeder Teilnehmer beide Farben, die Strategie muss daher auch als Beginnende
+     * trainiert sein (siehe {@link PolicySnapshot#knowsFirstMoves()}), sonst spielte sie mit 'X' nur
+     * das erste freie Feld.
+     *
+     * @param name     Anzeigename.
+     * @param snapshot Die Momentaufnahme.
+     * @return Der Teilnehmer.
+     * @throws IllegalArgumentException wenn die Strategie nur als Nachziehende trainiert wurde.
+     */
+    public static Entrant ofSnapshot(String name, PolicySnapshot snapshot) {
+        if (!snapshot.knowsFirstMoves()) {
+            throw new IllegalArgumentException("Teilnehmer " + name + " wurde nur als Nachziehende ('O') "
+                    + "trainiert und kann im Turnier nicht mit 'X' spielen (neu trainieren mit --both-orders)");
+        }
+        return new Entrant(name, (symbol, random) -> snapshot.playing(symbol));
+    }
+}
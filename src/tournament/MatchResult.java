@@ -0,0 +1,18 @@
+package tournament;
+
+/**
+ * Ergebnis eines Matches (mehrere Spiele mit fester Farbverteilung, 'X' beginnt).
+ *
+ * @param playerX Index des Teilnehmers mit 'X'.
+ * @param playerO Index des Teilnehmers mit 'O'.
+ * @param xWins   Siege von 'X'.
+ * @param draws   Unentschieden.
+ * @param oWins   Siege von 'O'.
+ * @param nanos   Dauer des Matches.
+ */
+public record MatchResult(int playerX, int playerO, int xWins, int draws, int oWins, long nanos) {
+
+    public int games() {
+        return xWins + draws + oWins;
+    }
+}
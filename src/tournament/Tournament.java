@@ -0,0 +1,182 @@
+package tournament;
+
+import ai.TrainingAI;
+import model.Board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Jeder-gegen-jeden-Turnier zwischen beliebigen Spielern ({@link Entrant}).
+ * Jede Paarung spielt {@code gamesPerColor} Spiele mit jeder Farbverteilung ('X' beginnt).
+ * <p>
+ * Die Spiele werden in Matches zu höchstens {@code matchSize} Spielen aufgeteilt und auf einen Thread-Pool
+ * verteilt; jedes Match erzeugt eigene Spieler mit eigenem, aus dem Seed abgeleitetem Zufallsgenerator.
+ * Bei gleichem Seed ist das Ergebnis daher unabhängig von der Anzahl der Threads.
+ * Von jedem Match werden nur die Ergebnisse gezählt und sofort an den {@link TournamentListener} gemeldet,
+ * einzelne Spiele werden nicht gespeichert.
+ */
+public class Tournament {
+
+    private final List<Entrant> entrants;
+    private final int gamesPerColor;
+    private final int threads;
+    private final long seed;
+    private int matchSize = 100; // Spiele je Match (Einheit der Verteilung auf die Threads)
+    private TournamentListener listener;
+
+    /**
+     * @param entrants      Die Teilnehmer (mindestens zwei).
+     * @param gamesPerColor Spiele je Paarung und Farbverteilung.
+     * @param threads       Anzahl der Threads.
+     * @param seed          Startwert für alle Zufallsgeneratoren.
+     */
+    public Tournament(List<Entrant> entrants, int gamesPerColor, int threads, long seed) {
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("Ein Turnier braucht mindestens zwei Teilnehmer");
+        }
+        this.entrants = List.copyOf(entrants);
+        this.gamesPerColor = Math.max(1, gamesPerColor);
+        this.threads = Math.max(1, threads);
+        this.seed = seed;
+    }
+
+    public void setMatchSize(int matchSize) {
+        this.matchSize = Math.max(1, matchSize);
+    }
+
+    // wird nach jedem Match im aufrufenden Thread benachrichtigt
+    public void setListener(TournamentListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Spielt das Turnier und wartet, bis alle Matches beendet sind.
+     *
+     * @return Die Ergebnisse (Matrix der Siege/Unentschieden/Niederlagen und Elo-Zahlen).
+     */
+    public TournamentResult run() {
+        List<Match> matches = createMatches();
+        int n = entrants.size();
+        int[][] wins = new int[n][n];
+        int[][] draws = new int[n][n];
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "tournament");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletionService<MatchResult> completion = new ExecutorCompletionService<>(pool);
+            for (Match match : matches) {
+                completion.submit(match::play);
+            }
+
+            // Ergebnisse in der Reihenfolge ihrer Fertigstellung zählen und weitergeben
+            for (int finished = 1; finished <= matches.size(); finished++) {
+                MatchResult result = completion.take().get();
+                wins[result.playerX()][result.playerO()] += result.xWins();
+                wins[result.playerO()][result.playerX()] += result.oWins();
+                draws[result.playerX()][result.playerO()] += result.draws();
+                draws[result.playerO()][result.playerX()] += result.draws();
+                if (listener != null) {
+                    listener.onMatchFinished(result, finished, matches.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Turnier wurde unterbrochen", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fehler in einem Match", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<String> names = new ArrayList<>();
+        for (Entrant entrant : entrants) {
+            names.add(entrant.name());
+        }
+        return new TournamentResult(names, wins, draws, System.nanoTime() - start);
+    }
+
+    // Alle Paarungen mit beiden Farbverteilungen, aufgeteilt in Matches mit eigenem Seed
+    private List<Match> createMatches() {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < entrants.size(); i++) {
+            for (int j = i + 1; j < entrants.size(); j++) {
+                for (int games = 0; games < gamesPerColor; games += matchSize) {
+                    int size = Math.min(matchSize, gamesPerColor - games);
+                    matches.add(new Match(i, j, size, seeds.nextLong()));
+                    matches.add(new Match(j, i, size, seeds.nextLong()));
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Mehrere Spiele zweier Teilnehmer mit fester Farbverteilung
+    private class Match {
+        private final int playerX;
+        private final int playerO;
+        private final int games;
+        private final long seed;
+
+        Match(int playerX, int playerO, int games, long seed) {
+            this.playerX = playerX;
+            this.playerO = playerO;
+            this.games = games;
+            this.seed = seed;
+        }
+
+        MatchResult play() {
+            long start = System.nanoTime();
+            Random random = new Random(seed);
+            TrainingAI x = entrants.get(playerX).factory().create('X', new Random(random.nextLong()));
+            TrainingAI o = entrants.get(playerO).factory().create('O', new Random(random.nextLong()));
+
+            Board board = new Board();
+            int xWins = 0;
+            int draws = 0;
+            int oWins = 0;
+            for (int game = 0; game < games; game++) {
+                switch (playGame(board, x, o)) {
+                    case 'X' -> xWins++;
+                    case 'O' -> oWins++;
+                    default -> draws++;
+                }
+            }
+            return new MatchResult(playerX, playerO, xWins, draws, oWins, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Spielt ein Spiel ('X' beginnt).
+     *
+     * @param board   Das Spielfeld (wird zurückgesetzt).
+     * @param playerX Spieler mit 'X'.
+     * @param playerO Spieler mit 'O'.
+     * @return Der Gewinner ('X' oder 'O') oder ' ' bei Unentschieden.
+     */
+    public static char playGame(Board board, TrainingAI playerX, TrainingAI playerO) {
+        board.resetBoard();
+        char symbol = 'X';
+        while (!board.isGameOver()) {
+            TrainingAI player = symbol == 'X' ? playerX : playerO;
+            int move = player.getMove(board.getEncodedState());
+            if (!board.makeMove(move, symbol)) {
+                throw new IllegalStateException("Ungültiger Zug von '" + symbol + "': " + move);
+            }
+            symbol = symbol == 'X' ? 'O' : 'X';
+        }
+        return board.getWinner();
+    }
+}
@@ -0,0 +1,15 @@
+package tournament;
+
+/**
+ * Empfängt die Ergebnisse eines {@link Tournament}s, sobald ein Match beendet ist.
+ * Die Aufrufe erfolgen nacheinander (nie gleichzeitig), aber aus den Threads der Worker.
+ */
+public interface TournamentListener {
+
+    /**
+     * @param result   Das Ergebnis des Matches.
+     * @param finished Anzahl der bisher beendeten Matches.
+     * @param total    Anzahl aller Matches des Turniers.
+     */
+    void onMatchFinished(MatchResult result, int finished, int total);
+}
@@ -0,0 +1,152 @@
+package tournament;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ergebnis eines {@link Tournament}s: Siege, Unentschieden und Niederlagen je Paarung sowie Elo-Zahlen.
+ * <p>
+ * Die Elo-Zahlen werden nicht Spiel für Spiel fortgeschrieben (das hinge von der Reihenfolge der parallel
+ * gespielten Matches ab), sondern aus der Ergebnismatrix geschätzt: Die Zahlen werden so gewählt, dass die
+ * erwartete Punktzahl jedes Teilnehmers seiner erzielten Punktzahl entspricht (Sieg = 1, Unentschieden = 0.5).
+ * Ein virtuelles Unentschieden je Paarung verhindert unendliche Werte für Teilnehmer, die nie verlieren.
+ */
+public class TournamentResult {
+
+    private static final double MEAN_RATING = 1500;
+    private static final double PRIOR_DRAWS = 1;
+
+    private final List<String> names;
+    private final int[][] wins; // wins[i][j] = Siege von i gegen j
+    private final int[][] draws;
+    private final double[] ratings;
+    private final long nanos;
+
+    TournamentResult(List<String> names, int[][] wins, int[][] draws, long nanos) {
+        this.names = List.copyOf(names);
+        this.wins = wins;
+        this.draws = draws;
+        this.nanos = nanos;
+        this.ratings = computeRatings();
+    }
+
+    // Newton-Verfahren je Teilnehmer, bis sich keine Zahl mehr nennenswert ändert
+    private double[] computeRatings() {
+        int n = names.size();
+        double[] rating = new double[n];
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            double maxChange = 0;
+            for (int i = 0; i < n; i++) {
+                double actual = 0;
+                double expected = 0;
+                double derivative = 0;
+                for (int j = 0; j < n; j++) {
+                    if (i == j) continue;
+                    double games = wins[i][j] + wins[j][i] + draws[i][j] + PRIOR_DRAWS;
+                    double e = 1.0 / (1.0 + Math.pow(10, (rating[j] - rating[i]) / 400.0));
+                    actual += wins[i][j] + 0.5 * (draws[i][j] + PRIOR_DRAWS);
+                    expected += games * e;
+                    derivative += games * e * (1 - e) * Math.log(10) / 400.0;
+                }
+                double change = Math.max(-200, Math.min(200, (actual - expected) / derivative));
+                rating[i] += change;
+                maxChange = Math.max(maxChange, Math.abs(change));
+            }
+            if (maxChange < 0.001) break;
+        }
+
+        double mean = 0;
+        for (double r : rating) mean += r / n;
+        for (int i = 0; i < n; i++) rating[i] += MEAN_RATING - mean;
+        return rating;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public int getWins(int player, int opponent) {
+        return wins[player][opponent];
+    }
+
+    public int getDraws(int player, int opponent) {
+        return draws[player][opponent];
+    }
+
+    public int getLosses(int player, int opponent) {
+        return wins[opponent][player];
+    }
+
+    public double getRating(int player) {
+        return ratings[player];
+    }
+
+    // Punktzahl (Sieg = 1, Unentschieden = 0.5) über alle Spiele des Teilnehmers
+    public double getScore(int player) {
+        double score = 0;
+        for (int j = 0; j < names.size(); j++) {
+            score += wins[player][j] + 0.5 * draws[player][j];
+        }
+        return score;
+    }
+
+    public long getGames(int player) {
+        long games = 0;
+        for (int j = 0; j < names.size(); j++) {
+            games += wins[player][j] + wins[j][player] + draws[player][j];
+        }
+        return games;
+    }
+
+    public long getTotalGames() {
+        long games = 0;
+        for (int i = 0; i < names.size(); i++) {
+            games += getGames(i);
+        }
+        return games / 2;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Erstellt eine Tabelle mit der Rangliste (nach Elo) und der Matrix Siege/Unentschieden/Niederlagen
+     * (jeweils aus Sicht der Zeile).
+     *
+     * @return Die Tabelle als Text.
+     */
+    public String format() {
+        int n = names.size();
+        int width = 12;
+        for (String name : names) width = Math.max(width, name.length() + 2);
+
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%d Spiele in %.2f s (%.0f Spiele/s)%n%n", getTotalGames(), nanos / 1e9,
+                getTotalGames() / (nanos / 1e9)));
+
+        List<Integer> ranking = new ArrayList<>();
+        for (int i = 0; i < n; i++) ranking.add(i);
+        ranking.sort(Comparator.comparingDouble(i -> -ratings[i]));
+        text.append(String.format("%-4s %-" + width + "s %7s %8s%n", "Rang", "Teilnehmer", "Elo", "Punkte"));
+        for (int rank = 0; rank < n; rank++) {
+            int i = ranking.get(rank);
+            text.append(String.format("%-4d %-" + width + "s %7.0f %7.1f%%%n", rank + 1, names.get(i), ratings[i],
+                    100 * getScore(i) / Math.max(1, getGames(i))));
+        }
+
+        text.append(String.format("%nSiege/Unentschieden/Niederlagen%n%-" + width + "s", ""));
+        for (String name : names) text.append(String.format(" %" + width + "s", name));
+        text.append('\n');
+        for (int i = 0; i < n; i++) {
+            text.append(String.format("%-" + width + "s", names.get(i)));
+            for (int j = 0; j < n; j++) {
+                String cell = i == j ? "-" : wins[i][j] + "/" + draws[i][j] + "/" + wins[j][i];
+                text.append(String.format(" %" + width + "s", cell));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+}
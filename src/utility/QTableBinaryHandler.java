@@ -0,0 +1,266 @@
+package utility;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Speichert und lädt die Q-Tabelle in einem kompakten Binärformat (Dateiendung ".qtb").
+ * <p>
+ * Aufbau der Datei (Big Endian):
+ * <pre>
+ * Header:   Magic "TTTQ" (4) | Version (2) | Wertgröße 4/8 (1) | reserviert (1)
+ *           Lernrate (8) | Diskontierungsfaktor (8) | Explorationsrate (8)
+ *           Anzahl Einträge (4) | CRC32 der Einträge (8)
+ * Einträge: Zustand als 9 ASCII-Zeichen | 9 Q-Werte als float oder double
+ * </pre>
+ * Geladen wird über eine Memory-Map ({@link FileChannel#map}), ohne Text-Parsing.
+ */
+public class QTableBinaryHandler {
+
+    public static final String FILE_EXTENSION = ".qtb";
+
+    private static final int MAGIC = 0x54545451; // "TTTQ"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 44;
+    private static final int STATE_LENGTH = 9;
+    private static final int NUM_VALUES = 9;
+
+    /**
+     * Hyperparameter und Metadaten aus dem Header einer Binärdatei.
+     */
+    public record Header(int version, int valueSize, double learningRate, double discountFactor,
+                         double explorationRate, int entryCount) {
+    }
+
+    // Prüft anhand der Dateiendung, ob es sich um eine binäre Q-Tabelle handelt
+    public static boolean isBinaryFile(String fileName) {
+        return fileName.endsWith(FILE_EXTENSION);
+    }
+
+    /**
+     * Speichert die Q-Tabelle im Binärformat (atomar über eine temporäre Datei).
+     *
+     * @param qTable          Die Q-Tabelle.
+     * @param hyperparameters Lernrate, Diskontierungsfaktor und Explorationsrate.
+     * @param fileName        Zieldatei.
+     * @param useFloat        true: Werte als float (4 Byte) speichern, false: als double (8 Byte).
+     * @return true, wenn die Datei erfolgreich geschrieben wurde.
+     */
+    public static boolean saveQTable(Map<String, double[]> qTable, double[] hyperparameters,
+                                     String fileName, boolean useFloat) {
+        int valueSize = useFloat ? Float.BYTES : Double.BYTES;
+        int entrySize = STATE_LENGTH + NUM_VALUES * valueSize;
+        ByteBuffer entries = ByteBuffer.allocate(qTable.size() * entrySize);
+
+        for (Map.Entry<String, double[]> entry : qTable.entrySet()) {
+            byte[] key = entry.getKey().getBytes(StandardCharsets.US_ASCII);
+            if (key.length != STATE_LENGTH) {
+                System.err.println("Ungültiger Zustand wird übersprungen: '" + entry.getKey() + "'");
+                continue;
+            }
+            entries.put(key);
+
+            double[] values = entry.getValue();
+            for (int i = 0; i < NUM_VALUES; i++) {
+                double value = i < values.length ? values[i] : 0.0;
+                if (useFloat) {
+                    entries.putFloat((float) value);
+                } else {
+                    entries.putDouble(value);
+                }
+            }
+        }
+        entries.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(entries.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.put((byte) valueSize);
+        header.put((byte) 0);
+        header.putDouble(hyperparameters[0]);
+        header.putDouble(hyperparameters[1]);
+        header.putDouble(hyperparameters[2]);
+        header.putInt(entries.remaining() / entrySize);
+        header.putLong(crc.getValue());
+        header.flip();
+
+        Path target = Path.of(fileName).toAbsolutePath();
+        Path temp;
+        try {
+            temp = QTableHandler.createTempFile(target);
+        } catch (IOException e) {
+            System.err.println("Fehler beim Speichern der Q-Tabelle: " + e.getMessage());
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (entries.hasRemaining()) {
+                channel.write(entries);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            System.err.println("Fehler beim Speichern der Q-Tabelle: " + e.getMessage());
+            QTableHandler.deleteQuietly(temp);
+            return false;
+        }
+
+        try {
+            QTableHandler.moveAtomically(temp, target);
+            System.out.println("Q-Tabelle erfolgreich in Datei gespeichert: " + fileName);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Fehler beim Speichern der Q-Tabelle: " + e.getMessage());
+            QTableHandler.deleteQuietly(temp);
+            return false;
+        }
+    }
+
+    /**
+     * Lädt die Q-Tabelle aus einer Binärdatei. Bei Fehlern wird eine leere Tabelle zurückgegeben.
+     *
+     * @param fileName Die Binärdatei.
+     * @return Die geladene Q-Tabelle.
+     */
+    public static HashMap<String, double[]> loadQTable(String fileName) {
+        try {
+            HashMap<String, double[]> qTable = readQTable(fileName);
+            System.out.println("Q-Tabelle erfolgreich aus Datei geladen: " + fileName);
+            return qTable;
+        } catch (IOException e) {
+            System.err.println("Fehler beim Laden der Q-Tabelle: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Lädt die Q-Tabelle aus einer Binärdatei und bricht bei Fehlern ab (statt eine leere Tabelle zu liefern).
+     *
+     * @param fileName Die Binärdatei.
+     * @return Die geladene Q-Tabelle.
+     * @throws IOException wenn die Datei nicht gelesen werden kann, beschädigt ist oder kein gültiges Format hat.
+     */
+    public static HashMap<String, double[]> readQTable(String fileName) throws IOException {
+        HashMap<String, double[]> qTable = new HashMap<>();
+
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Header header = readHeader(buffer);
+            long checksum = buffer.getLong(HEADER_SIZE - Long.BYTES);
+
+            int entrySize = STATE_LENGTH + NUM_VALUES * header.valueSize();
+            ByteBuffer entries = buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE);
+            if (entries.remaining() != header.entryCount() * entrySize) {
+                throw new IOException("Dateigröße passt nicht zur Anzahl der Einträge");
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(entries.duplicate());
+            if (crc.getValue() != checksum) {
+                throw new IOException("Prüfsumme ungültig, Datei ist beschädigt");
+            }
+
+            byte[] key = new byte[STATE_LENGTH];
+            for (int i = 0; i < header.entryCount(); i++) {
+                entries.get(key);
+                double[] values = new double[NUM_VALUES];
+                for (int j = 0; j < NUM_VALUES; j++) {
+                    values[j] = header.valueSize() == Float.BYTES ? entries.getFloat() : entries.getDouble();
+                }
+                qTable.put(new String(key, StandardCharsets.US_ASCII), values);
+            }
+        }
+
+        return qTable;
+    }
+
+    /**
+     * Liest nur den Header (inkl. Hyperparameter) einer Binärdatei.
+     *
+     * @param fileName Die Binärdatei.
+     * @return Der Header.
+     * @throws IOException wenn die Datei nicht gelesen werden kann oder kein gültiges Format hat.
+     */
+    public static Header loadHeader(String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            return readHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_SIZE)));
+        }
+    }
+
+    private static Header readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Keine gültige binäre Q-Tabelle");
+        }
+        short version = buffer.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Nicht unterstützte Version: " + version);
+        }
+        int valueSize = buffer.get(6);
+        if (valueSize != Float.BYTES && valueSize != Double.BYTES) {
+            throw new IOException("Ungültige Wertgröße: " + valueSize);
+        }
+        return new Header(version, valueSize, buffer.getDouble(8), buffer.getDouble(16),
+                buffer.getDouble(24), buffer.getInt(32));
+    }
+
+    /**
+     * Konvertiert eine Q-Tabelle zwischen CSV- und Binärformat (anhand der Dateiendungen).
+     * Beim Konvertieren von CSV nach Binär werden die Hyperparameter auf 0 gesetzt,
+     * da die CSV-Datei keine enthält.
+     * Eine beschädigte Quelldatei oder ein Fehler beim Schreiben bricht die Konvertierung ab,
+     * die Zieldatei bleibt dann unverändert.
+     *
+     * @param sourceFile Quelldatei (.csv oder .qtb).
+     * @param targetFile Zieldatei (.csv oder .qtb).
+     * @throws IOException wenn die Quelldatei fehlt oder beschädigt ist oder die Zieldatei nicht geschrieben werden kann.
+     */
+    public static void convert(String sourceFile, String targetFile) throws IOException {
+        if (!Files.exists(Path.of(sourceFile))) {
+            throw new IOException("Datei nicht gefunden: " + sourceFile);
+        }
+
+        double[] hyperparameters = new double[3];
+        Map<String, double[]> qTable;
+        if (isBinaryFile(sourceFile)) {
+            Header header = loadHeader(sourceFile);
+            hyperparameters = new double[]{header.learningRate(), header.discountFactor(), header.explorationRate()};
+            qTable = readQTable(sourceFile);
+        } else {
+            qTable = QTableHandler.loadQTable(sourceFile);
+        }
+
+        boolean saved;
+        if (isBinaryFile(targetFile)) {
+            saved = saveQTable(qTable, hyperparameters, targetFile, false);
+        } else {
+            saved = QTableHandler.saveQTable(qTable, targetFile);
+        }
+        if (!saved) {
+            throw new IOException("Zieldatei konnte nicht geschrieben werden: " + targetFile);
+        }
+    }
+
+    // Aufruf: java utility.QTableBinaryHandler <quelle> <ziel>
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Verwendung: QTableBinaryHandler <quelle.csv|.qtb> <ziel.csv|.qtb>");
+            return;
+        }
+        convert(args[0], args[1]);
+    }
+}
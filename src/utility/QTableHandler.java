@@ -1,14 +1,30 @@
 package utility;
 
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
 
 public class QTableHandler {
 
     // Methode zum Speichern der Q-Tabelle in eine CSV-Datei
-    public static void saveQTable(Map<String, double[]> qTable, String fileName) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
+    // Es wird zuerst in eine temporäre Datei geschrieben und diese dann umbenannt,
+    // damit ein Absturz während des Schreibens keine halbe Q-Tabelle hinterlässt.
+    // Gibt true zurück, wenn die Datei erfolgreich geschrieben wurde.
+    public static boolean saveQTable(Map<String, double[]> qTable, String fileName) {
+        Path target = Path.of(fileName).toAbsolutePath();
+        Path temp;
+        try {
+            temp = createTempFile(target);
+        } catch (IOException e) {
+            System.err.println("Fehler beim Speichern der Q-Tabelle: " + e.getMessage());
+            return false;
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
             for (Map.Entry<String, double[]> entry : qTable.entrySet()) {
                 String key = entry.getKey();
                 double[] values = entry.getValue();
@@ -23,9 +39,44 @@ public class QTableHandler {
                 writer.write(line.toString());
                 writer.newLine();
             }
+        } catch (IOException e) {
+            System.err.println("Fehler beim Speichern der Q-Tabelle: " + e.getMessage());
+            deleteQuietly(temp);
+            return false;
+        }
+
+        try {
+            moveAtomically(temp, target);
             System.out.println("Q-Tabelle erfolgreich in Datei gespeichert: " + fileName);
+            return true;
         } catch (IOException e) {
             System.err.println("Fehler beim Speichern der Q-Tabelle: " + e.getMessage());
+            deleteQuietly(temp);
+            return false;
+        }
+    }
+
+    // Legt eine eindeutige temporäre Datei neben der Zieldatei an (gleiches Dateisystem, damit das
+    // Umbenennen atomar ist). Gleichzeitige Schreibvorgänge auf dieselbe Zieldatei kommen sich so nicht in die Quere.
+    public static Path createTempFile(Path target) throws IOException {
+        return Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+    }
+
+    // Entfernt eine übrig gebliebene temporäre Datei nach einem Fehler
+    public static void deleteQuietly(Path temp) {
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            // bleibt liegen, wird beim nächsten Speichern nicht wiederverwendet
+        }
+    }
+
+    // Ersetzt die Zieldatei durch die temporäre Datei (atomar, falls vom Dateisystem unterstützt)
+    public static void moveAtomically(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
@@ -1,11 +1,14 @@
 package view;
 
+import ai.TrainingProgress;
 import controller.GameController;
 import javafx.application.Application;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.Separator;
 import javafx.scene.control.TextField;
 import javafx.scene.control.RadioButton;
@@ -31,6 +34,12 @@ public class GameViewGUI extends Application {
     private TextField explorationRateField;
     private RadioButton randomOpponentButton; // Radiobutton für zufälligen Gegner
     private RadioButton perfectOpponentButton; // Radiobutton für perfekten Gegner
+    private Button pauseTrainingButton; // Training anhalten / fortsetzen
+    private Button stopTrainingButton; // Training beenden (Gelerntes bleibt erhalten)
+    private CheckBox earlyStoppingBox; // Training bei Konvergenz vorzeitig beenden
+    private ProgressBar trainingProgressBar;
+    private Label trainingStatsLabel; // Spiele/s, gleitende Raten und Größe der Q-Tabelle
+    private Button clearLearningButton;
 
     @Override
     public void start(Stage primaryStage) {
@@ -136,6 +145,30 @@ public class GameViewGUI extends Application {
         // HBox for trainButton and trainingGamesField
         HBox trainingBox = new HBox(10, trainButton, trainingGamesField);
 
+        // Buttons zum Anhalten und Beenden des Trainings (nur während des Trainings aktiv)
+        pauseTrainingButton = new Button("Pause");
+        pauseTrainingButton.setDisable(true);
+        pauseTrainingButton.setOnAction(event -> {
+            if (gameController.isTrainingPaused()) {
+                gameController.resumeTraining();
+                pauseTrainingButton.setText("Pause");
+            } else {
+                gameController.pauseTraining();
+                pauseTrainingButton.setText("Fortsetzen");
+            }
+        });
+        stopTrainingButton = new Button("Stopp");
+        stopTrainingButton.setDisable(true);
+        stopTrainingButton.setOnAction(event -> gameController.stopTraining());
+        earlyStoppingBox = new CheckBox("bei Konvergenz beenden");
+        HBox trainingControlBox = new HBox(10, pauseTrainingButton, stopTrainingButton, earlyStoppingBox);
+        trainingControlBox.setAlignment(Pos.CENTER_LEFT);
+
+        // Fortschrittsanzeige des Trainings
+        trainingProgressBar = new ProgressBar(0);
+        trainingProgressBar.setMaxWidth(Double.MAX_VALUE);
+        trainingStatsLabel = new Label();
+
         // Radiobuttons für die Auswahl des Gegners
         randomOpponentButton = new RadioButton("zufälliger Gegner");
         perfectOpponentButton = new RadioButton("perfekter Gegner");
@@ -152,7 +185,7 @@ public class GameViewGUI extends Application {
         Separator separator3 = new Separator();
 
         // Button zum Löschen des Lernfortschritts
-        Button clearLearningButton = new Button("Lernfortschritt löschen");
+        clearLearningButton = new Button("Lernfortschritt löschen");
         clearLearningButton.setOnAction(event -> gameController.clearLearningProgress());
 
         // Layout zusammenfügen
@@ -166,13 +199,16 @@ public class GameViewGUI extends Application {
                 explorationRateBox,
                 separator2,
                 trainingBox,
+                trainingControlBox,
+                trainingProgressBar,
+                trainingStatsLabel,
                 randomOpponentButton,
                 perfectOpponentButton,
                 separator3,
                 clearLearningButton);
 
         // Szene und Bühne
-        Scene scene = new Scene(root, 320, 650);
+        Scene scene = new Scene(root, 320, 780);
         primaryStage.setScene(scene);
         primaryStage.setTitle("Tic Tac Toe");
         primaryStage.show();
@@ -184,6 +220,16 @@ public class GameViewGUI extends Application {
         renderBoard(gameController.getBoard());
     }
 
+    /**
+     * Wird beim Schließen des Fensters aufgerufen und speichert die Q-Tabelle.
+     */
+    @Override
+    public void stop() {
+        if (gameController != null) {
+            gameController.shutdown();
+        }
+    }
+
     /**
      * Aktualisiert die GUI basierend auf dem aktuellen Zustand des Boards.
      *
@@ -219,6 +265,42 @@ public class GameViewGUI extends Application {
         statusLabel.setText(message);
     }
 
+    /**
+     * Schaltet die Bedienelemente für ein laufendes bzw. beendetes Training um.
+     * Während des Trainings sind Spielfeld, neues Spiel und Löschen gesperrt.
+     *
+     * @param running true, wenn das Training gerade startet.
+     */
+    public void setTrainingRunning(boolean running) {
+        trainButton.setDisable(running);
+        restartButton.setDisable(running);
+        clearLearningButton.setDisable(running);
+        earlyStoppingBox.setDisable(running);
+        pauseTrainingButton.setDisable(!running);
+        pauseTrainingButton.setText("Pause");
+        stopTrainingButton.setDisable(!running);
+        if (running) {
+            trainingProgressBar.setProgress(0);
+            trainingStatsLabel.setText("");
+            disableAllButtons();
+        }
+    }
+
+    /**
+     * Zeigt den aktuellen Stand des Trainings an.
+     *
+     * @param progress Fortschritt, Durchsatz und gleitende Raten.
+     */
+    public void updateTrainingProgress(TrainingProgress progress) {
+        trainingProgressBar.setProgress(progress.totalGames() > 0
+                ? (double) progress.gamesPlayed() / progress.totalGames() : 0);
+        trainingStatsLabel.setText(String.format(
+                "%d / %d Spiele (%.0f Spiele/s)%nletzte %d: Trainer %.1f %%, KI %.1f %%, Unentsch. %.1f %%%nQ-Tabelle: %d Zustände",
+                progress.gamesPlayed(), progress.totalGames(), progress.gamesPerSecond(), progress.windowSize(),
+                progress.trainerWinRate() * 100, progress.aiWinRate() * 100, progress.drawRate() * 100,
+                progress.qTableSize()));
+    }
+
     /**
      * Deaktiviert alle Buttons im Spielfeld.
      */
@@ -250,6 +332,10 @@ public class GameViewGUI extends Application {
         return perfectOpponentButton;
     }
 
+    public CheckBox getEarlyStoppingBox() {
+        return earlyStoppingBox;
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
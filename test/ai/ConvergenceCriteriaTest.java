@@ -0,0 +1,88 @@
+package ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft, dass {@link TrainingEngine#train(int, ConvergenceCriteria)} beim ersten erfüllten Kriterium
+ * mit dem passenden {@link TrainingResult.StopReason} endet. Die KI spielt mit einer aus dem Orakel abgeleiteten
+ * Tabelle ohne Lernen (alpha = 0) und ohne Exploration: sie verliert nie und ihre Q-Werte ändern sich nicht.
+ */
+class ConvergenceCriteriaTest {
+
+    private static final int MAX_GAMES = 10_000;
+
+    private static TrainingResult train(ConvergenceCriteria criteria) {
+        QTable table = PolicyEvaluatorTest.oracleTable(PerfectPlayOracle.getDefault());
+        TicTacToeAI ai = new TicTacToeAI(table, 0.0, 0.9, 0.0, new Random(1));
+        TrainingEngine engine = new TrainingEngine(ai, new RandomTrainingAI(new Random(2)));
+        return engine.train(MAX_GAMES, criteria);
+    }
+
+    @Test
+    void stopsAfterLossFreeGames() {
+        ConvergenceCriteria criteria = new ConvergenceCriteria();
+        criteria.setLossFreeGames(50);
+        TrainingResult result = train(criteria);
+
+        assertEquals(TrainingResult.StopReason.NO_LOSSES, result.stopReason());
+        assertEquals(50, result.gamesPlayed());
+        assertEquals(0, result.results()[0]);
+        assertEquals(MAX_GAMES - 50, result.gamesSaved());
+    }
+
+    @Test
+    void stopsWhenQValuesNoLongerChange() {
+        ConvergenceCriteria criteria = new ConvergenceCriteria();
+        criteria.setQDelta(1e-4, 20);
+        TrainingResult result = train(criteria);
+
+        assertEquals(TrainingResult.StopReason.Q_DELTA, result.stopReason());
+        assertEquals(20, result.gamesPlayed());
+    }
+
+    @Test
+    void stopsWhenThePolicyIsStable() {
+        ConvergenceCriteria criteria = new ConvergenceCriteria();
+        criteria.setPolicyStability(10, 3);
+        TrainingResult result = train(criteria);
+
+        assertEquals(TrainingResult.StopReason.POLICY_STABLE, result.stopReason());
+        assertEquals(0, result.gamesPlayed() % 10);
+        assertTrue(result.gamesPlayed() <= 40, "gespielt: " + result.gamesPlayed());
+    }
+
+    @Test
+    void stopsWhenUnbeatable() {
+        ConvergenceCriteria criteria = new ConvergenceCriteria();
+        criteria.setUnbeatableCheck(25);
+        TrainingResult result = train(criteria);
+
+        assertEquals(TrainingResult.StopReason.UNBEATABLE, result.stopReason());
+        assertEquals(25, result.gamesPlayed());
+    }
+
+    @Test
+    void firstMetCriterionWins() {
+        ConvergenceCriteria criteria = new ConvergenceCriteria();
+        criteria.setLossFreeGames(100);
+        criteria.setUnbeatableCheck(30);
+        assertEquals(TrainingResult.StopReason.UNBEATABLE, train(criteria).stopReason());
+
+        criteria.setLossFreeGames(20);
+        assertEquals(TrainingResult.StopReason.NO_LOSSES, train(criteria).stopReason());
+    }
+
+    @Test
+    void disabledCriteriaPlayAllGames() {
+        TrainingResult result = train(new ConvergenceCriteria());
+
+        assertEquals(TrainingResult.StopReason.MAX_GAMES, result.stopReason());
+        assertEquals(MAX_GAMES, result.gamesPlayed());
+        assertEquals(0, result.results()[0]);
+    }
+}
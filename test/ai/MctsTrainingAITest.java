@@ -0,0 +1,45 @@
+package ai;
+
+import model.Board;
+import model.BoardGeometry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft das Anytime-Verhalten der MCTS-Suche: nach einer Unterbrechung wird der bis dahin beste Zug geliefert.
+ */
+class MctsTrainingAITest {
+
+    @Test
+    void interruptedRootParallelSearchReturnsALegalMove() throws InterruptedException {
+        int state = Board.encode("X   O    ");
+        try (MctsTrainingAI mcts = new MctsTrainingAI(BoardGeometry.of(3, 3), 0, 60_000, 2, new Random(1))) {
+            AtomicInteger move = new AtomicInteger(-2);
+            Thread search = new Thread(() -> move.set(mcts.getMove(state)));
+            search.start();
+            Thread.sleep(200);
+            search.interrupt();
+            search.join(5_000);
+
+            assertFalse(search.isAlive(), "Suche endet nach der Unterbrechung");
+            assertTrue(move.get() >= 0 && (Board.emptyMask(state) & (1 << move.get())) != 0,
+                    "gültiger Zug erwartet: " + move.get());
+            assertTrue(mcts.getLastPlayouts() > 0);
+        }
+    }
+
+    @Test
+    void singleThreadSearchFindsTheWinningMove() {
+        // O am Zug gewinnt mit Feld 8 (Diagonale 0-4-8)
+        int state = Board.encode("OXX O X  ");
+        try (MctsTrainingAI mcts = new MctsTrainingAI(BoardGeometry.of(3, 3), 2000, 0, 1, new Random(1))) {
+            assertEquals(8, mcts.getMove(state));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package ai;
+
+import model.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft die Überlaufstrategien und die Buchführung des {@link OnlineLearner}s. Die Spiele werden vor
+ * {@link OnlineLearner#start()} eingestellt, die Warteschlange füllt sich also ohne Wettlauf mit dem Lern-Thread.
+ */
+class OnlineLearnerTest {
+
+    private static final int STATE = Transformations.getCanonicalState(Board.encode("X        "));
+
+    private final TicTacToeAI ai = new TicTacToeAI(0.5, 0.9, 0.0);
+
+    // Einzug-Spiel, das die KI mit dem n-ten freien Feld gewinnt
+    private static Trajectory game(int n) {
+        int moves = Board.emptyMask(STATE);
+        for (int i = 0; i < n; i++) {
+            moves &= moves - 1;
+        }
+        return Trajectory.of(new int[]{STATE}, new int[]{Integer.numberOfTrailingZeros(moves)}, 1, 1.0);
+    }
+
+    private boolean learned(Trajectory trajectory) {
+        return ai.getQTable().get(trajectory.states()[0], trajectory.moves()[0]) > 0;
+    }
+
+    // nach awaitIdle() ist jedes eingestellte Spiel entweder gelernt oder verworfen
+    private static void assertIdle(OnlineLearner learner, long learned, long dropped) throws InterruptedException {
+        learner.awaitIdle();
+        assertEquals(0, learner.getPendingGames());
+        assertEquals(learned, learner.getGamesLearned());
+        assertEquals(dropped, learner.getGamesDropped());
+        assertEquals(learner.getGamesSubmitted(), learner.getGamesLearned() + learner.getGamesDropped());
+    }
+
+    @Test
+    void blockWaitsForFreeSpace() throws InterruptedException {
+        OnlineLearner learner = new OnlineLearner(ai, 2, OnlineLearner.OverflowPolicy.BLOCK);
+        assertTrue(learner.submit(game(0)));
+        assertTrue(learner.submit(game(1)));
+
+        boolean[] accepted = new boolean[1];
+        Thread producer = new Thread(() -> accepted[0] = learner.submit(game(2)));
+        producer.start();
+        while (producer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        assertTrue(producer.isAlive()); // wartet, solange nicht gelernt wird
+
+        learner.start();
+        producer.join();
+        assertTrue(accepted[0]);
+        assertIdle(learner, 3, 0);
+        assertTrue(learned(game(2)));
+        learner.close();
+    }
+
+    @Test
+    void dropNewestRejectsTheNewGame() throws InterruptedException {
+        OnlineLearner learner = new OnlineLearner(ai, 2, OnlineLearner.OverflowPolicy.DROP_NEWEST);
+        assertTrue(learner.submit(game(0)));
+        assertTrue(learner.submit(game(1)));
+        assertFalse(learner.submit(game(2)));
+
+        learner.start();
+        assertIdle(learner, 2, 1);
+        assertTrue(learned(game(0)));
+        assertTrue(learned(game(1)));
+        assertFalse(learned(game(2)));
+        learner.close();
+    }
+
+    @Test
+    void dropOldestReplacesTheFirstGame() throws InterruptedException {
+        OnlineLearner learner = new OnlineLearner(ai, 2, OnlineLearner.OverflowPolicy.DROP_OLDEST);
+        assertTrue(learner.submit(game(0)));
+        assertTrue(learner.submit(game(1)));
+        assertTrue(learner.submit(game(2)));
+
+        learner.start();
+        assertIdle(learner, 2, 1);
+        assertFalse(learned(game(0)));
+        assertTrue(learned(game(1)));
+        assertTrue(learned(game(2)));
+        learner.close();
+    }
+
+    @Test
+    void coalesceCountsEqualGamesUpToCapacityDistinctOnes() throws InterruptedException {
+        OnlineLearner learner = new OnlineLearner(ai, 2, OnlineLearner.OverflowPolicy.COALESCE);
+        assertTrue(learner.submit(game(0)));
+        assertTrue(learner.submit(game(1)));
+        // Warteschlange voll: bis zu 2 verschiedene Spiele werden gezählt
+        assertTrue(learner.submit(game(2)));
+        assertTrue(learner.submit(game(2)));
+        assertTrue(learner.submit(game(3)));
+        assertFalse(learner.submit(game(4)));
+        assertEquals(1, learner.getGamesCoalesced());
+
+        learner.start();
+        assertIdle(learner, 5, 1);
+        assertTrue(learned(game(2)));
+        assertTrue(learned(game(3)));
+        assertFalse(learned(game(4)));
+        learner.close();
+    }
+
+    @Test
+    void coalescedGamesAreLearnedAsOftenAsPlayed() throws InterruptedException {
+        TicTacToeAI reference = new TicTacToeAI(0.5, 0.9, 0.0);
+        Trajectory game = game(0);
+        for (int i = 0; i < 4; i++) {
+            reference.propagateRewards(game.reward(), game.states(), game.moves(), game.length());
+        }
+
+        OnlineLearner learner = new OnlineLearner(ai, 1, OnlineLearner.OverflowPolicy.COALESCE);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(learner.submit(game));
+        }
+        learner.start();
+        assertIdle(learner, 4, 0);
+        assertEquals(reference.getQTable().get(STATE, game.moves()[0]), ai.getQTable().get(STATE, game.moves()[0]));
+        learner.close();
+    }
+
+    @Test
+    void closeLearnsEverythingQueued() {
+        OnlineLearner learner = new OnlineLearner(ai, 4, OnlineLearner.OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(learner.submit(game(i)));
+        }
+        learner.start();
+        learner.close();
+
+        assertEquals(4, learner.getGamesLearned());
+        assertEquals(0, learner.getPendingGames());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(learned(game(i)));
+        }
+        assertFalse(learner.submit(game(4))); // nach close() wird nichts mehr angenommen
+        assertEquals(4, learner.getGamesSubmitted());
+    }
+
+    @Test
+    void snapshotIsPublishedBeforeIdle() throws InterruptedException {
+        OnlineLearner learner = new OnlineLearner(ai, 4, OnlineLearner.OverflowPolicy.BLOCK);
+        learner.setPublishInterval(1, 60_000);
+        long version = learner.getPolicyVersion();
+        assertTrue(learner.submit(game(5)));
+
+        learner.start();
+        learner.awaitIdle();
+        assertTrue(learner.getPolicyVersion() > version);
+        assertEquals(game(5).moves()[0], learner.getPolicy().get().getCanonicalMove(STATE));
+        learner.close();
+    }
+
+    @Test
+    void noSnapshotsWhenPublishingIsOff() {
+        OnlineLearner learner = new OnlineLearner(ai, 4, OnlineLearner.OverflowPolicy.BLOCK);
+        learner.setPublishing(false);
+        learner.setPublishInterval(1, 1);
+        long version = learner.getPolicyVersion();
+        assertTrue(learner.submit(game(0)));
+
+        learner.start();
+        learner.close();
+        assertEquals(1, learner.getGamesLearned());
+        assertEquals(version, learner.getPolicyVersion());
+    }
+}
@@ -0,0 +1,82 @@
+package ai;
+
+import model.Board;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft das durch Rückwärtsanalyse berechnete Orakel gegen die Minimax-Suche.
+ */
+class OracleGeneratorTest {
+
+    private static PerfectPlayOracle oracle;
+
+    @BeforeAll
+    static void generateOracle() {
+        oracle = OracleGenerator.generate();
+    }
+
+    @Test
+    void oracleMatchesMinimaxForEveryPosition() {
+        MinimaxSolver solver = new MinimaxSolver();
+        int checked = 0;
+
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            for (char player : new char[]{'X', 'O'}) {
+                if (!oracle.contains(state, player) || oracle.getOptimalMoves(state, player) == 0) continue;
+
+                String position = "'" + Board.decode(state) + "', am Zug: " + player;
+                assertEquals(solver.evaluate(state, player), oracle.getValue(state, player), position);
+                int move = solver.findBestMove(state, player);
+                assertTrue((oracle.getOptimalMoves(state, player) & (1 << move)) != 0,
+                        "Minimax-Zug " + move + " fehlt bei " + position);
+                checked++;
+            }
+        }
+        // alle Stellungen mit mindestens einem Zug (ohne Endstellungen) für beide Spieler
+        assertTrue(checked > 4000, "zu wenige Stellungen geprüft: " + checked);
+        assertEquals(0, OracleGenerator.verify(oracle));
+    }
+
+    @Test
+    void emptyBoardIsDrawForBothPlayers() {
+        for (char player : new char[]{'X', 'O'}) {
+            assertEquals(0, oracle.getValue(0, player));
+            assertEquals(Board.ALL_CELLS, oracle.getOptimalMoves(0, player));
+        }
+    }
+
+    @Test
+    void oracleTrainingAIRejectsPositionsNotInTheOracle() {
+        OracleTrainingAI trainer = new OracleTrainingAI('X', oracle, new Random(1));
+        int xJustMoved = Board.encode("X        ");
+        assertThrows(IllegalStateException.class, () -> trainer.getMove(xJustMoved));
+        int state = Board.encode("X   O    ");
+        assertEquals(0, Board.cellAt(state, trainer.getMove(state)));
+    }
+
+    @Test
+    void saveAndLoadKeepAllEntries(@TempDir Path dir) throws IOException {
+        String fileName = dir.resolve("oracle.bin").toString();
+        oracle.save(fileName);
+        PerfectPlayOracle loaded = PerfectPlayOracle.load(fileName);
+
+        assertEquals(oracle.size(), loaded.size());
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            for (char player : new char[]{'X', 'O'}) {
+                assertEquals(oracle.contains(state, player), loaded.contains(state, player));
+                assertEquals(oracle.getValue(state, player), loaded.getValue(state, player));
+                assertEquals(oracle.getOptimalMoves(state, player), loaded.getOptimalMoves(state, player));
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prüft das parallele Training gegen das Training in einem Thread.
+ */
+class ParallelTrainingEngineTest {
+
+    private static final long SEED = 42;
+
+    private static TicTacToeAI newAI(Random random) {
+        TicTacToeAI ai = new TicTacToeAI(new DenseQTable(), 0.2, 0.9, 0.1, random);
+        ai.setUpdateRule(new QLambdaRule(0.8));
+        return ai;
+    }
+
+    // beide Tabellen enthalten dieselben Zustände mit denselben Q-Werten
+    static void assertSameTable(QTable expected, QTable actual) {
+        assertEquals(expected.size(), actual.size());
+        expected.forEach((state, values) -> {
+            double[] other = new double[QTable.NUM_MOVES];
+            for (int move = 0; move < QTable.NUM_MOVES; move++) {
+                other[move] = actual.get(state, move);
+            }
+            assertArrayEquals(values, other, "Zustand " + state);
+        });
+    }
+
+    @Test
+    void sharedTableWithQLambdaMatchesSingleThread() {
+        // ein Worker über die StripedQTable muss genau wie die TrainingEngine lernen (gleiche Seeds)
+        SplittableRandom seeds = new SplittableRandom(SEED);
+        TicTacToeAI single = newAI(new Random(seeds.nextLong()));
+        new TrainingEngine(single, new RandomTrainingAI(new Random(seeds.nextLong()))).train(5000);
+
+        TicTacToeAI shared = newAI(new Random());
+        new ParallelTrainingEngine(shared, RandomTrainingAI::new, 1,
+                ParallelTrainingEngine.MergeStrategy.SHARED_TABLE, SEED).train(5000);
+
+        assertSameTable(single.getQTable(), shared.getQTable());
+    }
+
+    @Test
+    void workersUseACopyOfTheExplorationPolicy() {
+        SplittableRandom seeds = new SplittableRandom(SEED);
+        TicTacToeAI single = newAI(new Random(seeds.nextLong()));
+        single.setExplorationPolicy(new DecayingEpsilonPolicy(1.0, 0.05, 0.999));
+        new TrainingEngine(single, new RandomTrainingAI(new Random(seeds.nextLong()))).train(3000);
+
+        TicTacToeAI parallel = newAI(new Random());
+        DecayingEpsilonPolicy policy = new DecayingEpsilonPolicy(1.0, 0.05, 0.999);
+        parallel.setExplorationPolicy(policy);
+        new ParallelTrainingEngine(parallel, RandomTrainingAI::new, 1,
+                ParallelTrainingEngine.MergeStrategy.SHARED_TABLE, SEED).train(3000);
+
+        // gleiche Zugauswahl wie mit der abnehmenden Rate, die Strategie der KI selbst bleibt unverändert
+        assertSameTable(single.getQTable(), parallel.getQTable());
+        assertEquals(1.0, policy.getExplorationRate());
+    }
+
+    @Test
+    void deltaMergeIsReproducibleWithTheSameSeed() {
+        // Runden laufen getrennt, die Deltas werden in fester Reihenfolge der Worker übernommen
+        QTable[] tables = new QTable[2];
+        int[][] results = new int[2][];
+        for (int run = 0; run < 2; run++) {
+            TicTacToeAI ai = newAI(new Random());
+            ParallelTrainingEngine engine = new ParallelTrainingEngine(ai, RandomTrainingAI::new, 4,
+                    ParallelTrainingEngine.MergeStrategy.DELTA_MERGE, SEED);
+            engine.setMergeInterval(250);
+            results[run] = engine.train(10_000);
+            tables[run] = ai.getQTable();
+        }
+
+        assertArrayEquals(results[0], results[1]);
+        assertEquals(10_000, results[0][0] + results[0][1] + results[0][2]);
+        assertSameTable(tables[0], tables[1]);
+    }
+}
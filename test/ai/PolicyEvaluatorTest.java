@@ -0,0 +1,72 @@
+package ai;
+
+import model.Board;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft den {@link PolicyEvaluator} mit einer aus dem Orakel abgeleiteten und einer leeren Q-Tabelle.
+ */
+class PolicyEvaluatorTest {
+
+    private static PerfectPlayOracle oracle;
+    private static PolicyEvaluator evaluator;
+
+    @BeforeAll
+    static void generateOracle() {
+        oracle = OracleGenerator.generate();
+        evaluator = new PolicyEvaluator(oracle);
+    }
+
+    // ein optimaler Zug je kanonischem Zustand mit 'O' am Zug erhält den einzigen positiven Q-Wert
+    static QTable oracleTable(PerfectPlayOracle oracle) {
+        DenseQTable table = new DenseQTable();
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            int optimal = oracle.getOptimalMoves(state, 'O');
+            if (optimal != 0 && Transformations.getCanonicalState(state) == state) {
+                table.set(state, Integer.numberOfTrailingZeros(optimal), 1.0);
+            }
+        }
+        return table;
+    }
+
+    @Test
+    void oracleTableHasNoMistakes() {
+        PolicyEvaluator.Report report = evaluator.evaluate(oracleTable(oracle));
+
+        for (PolicyEvaluator.Result result : new PolicyEvaluator.Result[]{report.aiFirst(), report.aiSecond()}) {
+            assertEquals(0, result.losingLines(), result.toString());
+            assertTrue(result.mistakes().isEmpty(), result.mistakes().toString());
+            assertTrue(result.positions() > 0);
+            assertTrue(result.totalLines() > 0);
+        }
+        assertTrue(report.unbeatable());
+    }
+
+    @Test
+    void emptyTableIsBeatable() {
+        // ohne Q-Werte zieht die KI immer auf das erste freie Feld
+        PolicyEvaluator.Report report = evaluator.evaluate(new DenseQTable());
+
+        assertFalse(report.unbeatable());
+        assertTrue(report.aiSecond().losingLines() > 0);
+        assertFalse(report.aiSecond().mistakes().isEmpty());
+        for (PolicyEvaluator.Mistake mistake : report.aiSecond().mistakes()) {
+            assertEquals(0, mistake.optimalMoves() & (1 << mistake.move()));
+            assertTrue(Integer.signum(mistake.moveValue()) < Integer.signum(mistake.value()));
+        }
+    }
+
+    @Test
+    void evaluationDoesNotChangeTheTable() {
+        QTable table = oracleTable(oracle);
+        int size = table.size();
+        evaluator.evaluate(table);
+        assertEquals(size, table.size());
+        assertEquals(0, evaluator.evaluate(table).aiFirst().mistakes().size());
+    }
+}
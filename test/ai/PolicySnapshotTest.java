@@ -0,0 +1,87 @@
+package ai;
+
+import model.Board;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft die Momentaufnahme gegen die gierige {@link TicTacToeAI} und den Austausch über den {@link PolicyHolder}.
+ */
+class PolicySnapshotTest {
+
+    private static TicTacToeAI trainedAI() {
+        TicTacToeAI ai = new TicTacToeAI(new DenseQTable(), 0.2, 0.9, 0.1, new Random(3));
+        TrainingEngine engine = new TrainingEngine(ai, new RandomTrainingAI(new Random(4)));
+        engine.setAlternateStart(new RandomTrainingAI(new Random(5)));
+        engine.train(20_000);
+        ai.setExplorationRate(0.0);
+        return ai;
+    }
+
+    @Test
+    void snapshotMatchesTheGreedyAIOnAllEncodings() {
+        TicTacToeAI ai = trainedAI();
+        PolicySnapshot snapshot = PolicySnapshot.of(ai);
+        assertEquals(ai.getQTable().size(), snapshot.size());
+
+        int checked = 0;
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            if (Board.emptyMask(state) == 0) continue;
+            assertEquals(ai.getMove(state), snapshot.getMove(state), "Zustand '" + Board.decode(state) + "'");
+            checked++;
+        }
+        assertTrue(checked > 19_000);
+    }
+
+    @Test
+    void playingXSwapsTheColours() {
+        PolicySnapshot snapshot = PolicySnapshot.of(trainedAI());
+        assertTrue(snapshot.knowsFirstMoves());
+        int state = Board.encode("O   X    ");
+        assertEquals(snapshot.getMove(Board.swapColors(state)), snapshot.playing('X').getMove(state));
+        assertSame(snapshot, snapshot.playing('O'));
+    }
+
+    @Test
+    void olderVersionsNeverReplaceNewerOnes() {
+        DenseQTable table = new DenseQTable();
+        PolicyHolder holder = new PolicyHolder(PolicySnapshot.of(table, 5));
+
+        assertFalse(holder.publish(PolicySnapshot.of(table, 4)));
+        assertEquals(5, holder.get().getVersion());
+
+        PolicySnapshot same = PolicySnapshot.of(table, 5);
+        assertTrue(holder.publish(same));
+        assertSame(same, holder.get());
+
+        assertTrue(holder.publish(PolicySnapshot.of(table, 6)));
+        assertFalse(holder.publish(PolicySnapshot.of(table, 1)));
+        assertEquals(6, holder.get().getVersion());
+    }
+
+    @Test
+    void concurrentPublishersKeepTheNewestVersion() throws InterruptedException {
+        DenseQTable table = new DenseQTable();
+        PolicyHolder holder = new PolicyHolder(PolicySnapshot.of(table, 0));
+        Thread[] publishers = new Thread[4];
+        for (int t = 0; t < publishers.length; t++) {
+            int offset = t;
+            publishers[t] = new Thread(() -> {
+                for (int version = offset; version <= 2000; version += publishers.length) {
+                    holder.publish(PolicySnapshot.of(table, version));
+                }
+            });
+            publishers[t].start();
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        assertEquals(2000, holder.get().getVersion());
+    }
+}
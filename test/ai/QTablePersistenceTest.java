@@ -0,0 +1,103 @@
+package ai;
+
+import model.Board;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utility.QTableHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft, wann die {@link QTablePersistence} speichert, und dass das Speichern die Zieldatei atomar ersetzt.
+ */
+class QTablePersistenceTest {
+
+    private static final int STATE = Board.encode("X        ");
+
+    @TempDir
+    Path dir;
+
+    private final TicTacToeAI ai = new TicTacToeAI(0.2, 0.9, 0.0);
+
+    private void learnSomething() {
+        ai.getQTable().add(STATE, 4, 0.5);
+    }
+
+    @Test
+    void savesEveryNGames() {
+        Path file = dir.resolve("q.csv");
+        QTablePersistence persistence = new QTablePersistence(ai, file.toString());
+        persistence.setFlushEveryGames(3);
+
+        learnSomething();
+        persistence.gameFinished();
+        persistence.gameFinished();
+        assertFalse(Files.exists(file));
+        persistence.gameFinished();
+        assertTrue(Files.exists(file));
+        assertFalse(ai.isDirty());
+    }
+
+    @Test
+    void savesAfterTheIntervalAtTheNextGameEnd() throws InterruptedException {
+        Path file = dir.resolve("q.csv");
+        QTablePersistence persistence = new QTablePersistence(ai, file.toString());
+        persistence.setFlushIntervalMillis(20);
+
+        learnSomething();
+        persistence.gameFinished();
+        assertFalse(Files.exists(file)); // Intervall noch nicht abgelaufen
+        Thread.sleep(40);
+        assertFalse(Files.exists(file)); // ohne Spielende wird nicht gespeichert
+        persistence.gameFinished();
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void skipsSavingWhenNothingChanged() throws IOException {
+        Path file = dir.resolve("q.csv");
+        QTablePersistence persistence = new QTablePersistence(ai, file.toString());
+
+        learnSomething();
+        persistence.flush();
+        assertTrue(Files.exists(file));
+
+        Files.delete(file);
+        persistence.flush();
+        persistence.close();
+        assertFalse(Files.exists(file));
+
+        learnSomething();
+        persistence.close();
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void saveReplacesTheFileAtomically() throws IOException {
+        Path file = dir.resolve("q.csv");
+        Files.writeString(file, "alt");
+        double[] values = {0, 0, 0, 0, 0.5, 0, 0, 0, 0};
+
+        assertTrue(QTableHandler.saveQTable(Map.of("X        ", values), file.toString()));
+        assertEquals(0.5, QTableHandler.loadQTable(file.toString()).get("X        ")[4]);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count()); // keine temporäre Datei übrig
+        }
+
+        // schlägt das Schreiben fehl, bleibt die alte Datei unverändert
+        Files.createDirectory(dir.resolve("q2.csv"));
+        assertFalse(QTableHandler.saveQTable(Map.of("X        ", values), dir.resolve("q2.csv").toString()));
+        assertTrue(Files.isDirectory(dir.resolve("q2.csv")));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ai;
+
+import model.Board;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft, dass die Explorationsrate der Softmax-Strategie die Temperatur steuert und als gemessener
+ * Anteil nicht-greedy Züge gemeldet wird.
+ */
+class SoftmaxPolicyTest {
+
+    private static final int STATE = Board.encode("X        ");
+
+    private static DenseQTable tableWithBestMove(int bestMove) {
+        DenseQTable table = new DenseQTable();
+        table.ensure(STATE);
+        table.update(STATE, bestMove, 1.0, 1.0);
+        return table;
+    }
+
+    @Test
+    void explorationRateSetsTheTemperature() {
+        SoftmaxPolicy policy = new SoftmaxPolicy(0.5);
+        policy.setExplorationRate(0.2);
+        assertEquals(0.2, policy.getTemperature());
+    }
+
+    @Test
+    void copyKeepsTheTemperature() {
+        SoftmaxPolicy policy = new SoftmaxPolicy(0.3);
+        SoftmaxPolicy copy = policy.copy();
+        assertEquals(0.3, copy.getTemperature());
+        copy.setTemperature(0.1);
+        assertEquals(0.3, policy.getTemperature());
+    }
+
+    @Test
+    void reportsTheShareOfNonGreedyMoves() {
+        DenseQTable table = tableWithBestMove(4);
+        int legalMoves = Board.emptyMask(STATE);
+        Random random = new Random(7);
+
+        SoftmaxPolicy greedy = new SoftmaxPolicy(0.0);
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(4, greedy.selectMove(table, STATE, legalMoves, random));
+        }
+        assertEquals(0.0, greedy.getExplorationRate());
+
+        // bei hoher Temperatur ist die Auswahl fast gleichverteilt: etwa 7 von 8 Zügen sind nicht der beste
+        SoftmaxPolicy hot = new SoftmaxPolicy(100.0);
+        for (int i = 0; i < 20000; i++) {
+            hot.selectMove(table, STATE, legalMoves, random);
+        }
+        assertTrue(hot.getExplorationRate() > 0.8 && hot.getExplorationRate() < 0.95,
+                "Rate: " + hot.getExplorationRate());
+    }
+}
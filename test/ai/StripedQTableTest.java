@@ -0,0 +1,38 @@
+package ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prüft, dass gleichzeitige Änderungen desselben Q-Werts über die {@link StripedQTable} nicht verloren gehen.
+ */
+class StripedQTableTest {
+
+    @Test
+    void concurrentAddsAreNotLost() throws InterruptedException {
+        StripedQTable table = new StripedQTable(new DenseQTable());
+        int threads = 8;
+        int adds = 20_000;
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                for (int j = 0; j < adds; j++) {
+                    table.add(0, 4, 1.0);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * adds, table.get(0, 4));
+        assertEquals(1, table.size());
+    }
+}
@@ -0,0 +1,53 @@
+package ai;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft die Fenster-Statistik und den Export der {@link TrainingMetrics}.
+ */
+class TrainingMetricsTest {
+
+    @Test
+    void windowAveragesTheDeltaQSumPerGame() {
+        TrainingMetrics metrics = new TrainingMetrics(4);
+        metrics.recordGame(1, 0.5, 2, 0.1);
+        metrics.recordGame(1, 1.5, 0, 0.1);
+        metrics.recordGame(0, 1.0, 1, 0.1);
+        metrics.recordGame(2, 1.0, 0, 0.1);
+
+        List<TrainingMetrics.Sample> samples = metrics.getSamples();
+        assertEquals(1, samples.size());
+        assertEquals(1.0, samples.get(0).absDeltaQPerGame(), 1e-12);
+        assertEquals(0.5, samples.get(0).aiWinRate(), 1e-12);
+        assertEquals(3, samples.get(0).newStates());
+    }
+
+    @Test
+    void exportReplacesTheFileWithoutLeavingTemporaryFiles(@TempDir Path dir) throws IOException {
+        TrainingMetrics metrics = new TrainingMetrics(2);
+        metrics.recordGame(1, 0.5, 1, 0.1);
+        metrics.recordGame(2, 0.5, 1, 0.1);
+        Path csv = dir.resolve("metrics.csv");
+        Files.writeString(csv, "alt");
+
+        metrics.export(csv.toString());
+        metrics.export(dir.resolve("metrics.json").toString());
+
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains(",absDeltaQPerGame,"));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count()); // nur metrics.csv und metrics.json
+        }
+    }
+}
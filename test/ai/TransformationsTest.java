@@ -0,0 +1,61 @@
+package ai;
+
+import model.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft die vorberechneten Symmetrietabellen über alle kodierten Zustände.
+ */
+class TransformationsTest {
+
+    @Test
+    void allSymmetriesShareTheCanonicalState() {
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            int canonical = Transformations.getCanonicalState(state);
+            assertEquals(canonical, Transformations.getCanonicalState(canonical), "nicht idempotent: " + state);
+            assertEquals(canonical, Transformations.transform(state, Transformations.getSymmetry(state)));
+            for (int symmetry = 0; symmetry < 8; symmetry++) {
+                int transformed = Transformations.transform(state, symmetry);
+                assertEquals(canonical, Transformations.getCanonicalState(transformed));
+                // der kanonische Zustand ist der kleinste aller Transformationen
+                assertTrue(canonical <= transformed);
+            }
+        }
+    }
+
+    @Test
+    void movesRoundTripThroughTheCanonicalState() {
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            int canonical = Transformations.getCanonicalState(state);
+            for (int move = 0; move < 9; move++) {
+                int canonicalMove = Transformations.toCanonicalMove(state, move);
+                assertEquals(move, Transformations.toOriginalMove(state, canonicalMove));
+                // das Feld hat im kanonischen Zustand denselben Inhalt wie im ursprünglichen
+                assertEquals(Board.cellAt(state, move), Board.cellAt(canonical, canonicalMove));
+            }
+        }
+    }
+
+    @Test
+    void encodedCanonicalStateMatchesStringVariant() {
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            String canonical = Transformations.getCanonicalState(Board.decode(state));
+            assertEquals(Transformations.getCanonicalState(state), Board.encode(canonical), Board.decode(state));
+        }
+    }
+
+    @Test
+    void transformMoveMapsBetweenSymmetricStates() {
+        int state = Board.encode("X   O    ");
+        for (int symmetry = 0; symmetry < 8; symmetry++) {
+            int transformed = Transformations.transform(state, symmetry);
+            for (int move = 0; move < 9; move++) {
+                int mapped = Transformations.transformMove(state, transformed, move);
+                assertEquals(Board.cellAt(state, move), Board.cellAt(transformed, mapped));
+            }
+        }
+    }
+}
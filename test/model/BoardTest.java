@@ -0,0 +1,102 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft die Basis-3-Kodierung sowie Züge und das Zurücknehmen von Zügen.
+ */
+class BoardTest {
+
+    @Test
+    void encodeAndDecodeRoundTripForAllStates() {
+        for (int state = 0; state < Board.NUM_STATES; state++) {
+            String decoded = Board.decode(state);
+            assertEquals(9, decoded.length());
+            assertEquals(state, Board.encode(decoded));
+            assertEquals(state, new Board(state).getEncodedState());
+            assertEquals(decoded, new Board(state).getState());
+        }
+    }
+
+    @Test
+    void cellZeroIsTheMostSignificantDigit() {
+        assertEquals(2 * 6561, Board.encode("X        "));
+        assertEquals(1, Board.encode("        O"));
+        assertEquals('X', Board.symbolAt(Board.encode("X        "), 0));
+    }
+
+    @Test
+    void makeMoveKeepsEncodingMaskAndWinnerInSync() {
+        Board board = new Board();
+        assertTrue(board.makeMove(0, 'X'));
+        assertFalse(board.makeMove(0, 'O'), "belegtes Feld");
+        assertFalse(board.makeMove(9, 'O'), "ungültiges Feld");
+        assertTrue(board.makeMove(4, 'O'));
+        assertTrue(board.makeMove(1, 'X'));
+        assertTrue(board.makeMove(8, 'O'));
+        assertFalse(board.checkWin('X'));
+        assertTrue(board.makeMove(2, 'X'));
+
+        assertTrue(board.checkWin('X'));
+        assertFalse(board.checkWin('O'));
+        assertEquals(Board.encode("XXX O   O"), board.getEncodedState());
+        assertEquals(Board.emptyMask(board.getEncodedState()), board.getEmptyMask());
+        assertEquals(5, board.getMoveCount());
+    }
+
+    @Test
+    void invalidSymbolsAreRejected() {
+        Board board = new Board();
+        board.makeMove(4, 'X');
+        int state = board.getEncodedState();
+        int mask = board.getEmptyMask();
+
+        assertFalse(board.makeMove(0, ' '));
+        assertFalse(board.makeMove(0, 'x'));
+        assertEquals(state, board.getEncodedState());
+        assertEquals(mask, board.getEmptyMask());
+        assertEquals(1, board.getMoveCount());
+        assertTrue(board.makeMove(0, 'O')); // das Feld ist weiterhin frei
+
+        assertThrows(IllegalArgumentException.class, () -> Board.withMove(state, 0, '?'));
+    }
+
+    @Test
+    void undoRestoresThePreviousPosition() {
+        Random random = new Random(42);
+        for (int game = 0; game < 1000; game++) {
+            Board board = new Board();
+            int[] states = new int[10];
+            int[] moves = new int[9];
+            int length = 0;
+            char player = 'X';
+            while (!board.isFull() && !board.checkWin('X') && !board.checkWin('O')) {
+                states[length] = board.getEncodedState();
+                moves[length] = Board.randomMove(board.getEmptyMask(), random);
+                board.makeMove(moves[length++], player);
+                player = player == 'X' ? 'O' : 'X';
+            }
+
+            // Züge rückwärts zurücknehmen, jeder Zwischenstand muss wiederhergestellt werden
+            for (int i = length - 1; i >= 0; i--) {
+                assertTrue(board.undoMove(moves[i]));
+                int state = states[i];
+                assertEquals(state, board.getEncodedState());
+                assertEquals(Board.emptyMask(state), board.getEmptyMask());
+                assertEquals(Board.hasLine(state, 'X'), board.checkWin('X'));
+                assertEquals(Board.hasLine(state, 'O'), board.checkWin('O'));
+                assertEquals(i, board.getMoveCount());
+                assertArrayEquals(new Board(state).getBoard(), board.getBoard());
+            }
+            assertFalse(board.undoMove(moves[0]), "leeres Feld kann nicht zurückgenommen werden");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package server;
+
+import ai.OnlineLearner;
+import ai.TicTacToeAI;
+import model.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft die Zugprüfung und die Übergabe beendeter Spiele an den Learner. Der Learner wird nicht gestartet,
+ * eingestellte Spiele bleiben also in der Warteschlange und lassen sich zählen.
+ */
+class SessionManagerTest {
+
+    private final OnlineLearner learner =
+            new OnlineLearner(new TicTacToeAI(0.5, 0.9, 0.0), 16, OnlineLearner.OverflowPolicy.DROP_NEWEST);
+    private final SessionManager manager = new SessionManager(learner, 0.0);
+
+    private static int firstFreeCell(int state) {
+        return Integer.numberOfTrailingZeros(Board.emptyMask(state));
+    }
+
+    // spielt als Mensch immer das erste freie Feld, bis das Spiel endet
+    private SessionManager.MoveResult playToEnd(int id) {
+        SessionManager.MoveResult result = manager.get(id);
+        while (result.status() == SessionManager.Status.RUNNING) {
+            result = manager.move(id, firstFreeCell(result.state()));
+        }
+        return result;
+    }
+
+    @Test
+    void occupiedCellsAreRejected() {
+        int id = manager.create().id();
+        SessionManager.MoveResult result = manager.move(id, 4);
+        assertEquals(SessionManager.Status.RUNNING, result.status());
+
+        assertThrows(IllegalArgumentException.class, () -> manager.move(id, 4));
+        assertThrows(IllegalArgumentException.class, () -> manager.move(id, result.aiMove()));
+        assertThrows(IllegalArgumentException.class, () -> manager.move(id, 9));
+        assertEquals(result.state(), manager.get(id).state()); // abgelehnte Züge ändern nichts
+    }
+
+    @Test
+    void finishedSessionsRejectMoves() {
+        int id = manager.create().id();
+        SessionManager.MoveResult result = playToEnd(id);
+        assertNotEquals(SessionManager.Status.RUNNING, result.status());
+        assertEquals(0, manager.getSessionCount());
+
+        int cell = Board.emptyMask(result.state()) == 0 ? 0 : firstFreeCell(result.state());
+        assertThrows(IllegalArgumentException.class, () -> manager.move(id, cell));
+        assertThrows(IllegalArgumentException.class, () -> manager.get(id));
+        assertEquals(1, learner.getGamesSubmitted());
+    }
+
+    @Test
+    void finishedGameSubmitsExactlyOneTrajectory() {
+        for (int i = 0; i < 3; i++) {
+            playToEnd(manager.create().id());
+            assertEquals(i + 1, learner.getGamesSubmitted());
+            assertEquals(i + 1, learner.getPendingGames());
+        }
+        long[] results = manager.getResults();
+        assertEquals(3, results[0] + results[1] + results[2]);
+    }
+
+    @Test
+    void concurrentMovesFinishTheGameOnce() throws InterruptedException {
+        int id = manager.create().id();
+        Thread[] players = new Thread[4];
+        for (int t = 0; t < players.length; t++) {
+            players[t] = new Thread(() -> {
+                while (manager.getSessionCount() > 0) {
+                    try {
+                        manager.move(id, firstFreeCell(manager.get(id).state()));
+                    } catch (IllegalArgumentException e) {
+                        // Feld inzwischen belegt oder Spiel beendet
+                    }
+                }
+            });
+            players[t].start();
+        }
+        for (Thread player : players) {
+            player.join();
+        }
+        assertEquals(1, learner.getGamesSubmitted());
+        long[] results = manager.getResults();
+        assertEquals(1, results[0] + results[1] + results[2]);
+    }
+
+    @Test
+    void closedAndIdleSessionsAreRemovedWithoutLearning() throws InterruptedException {
+        int closed = manager.create().id();
+        int idle = manager.create().id();
+        manager.move(closed, 0);
+        manager.move(idle, 0);
+
+        assertTrue(manager.close(closed));
+        assertFalse(manager.close(closed));
+        assertEquals(0, manager.removeIdle(60_000));
+        Thread.sleep(5);
+        assertEquals(1, manager.removeIdle(1));
+        assertEquals(0, manager.getSessionCount());
+        assertThrows(IllegalArgumentException.class, () -> manager.move(idle, 1));
+        assertEquals(0, learner.getGamesSubmitted());
+    }
+}
@@ -0,0 +1,84 @@
+package tournament;
+
+import ai.MinimaxSolver;
+import ai.PerfectTrainingAI;
+import ai.RandomTrainingAI;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft die Reproduzierbarkeit des Turniers, die Ergebnismatrix und die Elo-Schätzung.
+ */
+class TournamentTest {
+
+    private static final List<Entrant> ENTRANTS = List.of(
+            new Entrant("random", (symbol, random) -> new RandomTrainingAI(random)),
+            new Entrant("random2", (symbol, random) -> new RandomTrainingAI(random)),
+            new Entrant("perfect", (symbol, random) -> new PerfectTrainingAI(symbol, MinimaxSolver.getShared(), random)));
+
+    private static TournamentResult run(int threads) {
+        Tournament tournament = new Tournament(ENTRANTS, 150, threads, 7);
+        tournament.setMatchSize(20);
+        return tournament.run();
+    }
+
+    @Test
+    void sameSeedGivesTheSameResultForAnyNumberOfThreads() {
+        TournamentResult single = run(1);
+        TournamentResult parallel = run(4);
+        for (int i = 0; i < ENTRANTS.size(); i++) {
+            for (int j = 0; j < ENTRANTS.size(); j++) {
+                assertEquals(single.getWins(i, j), parallel.getWins(i, j));
+                assertEquals(single.getDraws(i, j), parallel.getDraws(i, j));
+            }
+            assertEquals(single.getRating(i), parallel.getRating(i));
+        }
+    }
+
+    @Test
+    void matrixIsAntisymmetric() {
+        TournamentResult result = run(2);
+        int n = ENTRANTS.size();
+        for (int i = 0; i < n; i++) {
+            assertEquals(0, result.getWins(i, i) + result.getDraws(i, i));
+            for (int j = 0; j < n; j++) {
+                if (i == j) continue;
+                assertEquals(result.getWins(i, j), result.getLosses(j, i));
+                assertEquals(result.getDraws(i, j), result.getDraws(j, i));
+                // jede Paarung spielt 150 Spiele mit jeder Farbverteilung
+                assertEquals(300, result.getWins(i, j) + result.getDraws(i, j) + result.getLosses(i, j));
+            }
+        }
+        assertEquals(3 * 300, result.getTotalGames());
+    }
+
+    @Test
+    void strongerEntrantsGetHigherRatingsAroundTheMean() {
+        TournamentResult result = run(2);
+        double mean = 0;
+        for (int i = 0; i < ENTRANTS.size(); i++) {
+            mean += result.getRating(i) / ENTRANTS.size();
+        }
+        assertEquals(1500, mean, 1e-6);
+
+        assertEquals(0, result.getWins(0, 2)); // gegen perfektes Spiel gewinnt niemand
+        assertTrue(result.getRating(2) > result.getRating(0) + 200);
+        assertTrue(result.getRating(2) > result.getRating(1) + 200);
+        assertTrue(result.getScore(2) > result.getScore(0));
+    }
+
+    @Test
+    void ratingDifferenceMatchesTheScore() {
+        // 30 Siege, 10 Niederlagen (plus ein virtuelles Unentschieden): erwartete Punktzahl 30.5 von 41
+        int[][] wins = {{0, 30}, {10, 0}};
+        int[][] draws = {{0, 0}, {0, 0}};
+        TournamentResult result = new TournamentResult(List.of("a", "b"), wins, draws, 0);
+
+        assertEquals(400 * Math.log10(30.5 / 10.5), result.getRating(0) - result.getRating(1), 0.01);
+        assertEquals(3000, result.getRating(0) + result.getRating(1), 1e-6);
+    }
+}
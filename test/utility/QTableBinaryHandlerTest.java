@@ -0,0 +1,130 @@
+package utility;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft das Binärformat (.qtb): Speichern und Laden, Hyperparameter, Prüfsumme, Header und Konvertierung.
+ */
+class QTableBinaryHandlerTest {
+
+    private static final double[] HYPERPARAMETERS = {0.2, 0.9, 0.05};
+
+    @TempDir
+    Path dir;
+
+    private static Map<String, double[]> sampleTable() {
+        Map<String, double[]> table = new HashMap<>();
+        table.put("         ", new double[]{0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9});
+        table.put("X   O    ", new double[]{-1.0, 0, 0, 0.25, 0, 0, 0, 0, 1.0 / 3});
+        return table;
+    }
+
+    private String save(String name) {
+        String fileName = dir.resolve(name).toString();
+        assertTrue(QTableBinaryHandler.saveQTable(sampleTable(), HYPERPARAMETERS, fileName, false));
+        return fileName;
+    }
+
+    // ändert ein Byte der Datei
+    private static void flipByte(String fileName, int offset) throws IOException {
+        Path path = Path.of(fileName);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[offset] ^= 0x01;
+        Files.write(path, bytes);
+    }
+
+    @Test
+    void saveAndReadRoundTrip() throws IOException {
+        String fileName = save("q.qtb");
+
+        Map<String, double[]> loaded = QTableBinaryHandler.readQTable(fileName);
+        assertEquals(2, loaded.size());
+        for (Map.Entry<String, double[]> entry : sampleTable().entrySet()) {
+            assertArrayEquals(entry.getValue(), loaded.get(entry.getKey()));
+        }
+
+        QTableBinaryHandler.Header header = QTableBinaryHandler.loadHeader(fileName);
+        assertEquals(1, header.version());
+        assertEquals(Double.BYTES, header.valueSize());
+        assertEquals(0.2, header.learningRate());
+        assertEquals(0.9, header.discountFactor());
+        assertEquals(0.05, header.explorationRate());
+        assertEquals(2, header.entryCount());
+    }
+
+    @Test
+    void floatValuesAreStoredWithFloatPrecision() throws IOException {
+        String fileName = dir.resolve("q.qtb").toString();
+        assertTrue(QTableBinaryHandler.saveQTable(sampleTable(), HYPERPARAMETERS, fileName, true));
+
+        assertEquals(Float.BYTES, QTableBinaryHandler.loadHeader(fileName).valueSize());
+        assertEquals((float) (1.0 / 3), QTableBinaryHandler.readQTable(fileName).get("X   O    ")[8], 0.0);
+    }
+
+    @Test
+    void flippedByteIsRejectedByTheChecksum() throws IOException {
+        String fileName = save("q.qtb");
+        flipByte(fileName, (int) Files.size(Path.of(fileName)) - 1);
+
+        IOException e = assertThrows(IOException.class, () -> QTableBinaryHandler.readQTable(fileName));
+        assertTrue(e.getMessage().contains("Prüfsumme"));
+        assertTrue(QTableBinaryHandler.loadQTable(fileName).isEmpty());
+    }
+
+    @Test
+    void wrongMagicIsRejected() throws IOException {
+        String fileName = save("q.qtb");
+        flipByte(fileName, 0);
+        assertThrows(IOException.class, () -> QTableBinaryHandler.readQTable(fileName));
+        assertThrows(IOException.class, () -> QTableBinaryHandler.loadHeader(fileName));
+    }
+
+    @Test
+    void unknownVersionIsRejected() throws IOException {
+        String fileName = save("q.qtb");
+        flipByte(fileName, 5); // niederwertiges Byte der Version: 1 -> 0
+        IOException e = assertThrows(IOException.class, () -> QTableBinaryHandler.readQTable(fileName));
+        assertTrue(e.getMessage().contains("Version"));
+    }
+
+    @Test
+    void convertRoundTripsThroughCsv() throws IOException {
+        String binary = save("q.qtb");
+        String csv = dir.resolve("q.csv").toString();
+        String back = dir.resolve("back.qtb").toString();
+
+        QTableBinaryHandler.convert(binary, csv);
+        QTableBinaryHandler.convert(csv, back);
+
+        Map<String, double[]> loaded = QTableBinaryHandler.readQTable(back);
+        for (Map.Entry<String, double[]> entry : sampleTable().entrySet()) {
+            assertArrayEquals(entry.getValue(), loaded.get(entry.getKey()), 1e-9);
+        }
+        assertEquals(0.0, QTableBinaryHandler.loadHeader(back).learningRate()); // CSV enthält keine Hyperparameter
+    }
+
+    @Test
+    void convertOfACorruptSourceKeepsTheTarget() throws IOException {
+        String binary = save("q.qtb");
+        flipByte(binary, (int) Files.size(Path.of(binary)) - 1);
+        Path target = dir.resolve("q.csv");
+        Files.writeString(target, "alt");
+
+        assertThrows(IOException.class, () -> QTableBinaryHandler.convert(binary, target.toString()));
+        assertEquals("alt", Files.readString(target));
+        assertThrows(IOException.class, () -> QTableBinaryHandler.convert(dir.resolve("fehlt.qtb").toString(),
+                target.toString()));
+    }
+}